@@ -17,28 +17,66 @@
  */
 package org.jboss.pnc.auth;
 
+import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.common.json.ConfigurationParseException;
 import org.jboss.pnc.common.json.moduleconfig.KeycloakClientConfig;
 import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
 import org.keycloak.representations.AccessTokenResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
+ * Provides the token of the PNC service account.
+ *
+ * The token is read without locking. A new token is requested in the background before the current one enters the
+ * refresh window (see {@link SystemConfig#getServiceTokenRefreshIfExpiresInSeconds()}), so the callers don't wait for
+ * Keycloak unless there is no valid token at all. At most one token request is in flight at any time; concurrent
+ * callers that need a new token share it.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @ApplicationScoped
 public class DefaultKeycloakServiceClient implements KeycloakServiceClient {
 
-    private KeycloakClientConfig keycloakServiceAccountConfig;
+    private static final Logger logger = LoggerFactory.getLogger(DefaultKeycloakServiceClient.class);
+
+    /**
+     * How long before the token enters the refresh window the background refresh starts.
+     */
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(60);
+
+    /**
+     * Delay before a failed background refresh is retried, while the current token is still valid.
+     */
+    private static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(10);
+
+    private Supplier<AccessTokenResponse> tokenRequester;
     private long serviceTokenRefreshIfExpiresInSeconds;
+    private ScheduledExecutorService refreshExecutor;
+    private Clock clock;
+
+    private volatile ServiceToken serviceToken;
 
-    private AccessTokenResponse keycloakToken;
+    private final AtomicReference<CompletableFuture<ServiceToken>> refreshInProgress = new AtomicReference<>();
 
-    private Instant expiresAt;
+    private final AtomicReference<ScheduledFuture<?>> scheduledRefresh = new AtomicReference<>();
 
     @Deprecated // CDI workaround
     public DefaultKeycloakServiceClient() {
@@ -46,32 +84,144 @@ public class DefaultKeycloakServiceClient implements KeycloakServiceClient {
 
     @Inject
     public DefaultKeycloakServiceClient(SystemConfig systemConfig) throws ConfigurationParseException {
-        keycloakServiceAccountConfig = systemConfig.getKeycloakServiceAccountConfig();
-        serviceTokenRefreshIfExpiresInSeconds = systemConfig.getServiceTokenRefreshIfExpiresInSeconds();
+        this(
+                requester(systemConfig.getKeycloakServiceAccountConfig()),
+                systemConfig.getServiceTokenRefreshIfExpiresInSeconds(),
+                MDCExecutors.newScheduledThreadPool(1, new NamedThreadFactory("keycloak-service-token-refresh")),
+                Clock.systemUTC());
+    }
+
+    DefaultKeycloakServiceClient(
+            Supplier<AccessTokenResponse> tokenRequester,
+            long serviceTokenRefreshIfExpiresInSeconds,
+            ScheduledExecutorService refreshExecutor,
+            Clock clock) {
+        this.tokenRequester = tokenRequester;
+        this.serviceTokenRefreshIfExpiresInSeconds = serviceTokenRefreshIfExpiresInSeconds;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    private static Supplier<AccessTokenResponse> requester(KeycloakClientConfig config) {
+        return () -> KeycloakClient.getAuthTokensBySecret(
+                config.getAuthServerUrl(),
+                config.getRealm(),
+                config.getResource(),
+                config.getSecret(),
+                config.getSslRequired());
     }
 
     @Override
     public String getAuthToken() {
-        if (keycloakToken == null || refreshRequired()) {
-            keycloakToken = KeycloakClient.getAuthTokensBySecret(
-                    keycloakServiceAccountConfig.getAuthServerUrl(),
-                    keycloakServiceAccountConfig.getRealm(),
-                    keycloakServiceAccountConfig.getResource(),
-                    keycloakServiceAccountConfig.getSecret(),
-                    keycloakServiceAccountConfig.getSslRequired());
-            expiresAt = Instant.now().plus(keycloakToken.getExpiresIn(), ChronoUnit.SECONDS);
+        Instant now = clock.instant();
+        ServiceToken current = serviceToken;
+        if (current != null && current.expiresAt.isAfter(now)) {
+            if (refreshRequired(current, now)) {
+                // the token is still valid, the callers get it while the new one is requested in the background
+                refresh();
+            }
+            return current.token;
+        }
+        try {
+            return refresh().join().token;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-        return keycloakToken.getToken();
     }
 
-    private boolean refreshRequired() {
+    @PreDestroy
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
 
-        if (expiresAt == null) {
-            // if we accidentally call this method before expiresAt is set, then we obviously need to get a new token
-            return true;
+    /**
+     * Starts a token request unless one is already in flight.
+     *
+     * @return the in-flight token request
+     */
+    private CompletableFuture<ServiceToken> refresh() {
+        while (true) {
+            CompletableFuture<ServiceToken> inProgress = refreshInProgress.get();
+            if (inProgress != null) {
+                return inProgress;
+            }
+            CompletableFuture<ServiceToken> request = new CompletableFuture<>();
+            if (refreshInProgress.compareAndSet(null, request)) {
+                try {
+                    refreshExecutor.execute(() -> requestToken(request));
+                } catch (RejectedExecutionException e) {
+                    refreshInProgress.set(null);
+                    request.completeExceptionally(e);
+                }
+                return request;
+            }
         }
+    }
+
+    private void requestToken(CompletableFuture<ServiceToken> request) {
+        ServiceToken token;
+        try {
+            Instant requestedAt = clock.instant();
+            AccessTokenResponse response = tokenRequester.get();
+            token = new ServiceToken(
+                    response.getToken(),
+                    requestedAt.plus(response.getExpiresIn(), ChronoUnit.SECONDS));
+        } catch (RuntimeException e) {
+            logger.error("Cannot obtain the service account token.", e);
+            refreshInProgress.set(null);
+            request.completeExceptionally(e);
+            ServiceToken current = serviceToken;
+            if (current != null && current.expiresAt.isAfter(clock.instant().plus(REFRESH_RETRY_DELAY))) {
+                scheduleRefresh(REFRESH_RETRY_DELAY);
+            }
+            return;
+        }
+        serviceToken = token;
+        refreshInProgress.set(null);
+        request.complete(token);
+
+        Duration untilRefresh = Duration.between(
+                clock.instant(),
+                token.expiresAt.minus(serviceTokenRefreshIfExpiresInSeconds, ChronoUnit.SECONDS).minus(REFRESH_AHEAD));
+        if (untilRefresh.isNegative() || untilRefresh.isZero()) {
+            // the token doesn't live longer than the refresh window, it is refreshed on demand by the callers
+            logger.warn(
+                    "Service account token expires in {}s which is less than the refresh window of {}s.",
+                    Duration.between(clock.instant(), token.expiresAt).getSeconds(),
+                    serviceTokenRefreshIfExpiresInSeconds);
+        } else {
+            scheduleRefresh(untilRefresh);
+        }
+    }
+
+    private void scheduleRefresh(Duration delay) {
+        ScheduledFuture<?> next = refreshExecutor.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = scheduledRefresh.getAndSet(next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private boolean refreshRequired(ServiceToken token, Instant now) {
         // make sure the token is still valid 'serviceTokenRefreshIfExpiresInSeconds' seconds from now, which is the
         // max 'supported' duration of a build. We need that token to be valid for actions done at the end of the build
-        return expiresAt.isBefore(Instant.now().plus(serviceTokenRefreshIfExpiresInSeconds, ChronoUnit.SECONDS));
+        return token.expiresAt.isBefore(now.plus(serviceTokenRefreshIfExpiresInSeconds, ChronoUnit.SECONDS));
+    }
+
+    private static class ServiceToken {
+
+        private final String token;
+
+        private final Instant expiresAt;
+
+        private ServiceToken(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,167 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.auth;
+
+import org.junit.After;
+import org.junit.Test;
+import org.keycloak.representations.AccessTokenResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultKeycloakServiceClientTest {
+
+    private static final long REFRESH_WINDOW_SECONDS = 600;
+
+    private static final long TOKEN_LIFETIME_SECONDS = 3600;
+
+    private final ScheduledExecutorService refreshExecutor = Executors.newScheduledThreadPool(1);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2020-01-01T00:00:00Z"));
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile CountDownLatch requestReleased = new CountDownLatch(0);
+
+    @After
+    public void tearDown() {
+        refreshExecutor.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void shouldRequestTokenOnceForConcurrentCallers() throws Exception {
+        DefaultKeycloakServiceClient client = client();
+        requestReleased = new CountDownLatch(1);
+
+        List<Future<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(callers.submit(client::getAuthToken));
+        }
+        Thread.sleep(200);
+        requestReleased.countDown();
+
+        for (Future<String> token : tokens) {
+            assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+        }
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReturnCurrentTokenWhileRefreshingInBackground() throws Exception {
+        DefaultKeycloakServiceClient client = client();
+        assertThat(client.getAuthToken()).isEqualTo("token-1");
+
+        // the token is still valid, but not for the whole refresh window
+        clock.advance(Duration.ofSeconds(TOKEN_LIFETIME_SECONDS - REFRESH_WINDOW_SECONDS + 1));
+        requestReleased = new CountDownLatch(1);
+
+        assertThat(client.getAuthToken()).isEqualTo("token-1");
+        assertThat(client.getAuthToken()).isEqualTo("token-1");
+
+        requestReleased.countDown();
+        assertTrue(waitForToken(client, "token-2"));
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWaitForNewTokenWhenCurrentExpired() {
+        DefaultKeycloakServiceClient client = client();
+        assertThat(client.getAuthToken()).isEqualTo("token-1");
+
+        clock.advance(Duration.ofSeconds(TOKEN_LIFETIME_SECONDS));
+
+        assertThat(client.getAuthToken()).isEqualTo("token-2");
+    }
+
+    private DefaultKeycloakServiceClient client() {
+        return new DefaultKeycloakServiceClient(
+                this::requestToken,
+                REFRESH_WINDOW_SECONDS,
+                refreshExecutor,
+                clock);
+    }
+
+    private AccessTokenResponse requestToken() {
+        try {
+            requestReleased.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        AccessTokenResponse response = new AccessTokenResponse();
+        response.setToken("token-" + requests.incrementAndGet());
+        response.setExpiresIn(TOKEN_LIFETIME_SECONDS);
+        return response;
+    }
+
+    private boolean waitForToken(DefaultKeycloakServiceClient client, String token) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (token.equals(client.getAuthToken())) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
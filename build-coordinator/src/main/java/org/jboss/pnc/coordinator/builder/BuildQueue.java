@@ -19,6 +19,7 @@ package org.jboss.pnc.coordinator.builder;
 
 import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
 import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.spi.coordinator.BuildSetTask;
 import org.jboss.pnc.spi.coordinator.BuildTask;
 import org.slf4j.Logger;
@@ -28,7 +29,7 @@ import org.slf4j.MDC;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -36,8 +37,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -50,12 +54,19 @@ import java.util.stream.Collectors;
  * <li>tasksInProgress - set of tasks that are being executed at the moment</li>
  * <li>readyTasks - queue of tasks that are ready to be executed but are waiting for a free executor (and throttling
  * mechanism)</li>
- * <li>waitingTasksWithCallbacks - tasks waiting for a dependency. As soon as their dependencies are built, they are
- * moved to readyTasks. The waiting tasks are mapped to callbacks that are executed upon the transfer</li>
- * <li>unfinishedTasks - tasks either waiting, ready or in progress. This collection is introduced to fix the race
- * condition in {@link #take(Consumer)}, where a task is taken from readyTask, and later put into tasksInProgress and
- * the method cannot be synchronized</li>
+ * <li>waitingTasks - tasks waiting for a dependency, indexed by {@link IdRev}. Each waiting task keeps the set of its
+ * dependencies that are not completed yet. When a task finishes, only its direct dependants are updated, and the ones
+ * without remaining dependencies are moved to readyTasks. The waiting tasks hold callbacks that are executed upon the
+ * transfer</li>
+ * <li>unfinishedTasks - tasks either waiting, ready or in progress, indexed by the {@link IdRev} of their build
+ * configuration. This collection is introduced to fix the race condition in {@link #take(Consumer)}, where a task is
+ * taken from readyTask, and later put into tasksInProgress. It is also used for constant time lookups.</li>
  * </ul>
+ * Unfinished tasks are additionally indexed by the task id in unfinishedTasksById.
+ *
+ * All the collections are concurrent, lookups are lock-free. State transitions of a single task (add, move from
+ * waiting to ready, take, remove) are guarded by a lock stripe selected by the task's {@link IdRev}, so that operations
+ * on unrelated tasks don't contend with each other.
  *
  * The BuildQueue is MDC aware, the MDC values present in the thread context when the tasks is added are restored when
  * an operation is run on element using {@link #take(Consumer)} method.
@@ -68,16 +79,26 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class BuildQueue {
 
+    private static final int LOCK_STRIPES = 64;
+
     private final Logger log = LoggerFactory.getLogger(BuildQueue.class);
 
     private SystemConfig systemConfig;
 
-    private final Set<MDCAwareElement<BuildTask>> unfinishedTasks = new HashSet<>();
+    private final ConcurrentMap<IdRev, MDCAwareElement<BuildTask>> unfinishedTasks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MDCAwareElement<BuildTask>> unfinishedTasksById = new ConcurrentHashMap<>();
 
     private final BlockingQueue<MDCAwareElement<BuildTask>> readyTasks = new LinkedBlockingQueue<>();
-    private final Map<MDCAwareElement<BuildTask>, Runnable> waitingTasksWithCallbacks = new HashMap<>();
+    private final ConcurrentMap<IdRev, WaitingTask> waitingTasks = new ConcurrentHashMap<>();
     private final Set<MDCAwareElement<BuildTask>> tasksInProgress = ConcurrentHashMap.newKeySet();
-    private final Set<BuildSetTask> taskSets = new HashSet<>();
+    private final Set<BuildSetTask> taskSets = ConcurrentHashMap.newKeySet();
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
 
     private final Semaphore availableBuildSlots = new Semaphore(0);
 
@@ -96,14 +117,20 @@ public class BuildQueue {
      *
      * @param task task to be enqueued
      */
-    public synchronized boolean addReadyTask(BuildTask task) {
+    public boolean addReadyTask(BuildTask task) {
         if (!task.readyToBuild()) {
             throw new IllegalArgumentException("a not ready task added to the queue: " + task);
         }
-        MDCAwareElement element = new MDCAwareElement(task);
-        unfinishedTasks.add(element);
-        log.debug("adding task: {}", task);
-        readyTasks.add(element);
+        MDCAwareElement<BuildTask> element = new MDCAwareElement<>(task);
+        Lock lock = lockFor(task);
+        lock.lock();
+        try {
+            addUnfinished(element);
+            log.debug("adding task: {}", task);
+            readyTasks.add(element);
+        } finally {
+            lock.unlock();
+        }
         return true;
     }
 
@@ -113,11 +140,24 @@ public class BuildQueue {
      * @param task task that is not ready to build
      * @param taskReadyCallback a callback to be invoked when the task becomes ready
      */
-    public synchronized void addWaitingTask(BuildTask task, Runnable taskReadyCallback) {
-        MDCAwareElement element = new MDCAwareElement(task);
-        unfinishedTasks.add(element);
-        log.debug("adding waiting task: {}", task);
-        waitingTasksWithCallbacks.put(element, taskReadyCallback);
+    public void addWaitingTask(BuildTask task, Runnable taskReadyCallback) {
+        MDCAwareElement<BuildTask> element = new MDCAwareElement<>(task);
+        Lock lock = lockFor(task);
+        lock.lock();
+        try {
+            addUnfinished(element);
+            log.debug("adding waiting task: {}", task);
+            WaitingTask waitingTask = new WaitingTask(element, taskReadyCallback);
+            waitingTasks.put(keyOf(task), waitingTask);
+            // a dependency might have completed while the task was being added, its release notification could have
+            // been missed
+            waitingTask.remainingDependencies.removeIf(d -> d.getStatus().isCompleted());
+            if (waitingTask.remainingDependencies.isEmpty()) {
+                moveToReady(waitingTask);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -125,7 +165,7 @@ public class BuildQueue {
      *
      * @param taskSet task set to be built
      */
-    public synchronized void enqueueTaskSet(BuildSetTask taskSet) {
+    public void enqueueTaskSet(BuildSetTask taskSet) {
         log.debug("adding task set: {}", taskSet);
         taskSets.add(taskSet);
     }
@@ -135,7 +175,7 @@ public class BuildQueue {
      *
      * @param taskSet processed task set
      */
-    public synchronized void removeSet(BuildSetTask taskSet) {
+    public void removeSet(BuildSetTask taskSet) {
         log.debug("removing task set: {}", taskSet);
         taskSets.remove(taskSet);
     }
@@ -146,33 +186,47 @@ public class BuildQueue {
      *
      * @param task task to be removed
      */
-    public synchronized void removeTask(BuildTask task) {
+    public void removeTask(BuildTask task) {
         log.debug("removing task: {}", task);
-        MDCAwareElement element = new MDCAwareElement(task);
-        if (tasksInProgress.remove(element)) {
-            availableBuildSlots.release();
-        }
-        if (readyTasks.remove(element)) {
-            log.debug("The task {} has been removed from readyTasks.", task);
-        }
+        MDCAwareElement<BuildTask> element = new MDCAwareElement<>(task);
+        Lock lock = lockFor(task);
+        lock.lock();
+        try {
+            if (tasksInProgress.remove(element)) {
+                availableBuildSlots.release();
+            }
+            if (readyTasks.remove(element)) {
+                log.debug("The task {} has been removed from readyTasks.", task);
+            }
 
-        if (waitingTasksWithCallbacks.remove(element) != null) {
-            log.debug("The task {} has been removed from waitingTasks.", task);
-        }
+            if (waitingTasks.remove(keyOf(task)) != null) {
+                log.debug("The task {} has been removed from waitingTasks.", task);
+            }
 
-        if (unfinishedTasks.remove(element)) {
-            log.debug("The task {} has been removed from unfinishedTasks.", task);
+            if (unfinishedTasks.remove(keyOf(task)) != null) {
+                unfinishedTasksById.remove(task.getId());
+                log.debug("The task {} has been removed from unfinishedTasks.", task);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * Trigger searching for ready tasks in the waiting queue. This method should be invoked if one task has finished
-     * and there's a possibility that other tasks became ready to be built.
+     * Release the waiting dependants of a finished task. This method should be invoked if one task has finished
+     * successfully and there's a possibility that its dependants became ready to be built. Only the direct dependants of
+     * the finished task are visited.
+     *
+     * @param finishedTask task that has completed
      */
-    public synchronized void executeNewReadyTasks() {
-        List<MDCAwareElement<BuildTask>> newReadyTasks = extractReadyTasks();
+    public void executeNewReadyTasks(BuildTask finishedTask) {
+        List<BuildTask> newReadyTasks = new ArrayList<>();
+        for (BuildTask dependant : finishedTask.getDependants()) {
+            if (releaseDependency(dependant, finishedTask)) {
+                newReadyTasks.add(dependant);
+            }
+        }
         log.debug("starting new ready tasks. New ready tasks: {}", newReadyTasks);
-        readyTasks.addAll(newReadyTasks);
     }
 
     /**
@@ -182,21 +236,21 @@ public class BuildQueue {
      * @return Optional.of(build task for the systemConfig) if build task is enqueued/in progress, Optional.empty()
      *         otherwise
      */
-    public synchronized Optional<BuildTask> getTask(BuildConfigurationAudited buildConfigAudited) {
-        Optional<BuildTask> ready = readyTasks.stream()
-                .map(MDCAwareElement::get)
-                .filter(bt -> bt.getBuildConfigurationAudited().equals(buildConfigAudited))
-                .findAny();
-        Optional<BuildTask> waiting = waitingTasksWithCallbacks.keySet()
-                .stream()
-                .map(MDCAwareElement::get)
-                .filter(bt -> bt.getBuildConfigurationAudited().equals(buildConfigAudited))
-                .findAny();
-        Optional<BuildTask> inProgress = tasksInProgress.stream()
-                .map(MDCAwareElement::get)
-                .filter(bt -> bt.getBuildConfigurationAudited().equals(buildConfigAudited))
-                .findAny();
-        return ready.isPresent() ? ready : waiting.isPresent() ? waiting : inProgress;
+    public Optional<BuildTask> getTask(BuildConfigurationAudited buildConfigAudited) {
+        return getUnfinishedTask(buildConfigAudited);
+    }
+
+    /**
+     * Get a waiting, ready or in progress task by its id.
+     *
+     * @param buildTaskId id of the build task
+     * @return Optional.of(build task) if the task is in the queue, Optional.empty() otherwise
+     */
+    public Optional<BuildTask> getSubmittedBuildTask(String buildTaskId) {
+        if (buildTaskId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(unfinishedTasksById.get(buildTaskId)).map(MDCAwareElement::get);
     }
 
     /**
@@ -204,20 +258,29 @@ public class BuildQueue {
      *
      * @return list of all build tasks in the queue
      */
-    public synchronized List<BuildTask> getSubmittedBuildTasks() {
-        return unfinishedTasks.stream().map(MDCAwareElement::get).collect(Collectors.toList());
+    public List<BuildTask> getSubmittedBuildTasks() {
+        return unfinishedTasks.values().stream().map(MDCAwareElement::get).collect(Collectors.toList());
     }
 
     private MDCAwareElement<BuildTask> take() throws InterruptedException {
         availableBuildSlots.acquire();
         log.info("Consumer is ready to go, waiting for task");
-        // FIXME not thread safe: when a task is taken from readyTasks it is not in the tasksInProgress for a short time
-        // race condition hit while working on
-        // SkippingBuiltConfigsTest.shouldNotTriggerTheSameBuildConfigurationViaDependency
-        // to avoid race condition getUnfinishedTask is used instead of getTask
-        MDCAwareElement<BuildTask> element = readyTasks.take();
-        tasksInProgress.add(element);
-        return element;
+        while (true) {
+            // a task is not in the tasksInProgress for a short time after it is taken from readyTasks,
+            // getUnfinishedTask is therefore used instead of per-state lookups
+            MDCAwareElement<BuildTask> element = readyTasks.take();
+            Lock lock = lockFor(element.get());
+            lock.lock();
+            try {
+                if (unfinishedTasks.containsKey(keyOf(element.get()))) {
+                    tasksInProgress.add(element);
+                    return element;
+                }
+            } finally {
+                lock.unlock();
+            }
+            log.debug("Task {} was removed from the queue before it was taken, skipping it.", element.get());
+        }
     }
 
     public void take(Consumer<BuildTask> consumer) throws InterruptedException {
@@ -243,33 +306,73 @@ public class BuildQueue {
         }
     }
 
-    public synchronized boolean isBuildAlreadySubmitted(BuildTask buildTask) {
-        return unfinishedTasks.contains(buildTask);
+    public boolean isBuildAlreadySubmitted(BuildTask buildTask) {
+        return unfinishedTasks.containsKey(keyOf(buildTask));
+    }
+
+    public Optional<BuildTask> getUnfinishedTask(BuildConfigurationAudited buildConfigurationAudited) {
+        IdRev idRev = buildConfigurationAudited.getIdRev();
+        if (idRev == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(unfinishedTasks.get(idRev)).map(MDCAwareElement::get);
+    }
+
+    public Set<BuildTask> getUnfinishedTasks() {
+        return unfinishedTasks.values().stream().map(MDCAwareElement::get).collect(Collectors.toSet());
     }
 
-    public synchronized Optional<BuildTask> getUnfinishedTask(BuildConfigurationAudited buildConfigurationAudited) {
-        return unfinishedTasks.stream()
-                .map(MDCAwareElement::get)
-                .filter(buildTask -> buildTask.getBuildConfigurationAudited().equals(buildConfigurationAudited))
-                .findFirst();
+    private void addUnfinished(MDCAwareElement<BuildTask> element) {
+        BuildTask task = element.get();
+        unfinishedTasks.put(keyOf(task), element);
+        unfinishedTasksById.put(task.getId(), element);
     }
 
-    public synchronized Set<BuildTask> getUnfinishedTasks() {
-        return unfinishedTasks.stream().map(MDCAwareElement::get).collect(Collectors.toSet());
+    /**
+     * Remove the finished dependency from the remaining dependencies of the dependant and move the dependant to
+     * readyTasks if it has no more dependencies to wait for.
+     *
+     * @return true if the dependant became ready
+     */
+    private boolean releaseDependency(BuildTask dependant, BuildTask finishedDependency) {
+        Lock lock = lockFor(dependant);
+        lock.lock();
+        try {
+            WaitingTask waitingTask = waitingTasks.get(keyOf(dependant));
+            if (waitingTask == null) {
+                return false;
+            }
+            waitingTask.remainingDependencies.remove(finishedDependency);
+            if (!waitingTask.remainingDependencies.isEmpty()) {
+                return false;
+            }
+            return moveToReady(waitingTask);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private List<MDCAwareElement<BuildTask>> extractReadyTasks() {
-        List<MDCAwareElement<BuildTask>> noLongerWaitingTasks = waitingTasksWithCallbacks.keySet()
-                .stream()
-                .filter(e -> e.get().readyToBuild())
-                .collect(Collectors.toList());
+    /**
+     * Move a waiting task to readyTasks, running its callback. Must be called with the lock of the task held.
+     *
+     * @return false if the task is no longer waiting, e.g. it has been moved or removed by another thread
+     */
+    private boolean moveToReady(WaitingTask waitingTask) {
+        MDCAwareElement<BuildTask> element = waitingTask.element;
+        if (!waitingTasks.remove(keyOf(element.get()), waitingTask)) {
+            return false;
+        }
+        waitingTask.taskReadyCallback.run();
+        readyTasks.add(element);
+        return true;
+    }
 
-        noLongerWaitingTasks.forEach(task -> {
-            waitingTasksWithCallbacks.get(task).run();
-            waitingTasksWithCallbacks.remove(task);
-        });
+    private static IdRev keyOf(BuildTask task) {
+        return task.getBuildConfigurationAudited().getIdRev();
+    }
 
-        return noLongerWaitingTasks;
+    private Lock lockFor(BuildTask task) {
+        return locks[Math.floorMod(keyOf(task).hashCode(), LOCK_STRIPES)];
     }
 
     @PostConstruct
@@ -279,25 +382,42 @@ public class BuildQueue {
         availableBuildSlots.release(maxConcurrentBuilds);
     }
 
+    private static class WaitingTask {
+        private final MDCAwareElement<BuildTask> element;
+        private final Runnable taskReadyCallback;
+        private final Set<BuildTask> remainingDependencies;
+
+        private WaitingTask(MDCAwareElement<BuildTask> element, Runnable taskReadyCallback) {
+            this.element = element;
+            this.taskReadyCallback = taskReadyCallback;
+            this.remainingDependencies = new HashSet<>(element.get().getDependencies());
+        }
+
+        @Override
+        public String toString() {
+            return element.get() + ", remaining dependencies: " + remainingDependencies.size();
+        }
+    }
+
     @Override
-    public synchronized String toString() {
-        return "BuildQueue{" + "readyTasks=" + readyTasks + ", waitingTasks=" + waitingTasksWithCallbacks
+    public String toString() {
+        return "BuildQueue{" + "readyTasks=" + readyTasks + ", waitingTasks=" + waitingTasks.values()
                 + ", tasksInProgress=" + tasksInProgress + ", taskSets=" + taskSets + '}';
     }
 
-    public synchronized boolean isEmpty() {
-        return tasksInProgress.isEmpty() && waitingTasksWithCallbacks.isEmpty() && readyTasks.isEmpty()
+    public boolean isEmpty() {
+        return tasksInProgress.isEmpty() && waitingTasks.isEmpty() && readyTasks.isEmpty()
                 && unfinishedTasks.isEmpty() && taskSets.isEmpty();
     }
 
-    public synchronized String getDebugInfo() {
+    public String getDebugInfo() {
         String info = "=====================\nQUEUE STATE:\n=====================\n" + "Available build slots: "
                 + availableBuildSlots.availablePermits() + "\n" + "Queue length:" + availableBuildSlots.getQueueLength()
                 + "\n" + "\n=====================\nTASKS IN PROGRESS:\n=====================\n" + tasksInProgress
                 + "\n=====================\nREADY TASKS:\n=====================\n" + readyTasks
                 + "\n=====================\nWAITING TASKS:\n=====================\n"
-                + waitingTasksWithCallbacks.keySet()
-                + "\n=====================\nALL UNFINISHED TASKS:\n=====================\n" + unfinishedTasks
+                + waitingTasks.values()
+                + "\n=====================\nALL UNFINISHED TASKS:\n=====================\n" + unfinishedTasks.values()
                 + "\n=====================\nTASK SETS:\n=====================\n" + taskSets;
 
         return info;
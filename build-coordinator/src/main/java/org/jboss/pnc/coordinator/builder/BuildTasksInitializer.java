@@ -42,6 +42,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -68,17 +69,10 @@ public class BuildTasksInitializer {
             Supplier<String> buildTaskIdProvider,
             Set<BuildTask> submittedBuildTasks) {
 
-        BuildSetTask buildSetTask = BuildSetTask.Builder.newBuilder()
-                .buildOptions(buildOptions)
-                .startTime(new Date())
-                .build();
-
-        Set<BuildConfigurationAudited> toBuild = new HashSet<>();
-        collectBuildTasks(buildConfigurationAudited, buildOptions, toBuild);
-        log.debug(
-                "Collected build tasks for the BuildConfigurationAudited: {}. Collected: {}.",
+        BuildSetTask buildSetTask = createBuildSetTask(buildOptions);
+        Set<BuildConfigurationAudited> toBuild = collectBuildConfigurationAuditeds(
                 buildConfigurationAudited,
-                toBuild.stream().map(BuildConfigurationAudited::toString).collect(Collectors.joining(", ")));
+                buildOptions);
 
         fillBuildTaskSet(
                 buildSetTask,
@@ -86,12 +80,43 @@ public class BuildTasksInitializer {
                 buildTaskIdProvider,
                 buildConfigurationAudited.getBuildConfiguration().getCurrentProductMilestone(),
                 toBuild,
-                submittedBuildTasks,
+                asLookup(submittedBuildTasks),
                 buildOptions);
 
         return buildSetTask;
     }
 
+    /**
+     * Create an empty BuildSetTask for a build of a single BuildConfiguration. The build tasks are added by
+     * {@link #fillBuildTaskSet(BuildSetTask, User, Supplier, ProductMilestone, Set, Function, BuildOptions)}.
+     *
+     * @param buildOptions Build options
+     * @return BuildSetTask without build tasks
+     */
+    public BuildSetTask createBuildSetTask(BuildOptions buildOptions) {
+        return BuildSetTask.Builder.newBuilder().buildOptions(buildOptions).startTime(new Date()).build();
+    }
+
+    /**
+     * Collects the revisions to be built for a build of a single BuildConfiguration, evaluating which dependencies
+     * need a rebuild. This method reads the database and doesn't depend on the state of the build queue.
+     *
+     * @param buildConfigurationAudited Revision of the BuildConfiguration to be built
+     * @param buildOptions Build options
+     * @return Set of BuildConfigurationAudited entities to be built
+     */
+    public Set<BuildConfigurationAudited> collectBuildConfigurationAuditeds(
+            BuildConfigurationAudited buildConfigurationAudited,
+            BuildOptions buildOptions) {
+        Set<BuildConfigurationAudited> toBuild = new HashSet<>();
+        collectBuildTasks(buildConfigurationAudited, buildOptions, toBuild);
+        log.debug(
+                "Collected build tasks for the BuildConfigurationAudited: {}. Collected: {}.",
+                buildConfigurationAudited,
+                toBuild.stream().map(BuildConfigurationAudited::toString).collect(Collectors.joining(", ")));
+        return toBuild;
+    }
+
     private void collectBuildTasks(
             BuildConfigurationAudited buildConfigurationAudited,
             BuildOptions buildOptions,
@@ -232,8 +257,35 @@ public class BuildTasksInitializer {
             BuildOptions buildOptions,
             Supplier<String> buildTaskIdProvider,
             Set<BuildTask> submittedBuildTasks) throws CoreException {
-        BuildSetTask buildSetTask = initBuildSetTask(buildConfigurationSet, user, buildOptions);
+        BuildSetTask buildSetTask = createBuildSetTask(buildConfigurationSet, user, buildOptions);
+        Set<BuildConfigurationAudited> buildConfigurationAuditeds = collectBuildConfigurationAuditeds(
+                buildConfigurationSet,
+                buildConfigurationAuditedsMap);
+
+        fillBuildTaskSet(
+                buildSetTask,
+                user,
+                buildTaskIdProvider,
+                buildConfigurationSet.getCurrentProductMilestone(),
+                buildConfigurationAuditeds,
+                asLookup(submittedBuildTasks),
+                buildOptions);
+        return buildSetTask;
+    }
 
+    /**
+     * Collects the revisions of the BuildConfigurations contained in the BuildConfigurationSet. A specific revision is
+     * used, if it's available in the buildConfigurationAuditedsMap parameter, the latest revision otherwise. This
+     * method reads the database and doesn't depend on the state of the build queue.
+     *
+     * @param buildConfigurationSet BuildConfigurationSet to be built
+     * @param buildConfigurationAuditedsMap A map BuildConfiguration::id:BuildConfigurationAudited of specific revisions
+     *        of BuildConfigurations contained in the buildConfigurationSet
+     * @return Set of BuildConfigurationAudited entities to be built
+     */
+    public Set<BuildConfigurationAudited> collectBuildConfigurationAuditeds(
+            BuildConfigurationSet buildConfigurationSet,
+            Map<Integer, BuildConfigurationAudited> buildConfigurationAuditedsMap) {
         Set<BuildConfigurationAudited> buildConfigurationAuditeds = new HashSet<>();
         for (BuildConfiguration buildConfiguration : datastoreAdapter.getBuildConfigurations(buildConfigurationSet)) {
             BuildConfigurationAudited buildConfigurationAudited = buildConfigurationAuditedsMap
@@ -245,24 +297,27 @@ public class BuildTasksInitializer {
             buildConfigurationAuditeds.add(buildConfigurationAudited);
         }
 
-        // initializeBuildTasksInSet
         log.debug(
-                "Initializing BuildTasks In Set for BuildConfigurationAuditeds: {}.",
+                "Collected BuildConfigurationAuditeds for the set {}: {}.",
+                buildConfigurationSet.getId(),
                 buildConfigurationAuditeds.stream()
                         .map(BuildConfigurationAudited::toString)
                         .collect(Collectors.joining("; ")));
-        fillBuildTaskSet(
-                buildSetTask,
-                user,
-                buildTaskIdProvider,
-                buildConfigurationSet.getCurrentProductMilestone(),
-                buildConfigurationAuditeds,
-                submittedBuildTasks,
-                buildOptions);
-        return buildSetTask;
+        return buildConfigurationAuditeds;
     }
 
-    private BuildSetTask initBuildSetTask(
+    /**
+     * Create an empty BuildSetTask for a build of a BuildConfigurationSet and store its BuildConfigSetRecord. The build
+     * tasks are added by
+     * {@link #fillBuildTaskSet(BuildSetTask, User, Supplier, ProductMilestone, Set, Function, BuildOptions)}.
+     *
+     * @param buildConfigurationSet BuildConfigurationSet to be built
+     * @param user A user, who triggered the build
+     * @param buildOptions Build options
+     * @return BuildSetTask without build tasks
+     * @throws CoreException Thrown if the BuildConfigSetRecord cannot be stored
+     */
+    public BuildSetTask createBuildSetTask(
             BuildConfigurationSet buildConfigurationSet,
             User user,
             BuildOptions buildOptions) throws CoreException {
@@ -289,23 +344,24 @@ public class BuildTasksInitializer {
     }
 
     /**
-     * Creates build tasks and sets up the appropriate dependency relations
+     * Creates build tasks and sets up the appropriate dependency relations. The method doesn't access the database; if
+     * used with the build queue as the lookup of submitted tasks, it has to be called atomically with the enqueueing
+     * of the created tasks.
      *
      * @param buildSetTask The build set task which will contain the build tasks. This must already have initialized the
      *        BuildConfigSet, BuildConfigSetRecord, Milestone, etc.
+     * @param submittedBuildTaskLookup Lookup of an already submitted build task by its BuildConfigurationAudited
      */
-    private void fillBuildTaskSet(
+    public void fillBuildTaskSet(
             BuildSetTask buildSetTask,
             User user,
             Supplier<String> buildTaskIdProvider,
             ProductMilestone productMilestone,
             Set<BuildConfigurationAudited> toBuild,
-            Set<BuildTask> alreadySubmittedBuildTasks,
+            Function<BuildConfigurationAudited, Optional<BuildTask>> submittedBuildTaskLookup,
             BuildOptions buildOptions) {
         for (BuildConfigurationAudited buildConfigAudited : toBuild) {
-            Optional<BuildTask> taskOptional = alreadySubmittedBuildTasks.stream()
-                    .filter(bt -> bt.getBuildConfigurationAudited().equals(buildConfigAudited))
-                    .findAny();
+            Optional<BuildTask> taskOptional = submittedBuildTaskLookup.apply(buildConfigAudited);
 
             BuildTask buildTask;
             if (taskOptional.isPresent()) {
@@ -355,6 +411,12 @@ public class BuildTasksInitializer {
         }
     }
 
+    private static Function<BuildConfigurationAudited, Optional<BuildTask>> asLookup(Set<BuildTask> buildTasks) {
+        Map<BuildConfigurationAudited, BuildTask> byBuildConfigurationAudited = buildTasks.stream()
+                .collect(Collectors.toMap(BuildTask::getBuildConfigurationAudited, Function.identity(), (a, b) -> a));
+        return bca -> Optional.ofNullable(byBuildConfigurationAudited.get(bca));
+    }
+
     /**
      * Save the build config set record using a single thread for all db operations. This ensures that database
      * operations are done in the correct sequence, for example in the case of a build config set.
@@ -66,6 +66,7 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -108,8 +109,9 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
 
     private BuildTasksInitializer buildTasksInitializer;
 
-    // Lock so that only one build method is active at any time
-    private final Object buildMethodLock = new Object();
+    // Lock so that only one submission claims build configurations in the queue at any time. Only the in-memory
+    // creation of the build tasks and their enqueueing is done under the lock, database reads are done before.
+    private final Object queueClaimLock = new Object();
     private GroupBuildMapper groupBuildMapper;
     private BuildMapper buildMapper;
 
@@ -164,15 +166,24 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
             User user,
             BuildOptions buildOptions,
             BuildConfigurationAudited buildConfigurationAudited) throws BuildConflictException {
-        synchronized (buildMethodLock) {
+        // fail fast before reading the dependencies from the database
+        checkNotRunning(buildConfigurationAudited);
+
+        BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(buildOptions);
+        Set<BuildConfigurationAudited> toBuild = buildTasksInitializer
+                .collectBuildConfigurationAuditeds(buildConfigurationAudited, buildOptions);
+
+        synchronized (queueClaimLock) {
             checkNotRunning(buildConfigurationAudited);
 
-            BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(
-                    buildConfigurationAudited,
+            buildTasksInitializer.fillBuildTaskSet(
+                    buildSetTask,
                     user,
-                    buildOptions,
                     this::buildRecordIdSupplier,
-                    buildQueue.getUnfinishedTasks());
+                    buildConfigurationAudited.getBuildConfiguration().getCurrentProductMilestone(),
+                    toBuild,
+                    buildQueue::getUnfinishedTask,
+                    buildOptions);
 
             buildQueue.enqueueTaskSet(buildSetTask);
             buildSetTask.getBuildTasks().stream().sorted(this::dependantsFirst).forEach(this::addTaskToBuildQueue);
@@ -226,18 +237,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     @Deprecated
     public BuildSetTask build(BuildConfigurationSet buildConfigurationSet, User user, BuildOptions buildOptions)
             throws CoreException {
-        synchronized (buildMethodLock) {
-            BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(
-                    buildConfigurationSet,
-                    user,
-                    buildOptions,
-                    this::buildRecordIdSupplier,
-                    buildQueue.getUnfinishedTasks());
-            updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.NEW);
-
-            validateAndEnqueueBuildConfigurationSetTasks(buildConfigurationSet, buildOptions, buildSetTask);
-            return buildSetTask;
-        }
+        return build(buildConfigurationSet, Collections.emptyMap(), user, buildOptions);
     }
 
     /**
@@ -263,60 +263,66 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
             User user,
             BuildOptions buildOptions) throws CoreException {
 
-        synchronized (buildMethodLock) {
-            BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(
-                    buildConfigurationSet,
-                    buildConfigurationAuditedsMap,
-                    user,
-                    buildOptions,
-                    this::buildRecordIdSupplier,
-                    buildQueue.getUnfinishedTasks());
-            updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.NEW);
+        BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(buildConfigurationSet, user, buildOptions);
+        Set<BuildConfigurationAudited> buildConfigurationAuditeds = buildTasksInitializer
+                .collectBuildConfigurationAuditeds(buildConfigurationSet, buildConfigurationAuditedsMap);
+        updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.NEW);
 
-            validateAndEnqueueBuildConfigurationSetTasks(buildConfigurationSet, buildOptions, buildSetTask);
-            return buildSetTask;
-        }
+        validateAndEnqueueBuildConfigurationSetTasks(
+                buildConfigurationSet,
+                buildConfigurationAuditeds,
+                user,
+                buildOptions,
+                buildSetTask);
+        return buildSetTask;
     }
 
     private void validateAndEnqueueBuildConfigurationSetTasks(
             BuildConfigurationSet buildConfigurationSet,
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds,
+            User user,
             BuildOptions buildOptions,
             BuildSetTask buildSetTask) {
-        checkForEmptyBuildSetTask(buildSetTask);
+        // the checks which read the database are done before the build configurations are claimed in the queue
+        checkForEmptyBuildSetTask(buildSetTask, buildConfigurationAuditeds);
         if (!buildOptions.isForceRebuild()) {
             checkIfAnyBuildConfigurationNeedsARebuild(
                     buildSetTask,
                     buildConfigurationSet,
+                    buildConfigurationAuditeds,
                     buildOptions.isImplicitDependenciesCheck(),
                     buildOptions.isTemporaryBuild());
         }
 
-        checkForCyclicDependencies(buildSetTask);
-        build(buildSetTask);
+        synchronized (queueClaimLock) {
+            buildTasksInitializer.fillBuildTaskSet(
+                    buildSetTask,
+                    user,
+                    this::buildRecordIdSupplier,
+                    buildConfigurationSet.getCurrentProductMilestone(),
+                    buildConfigurationAuditeds,
+                    buildQueue::getUnfinishedTask,
+                    buildOptions);
+
+            checkForCyclicDependencies(buildSetTask);
+            build(buildSetTask);
+        }
     }
 
     private void checkIfAnyBuildConfigurationNeedsARebuild(
             BuildSetTask buildSetTask,
             BuildConfigurationSet buildConfigurationSet,
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds,
             boolean checkImplicitDependencies,
             boolean temporaryBuild) {
-        Set<BuildConfiguration> buildConfigurations = buildConfigurationSet.getBuildConfigurations();
-        int requiresRebuild = buildConfigurations.size();
-        log.debug("There are {} configurations in a set {}.", requiresRebuild, buildConfigurationSet.getId());
-
-        Set<Integer> processedDependenciesCache = new HashSet<>();
-        for (BuildConfiguration buildConfiguration : buildConfigurations) {
-            BuildConfigurationAudited buildConfigurationAudited = datastoreAdapter
-                    .getLatestBuildConfigurationAuditedInitializeBCDependencies(buildConfiguration.getId());
-            if (!datastoreAdapter.requiresRebuild(
-                    buildConfigurationAudited,
-                    checkImplicitDependencies,
-                    temporaryBuild,
-                    processedDependenciesCache)) {
-                requiresRebuild--;
-            }
-        }
-        if (requiresRebuild == 0) {
+        log.debug(
+                "There are {} configurations in a set {}.",
+                buildConfigurationAuditeds.size(),
+                buildConfigurationSet.getId());
+
+        Set<BuildConfigurationAudited> requiresRebuild = datastoreAdapter
+                .requiresRebuild(buildConfigurationAuditeds, checkImplicitDependencies, temporaryBuild);
+        if (requiresRebuild.isEmpty()) {
             updateBuildSetTaskStatus(
                     buildSetTask,
                     BuildSetStatus.NO_REBUILD_REQUIRED,
@@ -325,17 +331,15 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     }
 
     private void build(BuildSetTask buildSetTask) {
-        synchronized (buildMethodLock) {
-            // if the set is rejected stop further processing but process when NO_REBUILD_REQUIRED to create build
-            // records
-            if (!BuildSetStatus.REJECTED.equals(buildSetTask.getStatus())) {
-                buildQueue.enqueueTaskSet(buildSetTask);
-                List<BuildTask> toSort = new ArrayList<>(buildSetTask.getBuildTasks());
-                // [NCLSUP-393] Don't use default Java Timsort because our Comparator method is not stable. We use
-                // our homemade quicksort instead that doesn't check if our comparator is stable
-                Quicksort.quicksort(toSort, this::dependantsFirst);
-                toSort.forEach(this::addTaskToBuildQueue);
-            }
+        // if the set is rejected stop further processing but process when NO_REBUILD_REQUIRED to create build
+        // records
+        if (!BuildSetStatus.REJECTED.equals(buildSetTask.getStatus())) {
+            buildQueue.enqueueTaskSet(buildSetTask);
+            List<BuildTask> toSort = new ArrayList<>(buildSetTask.getBuildTasks());
+            // [NCLSUP-393] Don't use default Java Timsort because our Comparator method is not stable. We use
+            // our homemade quicksort instead that doesn't check if our comparator is stable
+            Quicksort.quicksort(toSort, this::dependantsFirst);
+            toSort.forEach(this::addTaskToBuildQueue);
         }
     }
 
@@ -422,9 +426,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     @Override
     public boolean cancel(String buildTaskId) throws CoreException {
         // Logging MDC must be set before calling
-        Optional<BuildTask> taskOptional = getSubmittedBuildTasks().stream()
-                .filter(buildTask -> buildTask.getId().equals(buildTaskId))
-                .findAny();
+        Optional<BuildTask> taskOptional = buildQueue.getSubmittedBuildTask(buildTaskId);
         if (taskOptional.isPresent()) {
             log.debug("Cancelling task {}.", taskOptional.get());
             try {
@@ -446,10 +448,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
 
     @Override
     public Optional<BuildTaskContext> getMDCMeta(String buildTaskId) {
-        return getSubmittedBuildTasks().stream()
-                .filter(buildTask -> buildTaskId.equals(buildTask.getId()))
-                .map(this::getMDCMeta)
-                .findAny();
+        return buildQueue.getSubmittedBuildTask(buildTaskId).map(this::getMDCMeta);
     }
 
     private BuildTaskContext getMDCMeta(BuildTask buildTask) {
@@ -498,7 +497,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
         PollingMonitor monitor = new PollingMonitor();
 
         Runnable invokeCancelInternal = () -> {
-            if (!getSubmittedBuildTasks().contains(buildTask)) {
+            if (!buildQueue.isBuildAlreadySubmitted(buildTask)) {
                 log.debug("Task {} cancellation already completed.", buildTask.getId());
                 return;
             }
@@ -537,8 +536,10 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     /**
      * Check if the given build set task is empty and update the status message appropriately
      */
-    private void checkForEmptyBuildSetTask(BuildSetTask buildSetTask) {
-        if (buildSetTask.getBuildTasks() == null || buildSetTask.getBuildTasks().isEmpty()) {
+    private void checkForEmptyBuildSetTask(
+            BuildSetTask buildSetTask,
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds) {
+        if (buildConfigurationAuditeds.isEmpty()) {
             updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.REJECTED, "Build config set is empty");
         }
     }
@@ -811,7 +812,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
         switch (status) {
             case DONE:
             case REJECTED_ALREADY_BUILT:
-                buildQueue.executeNewReadyTasks();
+                buildQueue.executeNewReadyTasks(task);
                 break;
             case REJECTED:
             case REJECTED_FAILED_DEPENDENCIES:
@@ -903,10 +904,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
 
     @Override
     public Optional<BuildTask> getSubmittedBuildTask(String buildId) {
-        return buildQueue.getSubmittedBuildTasks()
-                .stream()
-                .filter(buildTask -> buildTask.getId().equals(buildId))
-                .findAny();
+        return buildQueue.getSubmittedBuildTask(buildId);
     }
 
     public List<BuildTask> getSubmittedBuildTasks() {
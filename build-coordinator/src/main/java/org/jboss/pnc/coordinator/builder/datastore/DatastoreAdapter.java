@@ -425,6 +425,13 @@ public class DatastoreAdapter {
                 processedDependenciesCache);
     }
 
+    public Set<BuildConfigurationAudited> requiresRebuild(
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds,
+            boolean checkImplicitDependencies,
+            boolean temporaryBuild) {
+        return datastore.requiresRebuild(buildConfigurationAuditeds, checkImplicitDependencies, temporaryBuild);
+    }
+
     public boolean requiresRebuild(BuildTask task, Set<Integer> processedDependenciesCache) {
         return datastore.requiresRebuild(
                 task.getBuildConfigurationAudited(),
@@ -0,0 +1,153 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.builder;
+
+import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
+import org.jboss.pnc.enums.BuildCoordinationStatus;
+import org.jboss.pnc.enums.RebuildMode;
+import org.jboss.pnc.mock.model.BuildEnvironmentMock;
+import org.jboss.pnc.mock.model.MockUser;
+import org.jboss.pnc.mock.model.RepositoryConfigurationMock;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.spi.BuildOptions;
+import org.jboss.pnc.spi.coordinator.BuildTask;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BuildQueueTest {
+
+    private BuildQueue buildQueue;
+
+    @Before
+    public void setUp() {
+        SystemConfig systemConfig = mock(SystemConfig.class);
+        when(systemConfig.getCoordinatorMaxConcurrentBuilds()).thenReturn(10);
+        buildQueue = new BuildQueue(systemConfig);
+        buildQueue.initSemaphore();
+    }
+
+    @Test
+    public void shouldFindUnfinishedTaskByConfigRevisionAndId() {
+        BuildTask task = buildTask(1, 10, "100");
+        buildQueue.addReadyTask(task);
+
+        assertThat(buildQueue.getUnfinishedTask(task.getBuildConfigurationAudited())).contains(task);
+        assertThat(buildQueue.getTask(task.getBuildConfigurationAudited())).contains(task);
+        assertThat(buildQueue.getSubmittedBuildTask("100")).contains(task);
+        assertThat(buildQueue.isBuildAlreadySubmitted(task)).isTrue();
+
+        BuildTask otherRevision = buildTask(1, 11, "101");
+        assertThat(buildQueue.getUnfinishedTask(otherRevision.getBuildConfigurationAudited())).isEmpty();
+        assertThat(buildQueue.getSubmittedBuildTask("101")).isEmpty();
+    }
+
+    @Test
+    public void shouldRemoveTaskFromAllIndexes() throws InterruptedException {
+        BuildTask ready = buildTask(1, 10, "100");
+        BuildTask waiting = buildTask(2, 10, "200");
+        buildQueue.addReadyTask(ready);
+        buildQueue.addWaitingTask(waiting, () -> {});
+
+        AtomicReference<BuildTask> taken = new AtomicReference<>();
+        buildQueue.take(taken::set);
+        assertThat(taken.get()).isEqualTo(ready);
+
+        buildQueue.removeTask(ready);
+        buildQueue.removeTask(waiting);
+
+        assertThat(buildQueue.getSubmittedBuildTask("100")).isEmpty();
+        assertThat(buildQueue.getSubmittedBuildTask("200")).isEmpty();
+        assertThat(buildQueue.getUnfinishedTasks()).isEmpty();
+        assertThat(buildQueue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void shouldReleaseDependantOnlyWhenAllDependenciesFinished() {
+        BuildTask dependency1 = buildTask(1, 10, "100");
+        BuildTask dependency2 = buildTask(2, 10, "200");
+        BuildTask dependant = buildTask(3, 10, "300");
+        dependant.addDependency(dependency1);
+        dependant.addDependency(dependency2);
+
+        AtomicInteger released = new AtomicInteger();
+        buildQueue.addReadyTask(dependency1);
+        buildQueue.addReadyTask(dependency2);
+        buildQueue.addWaitingTask(dependant, released::incrementAndGet);
+        assertThat(released.get()).isEqualTo(0);
+
+        finish(dependency1);
+        assertThat(released.get()).isEqualTo(0);
+
+        finish(dependency2);
+        assertThat(released.get()).isEqualTo(1);
+
+        // repeated notification must not release the task twice
+        buildQueue.executeNewReadyTasks(dependency2);
+        assertThat(released.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldReleaseWaitingTaskImmediatelyIfDependenciesAlreadyFinished() {
+        BuildTask dependency = buildTask(1, 10, "100");
+        BuildTask dependant = buildTask(2, 10, "200");
+        dependant.addDependency(dependency);
+        dependency.setStatus(BuildCoordinationStatus.DONE);
+
+        AtomicInteger released = new AtomicInteger();
+        buildQueue.addWaitingTask(dependant, released::incrementAndGet);
+
+        assertThat(released.get()).isEqualTo(1);
+    }
+
+    private void finish(BuildTask task) {
+        buildQueue.removeTask(task);
+        task.setStatus(BuildCoordinationStatus.DONE);
+        buildQueue.executeNewReadyTasks(task);
+    }
+
+    private BuildTask buildTask(int configId, int rev, String taskId) {
+        BuildConfiguration buildConfiguration = new BuildConfiguration();
+        buildConfiguration.setId(configId);
+        buildConfiguration.setProject(new Project());
+        buildConfiguration.setRepositoryConfiguration(RepositoryConfigurationMock.newTestRepository());
+        buildConfiguration.setBuildEnvironment(BuildEnvironmentMock.newTest());
+
+        BuildOptions buildOptions = new BuildOptions(false, true, false, false, RebuildMode.IMPLICIT_DEPENDENCY_CHECK);
+        return BuildTask.build(
+                BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, rev),
+                buildOptions,
+                MockUser.newTestUser(1),
+                taskId,
+                null,
+                new Date(),
+                null,
+                "context-id",
+                Optional.empty());
+    }
+}
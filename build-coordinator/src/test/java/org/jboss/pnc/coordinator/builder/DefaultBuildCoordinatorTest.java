@@ -164,6 +164,8 @@ public class DefaultBuildCoordinatorTest {
                         any(Boolean.class),
                         any(Boolean.class),
                         anySet())).thenReturn(true);
+        // evaluate the bulk check using the single configuration check stubbed in the tests
+        when(datastore.requiresRebuild(anySet(), any(Boolean.class), any(Boolean.class))).thenCallRealMethod();
         when(datastore.saveBuildConfigSetRecord(any())).thenAnswer(new SaveBuildConfigSetRecordAnswer());
 
         USER.setId(1);
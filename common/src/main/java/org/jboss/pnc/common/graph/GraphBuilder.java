@@ -17,7 +17,6 @@
  */
 package org.jboss.pnc.common.graph;
 
-import org.jboss.util.graph.Graph;
 import org.jboss.util.graph.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,7 +58,7 @@ public class GraphBuilder<T, S> {
         return dependantSupplier.apply(node);
     }
 
-    public Vertex<T> buildDependencyGraph(Graph<T> graph, S nodeId) {
+    public Vertex<T> buildDependencyGraph(IndexedGraph<T> graph, S nodeId) {
         T node = getNode(nodeId);
         Vertex<T> vertex = getVisited(nodeId, graph);
         if (vertex == null) {
@@ -79,7 +78,7 @@ public class GraphBuilder<T, S> {
         return vertex;
     }
 
-    public Vertex<T> buildDependentGraph(Graph<T> graph, S nodeId) {
+    public Vertex<T> buildDependentGraph(IndexedGraph<T> graph, S nodeId) {
         T node = getNode(nodeId);
         Vertex<T> vertex = getVisited(nodeId, graph);
         if (vertex == null) {
@@ -99,7 +98,7 @@ public class GraphBuilder<T, S> {
         return vertex;
     }
 
-    private Vertex<T> getVisited(S nodeId, Graph<T> graph) {
+    private Vertex<T> getVisited(S nodeId, IndexedGraph<T> graph) {
         return graph.findVertexByName(nodeId.toString());
     }
 }
@@ -18,14 +18,10 @@
 package org.jboss.pnc.common.graph;
 
 import org.jboss.util.graph.Edge;
-import org.jboss.util.graph.Graph;
 import org.jboss.util.graph.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Optional;
-
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
@@ -34,24 +30,16 @@ public class GraphUtils {
     private static Logger logger = LoggerFactory.getLogger(GraphUtils.class);
 
     /**
-     * Adds all elements from toMerge to target.
+     * Adds all elements from toMerge to target. Vertices and edges already present in target (by name) are kept.
      */
-    public static <T> void merge(Graph<T> target, Graph<T> toMerge) {
-        for (Vertex<T> vertex : toMerge.getVerticies()) {
+    public static <T> void merge(IndexedGraph<T> target, IndexedGraph<T> toMerge) {
+        for (Vertex<T> vertex : toMerge.getVertices()) {
             target.addVertex(vertex);
         }
 
         // merge edges
-        List<Edge<T>> edges = target.getEdges();
-        for (Edge newEdge : toMerge.getEdges()) {
-            Optional<Edge<T>> any = edges.stream()
-                    .filter(
-                            existing -> existing.getFrom().getName().equals(newEdge.getFrom().getName())
-                                    && existing.getTo().getName().equals(newEdge.getTo().getName()))
-                    .findAny();
-            if (!any.isPresent()) {
-                edges.add(newEdge);
-            }
+        for (Edge<T> newEdge : toMerge.getEdges()) {
+            target.addEdge(newEdge);
         }
     }
 }
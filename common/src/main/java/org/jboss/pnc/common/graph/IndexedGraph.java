@@ -0,0 +1,144 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.graph;
+
+import org.jboss.util.graph.Edge;
+import org.jboss.util.graph.Vertex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Directed graph with the vertices indexed by name and the edges indexed by the names of their vertices, so that the
+ * lookups done while building and merging big dependency graphs don't scan all the vertices and edges.
+ *
+ * There is at most one vertex with a given name and at most one edge between two vertices. Vertices and edges are kept
+ * in the order they were added.
+ */
+public class IndexedGraph<T> {
+
+    private final Map<String, Vertex<T>> vertices = new LinkedHashMap<>();
+
+    private final Map<EdgeKey, Edge<T>> edges = new LinkedHashMap<>();
+
+    /**
+     * @return false if the graph already contains a vertex with the same name
+     */
+    public boolean addVertex(Vertex<T> vertex) {
+        return vertices.putIfAbsent(vertex.getName(), vertex) == null;
+    }
+
+    /**
+     * @return vertex with given name or null if there is no such vertex in the graph
+     */
+    public Vertex<T> findVertexByName(String name) {
+        return vertices.get(name);
+    }
+
+    /**
+     * Creates an edge between two vertices of the graph and links it to both vertices.
+     *
+     * @return false if the graph already contains an edge between the vertices
+     * @throws IllegalArgumentException if any of the vertices is not in the graph
+     */
+    public boolean addEdge(Vertex<T> from, Vertex<T> to, int cost) {
+        if (!vertices.containsKey(from.getName())) {
+            throw new IllegalArgumentException("from is not in graph");
+        }
+        if (!vertices.containsKey(to.getName())) {
+            throw new IllegalArgumentException("to is not in graph");
+        }
+        EdgeKey key = new EdgeKey(from.getName(), to.getName());
+        if (edges.containsKey(key)) {
+            return false;
+        }
+        Edge<T> edge = new Edge<>(from, to, cost);
+        from.addEdge(edge);
+        to.addEdge(edge);
+        edges.put(key, edge);
+        return true;
+    }
+
+    /**
+     * Adds an edge that is already linked to its vertices, f.e. an edge of another graph.
+     *
+     * @return false if the graph already contains an edge between the vertices with the same names
+     */
+    public boolean addEdge(Edge<T> edge) {
+        return edges.putIfAbsent(new EdgeKey(edge.getFrom().getName(), edge.getTo().getName()), edge) == null;
+    }
+
+    public Collection<Vertex<T>> getVertices() {
+        return Collections.unmodifiableCollection(vertices.values());
+    }
+
+    public Collection<Edge<T>> getEdges() {
+        return Collections.unmodifiableCollection(edges.values());
+    }
+
+    /**
+     * @return number of the vertices
+     */
+    public int size() {
+        return vertices.size();
+    }
+
+    public boolean isEmpty() {
+        return vertices.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IndexedGraph[");
+        for (Vertex<T> vertex : vertices.values()) {
+            sb.append(vertex);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static final class EdgeKey {
+
+        private final String from;
+
+        private final String to;
+
+        private EdgeKey(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            EdgeKey that = (EdgeKey) o;
+            return from.equals(that.from) && to.equals(that.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.monitor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Policy that computes the delay between two subsequent checks of a monitored condition.
+ *
+ * The delay starts at the check interval of the monitor and is multiplied by the multiplier after every unsatisfied
+ * check, up to the max interval. Each delay is then spread randomly by +/- jitter (a ratio between 0 and 1), so that
+ * many monitors started at the same time do not keep hitting the checked service all at once.
+ */
+public class Backoff {
+
+    /** Checks the condition at the fixed check interval. */
+    public static final Backoff NONE = new Backoff(1.0, 1, 0.0);
+
+    private final double multiplier;
+
+    private final int maxIntervalFactor;
+
+    private final double jitter;
+
+    private Backoff(double multiplier, int maxIntervalFactor, double jitter) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Backoff multiplier must be at least 1, was " + multiplier);
+        }
+        if (maxIntervalFactor < 1) {
+            throw new IllegalArgumentException("Max interval factor must be at least 1, was " + maxIntervalFactor);
+        }
+        if (jitter < 0.0 || jitter >= 1.0) {
+            throw new IllegalArgumentException("Jitter must be in range [0, 1), was " + jitter);
+        }
+        this.multiplier = multiplier;
+        this.maxIntervalFactor = maxIntervalFactor;
+        this.jitter = jitter;
+    }
+
+    /**
+     * @param multiplier the delay is multiplied by after each unsatisfied check
+     * @param maxIntervalFactor the delay never grows over check interval * maxIntervalFactor
+     * @param jitter ratio by which each delay is randomly spread, 0 disables the jitter
+     */
+    public static Backoff exponential(double multiplier, int maxIntervalFactor, double jitter) {
+        return new Backoff(multiplier, maxIntervalFactor, jitter);
+    }
+
+    /**
+     * @param checkIntervalNanos the configured check interval of the monitor
+     * @param previousIntervalNanos interval used before the previous check, without the jitter
+     * @return the next interval without the jitter
+     */
+    long nextInterval(long checkIntervalNanos, long previousIntervalNanos) {
+        long maxIntervalNanos = checkIntervalNanos * maxIntervalFactor;
+        return (long) Math.min(previousIntervalNanos * multiplier, maxIntervalNanos);
+    }
+
+    /**
+     * @return the interval randomly spread by the jitter
+     */
+    long withJitter(long intervalNanos) {
+        if (jitter == 0.0) {
+            return intervalNanos;
+        }
+        double spread = ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return (long) (intervalNanos * (1.0 + spread));
+    }
+
+    @Override
+    public String toString() {
+        return "Backoff{multiplier=" + multiplier + ", maxIntervalFactor=" + maxIntervalFactor + ", jitter=" + jitter
+                + '}';
+    }
+}
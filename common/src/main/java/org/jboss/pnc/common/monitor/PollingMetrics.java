@@ -0,0 +1,86 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the monitored conditions and of the time spent checking them.
+ */
+public class PollingMetrics {
+
+    private final LongAdder activeMonitors = new LongAdder();
+
+    private final LongAdder timedOutMonitors = new LongAdder();
+
+    private final LongAdder checkCount = new LongAdder();
+
+    private final LongAdder totalCheckNanos = new LongAdder();
+
+    private final AtomicLong maxCheckNanos = new AtomicLong();
+
+    private final LongAdder totalLatenessNanos = new LongAdder();
+
+    private final AtomicLong maxLatenessNanos = new AtomicLong();
+
+    void started() {
+        activeMonitors.increment();
+    }
+
+    void finished() {
+        activeMonitors.decrement();
+    }
+
+    void timedOut() {
+        timedOutMonitors.increment();
+    }
+
+    /**
+     * @param latenessNanos time between the planned start of the check and its actual start
+     * @param checkNanos time it took to check the condition
+     */
+    void checked(long latenessNanos, long checkNanos) {
+        checkCount.increment();
+        totalCheckNanos.add(checkNanos);
+        maxCheckNanos.accumulateAndGet(checkNanos, Math::max);
+        totalLatenessNanos.add(latenessNanos);
+        maxLatenessNanos.accumulateAndGet(latenessNanos, Math::max);
+    }
+
+    public Map<String, Number> toMap() {
+        long checks = checkCount.sum();
+
+        Map<String, Number> metrics = new TreeMap<>();
+        metrics.put("polling-monitor.active.count", activeMonitors.sum());
+        metrics.put("polling-monitor.timed-out.count", timedOutMonitors.sum());
+        metrics.put("polling-monitor.check.count", checks);
+        metrics.put("polling-monitor.check.latency.avg.micros", averageMicros(totalCheckNanos.sum(), checks));
+        metrics.put("polling-monitor.check.latency.max.micros", TimeUnit.NANOSECONDS.toMicros(maxCheckNanos.get()));
+        metrics.put("polling-monitor.check.lateness.avg.micros", averageMicros(totalLatenessNanos.sum(), checks));
+        metrics.put("polling-monitor.check.lateness.max.micros", TimeUnit.NANOSECONDS.toMicros(maxLatenessNanos.get()));
+        return metrics;
+    }
+
+    private static long averageMicros(long totalNanos, long count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos / count);
+    }
+}
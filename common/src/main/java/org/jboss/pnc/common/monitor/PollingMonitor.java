@@ -19,12 +19,15 @@
 package org.jboss.pnc.common.monitor;
 
 import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.common.util.ReadEnvProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -51,8 +54,13 @@ public class PollingMonitor {
     private static final String POLLING_MONITOR_THREADPOOL_KEY = "polling_monitor_threadpool";
     private static final int DEFAULT_EXECUTOR_THREADPOOL_SIZE = 4;
 
+    private static final String POLLING_MONITOR_CHECK_THREADPOOL_KEY = "polling_monitor_check_threadpool";
+    private static final int DEFAULT_CHECK_THREADPOOL_SIZE = 16;
+
     private ScheduledExecutorService executorService;
+    private ExecutorService checkExecutorService;
     private ScheduledExecutorServiceWithTimeout scheduledExecutor;
+    private final PollingMetrics metrics = new PollingMetrics();
 
     public PollingMonitor() {
         ReadEnvProperty reader = new ReadEnvProperty();
@@ -60,8 +68,13 @@ public class PollingMonitor {
         int threadSize = reader
                 .getIntValueFromPropertyOrDefault(POLLING_MONITOR_THREADPOOL_KEY, DEFAULT_EXECUTOR_THREADPOOL_SIZE);
 
+        int checkThreadSize = reader
+                .getIntValueFromPropertyOrDefault(POLLING_MONITOR_CHECK_THREADPOOL_KEY, DEFAULT_CHECK_THREADPOOL_SIZE);
+
         executorService = MDCExecutors.newScheduledThreadPool(threadSize);
-        scheduledExecutor = new ScheduledExecutorServiceWithTimeout(executorService);
+        checkExecutorService = MDCExecutors
+                .newFixedThreadPool(checkThreadSize, new NamedThreadFactory("polling-monitor-check"));
+        scheduledExecutor = new ScheduledExecutorServiceWithTimeout(executorService, checkExecutorService, metrics);
     }
 
     /**
@@ -99,6 +112,41 @@ public class PollingMonitor {
         return scheduledExecutor.scheduleWithFixedDelayAndTimeout(condition, 0L, checkInterval, timeout, timeUnit);
     }
 
+    /**
+     * Periodically checks the condition, the interval between the checks grows and is spread according to the backoff.
+     * If the specified timeout is reached the returned future completes exceptionally.
+     *
+     * @param condition the condition to check
+     * @param checkInterval interval after the first check
+     * @param timeout
+     * @param timeUnit
+     * @param backoff policy computing the intervals between the following checks
+     *
+     * @return CancellableCompletableFuture
+     */
+    public CancellableCompletableFuture<Void> monitor(
+            Supplier<Boolean> condition,
+            int checkInterval,
+            int timeout,
+            TimeUnit timeUnit,
+            Backoff backoff) {
+        log.debug(
+                "Monitoring condition with specified checkInterval of {}, timeout of {}, timeUnit {}, {}",
+                checkInterval,
+                timeout,
+                timeUnit,
+                backoff);
+        return scheduledExecutor
+                .scheduleWithBackoffAndTimeout(condition, 0L, checkInterval, backoff, timeout, timeUnit);
+    }
+
+    /**
+     * @return number of active monitors, check latency and lateness of the checks
+     */
+    public Map<String, Number> getMetrics() {
+        return metrics.toMap();
+    }
+
     public ScheduledFuture<?> timer(Runnable task, long delay, TimeUnit timeUnit) {
         return executorService.schedule(task, delay, timeUnit);
     }
@@ -106,6 +154,7 @@ public class PollingMonitor {
     @PreDestroy
     public void destroy() {
         executorService.shutdownNow();
+        checkExecutorService.shutdownNow();
     }
 
 }
@@ -17,6 +17,8 @@
  */
 package org.jboss.pnc.common.monitor;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -24,14 +26,38 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 /**
+ * Periodically checks conditions until they are satisfied or until they time out.
+ *
+ * The scheduler is only used to plan the checks and the timeouts, the conditions themselves are checked on the check
+ * executor, so a slow condition does not delay the checks of the other conditions. The next check is planned after the
+ * previous one has finished.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 public class ScheduledExecutorServiceWithTimeout {
 
-    private ScheduledExecutorService executorService;
+    private final ScheduledExecutorService executorService;
+
+    private final Executor checkExecutor;
+
+    private final PollingMetrics metrics;
 
     public ScheduledExecutorServiceWithTimeout(ScheduledExecutorService executorService) {
+        this(executorService, executorService, new PollingMetrics());
+    }
+
+    /**
+     * @param executorService scheduler used to plan the checks and the timeouts
+     * @param checkExecutor executor the conditions are checked on
+     * @param metrics metrics to record the checks to
+     */
+    public ScheduledExecutorServiceWithTimeout(
+            ScheduledExecutorService executorService,
+            Executor checkExecutor,
+            PollingMetrics metrics) {
         this.executorService = executorService;
+        this.checkExecutor = checkExecutor;
+        this.metrics = metrics;
     }
 
     public CancellableCompletableFuture<Void> scheduleWithFixedDelayAndTimeout(
@@ -40,82 +66,151 @@ public class ScheduledExecutorServiceWithTimeout {
             long delay,
             long timeout,
             TimeUnit timeUnit) {
-        Task task = new Task();
-
-        CancellableCompletableFuture<Void> completableFuture = new CancellableCompletableFuture<>(task::cancel);
+        return scheduleWithBackoffAndTimeout(condition, initialDelay, delay, Backoff.NONE, timeout, timeUnit);
+    }
 
-        Runnable run = () -> {
-            try {
-                if (condition.get()) {
-                    task.cancel();
-                    completableFuture.complete(null);
-                }
-            } catch (Throwable t) {
-                completableFuture.completeExceptionally(t);
-            }
-        };
+    /**
+     * @param condition the condition to check
+     * @param initialDelay delay before the first check
+     * @param delay delay after the first unsatisfied check, the following delays are computed by the backoff
+     * @param backoff policy computing the delays between the checks
+     * @param timeout time after which the returned future completes with {@link TimeoutException}
+     * @param timeUnit unit of the delays and of the timeout
+     * @return future completed when the condition is satisfied
+     */
+    public CancellableCompletableFuture<Void> scheduleWithBackoffAndTimeout(
+            Supplier<Boolean> condition,
+            long initialDelay,
+            long delay,
+            Backoff backoff,
+            long timeout,
+            TimeUnit timeUnit) {
+        long deadlineNanos = System.nanoTime() + timeUnit.toNanos(timeout);
+        Task task = new Task(condition, timeUnit.toNanos(delay), backoff, deadlineNanos);
+        CancellableCompletableFuture<Void> completableFuture = task.completableFuture;
 
-        task.setRunnable(run);
+        metrics.started();
+        completableFuture.whenComplete((nul, throwable) -> {
+            task.cancel();
+            metrics.finished();
+        });
 
         Runnable selfTimeout = () -> {
-            task.cancel();
-            completableFuture.completeExceptionally(
+            boolean timedOut = completableFuture.completeExceptionally(
                     new TimeoutException("Condition was not satisfied in: " + timeout + " " + timeUnit.toString()));
+            if (timedOut) {
+                metrics.timedOut();
+            }
         };
-        ScheduledFuture<?> timeoutFuture = executorService.schedule(selfTimeout, timeout, timeUnit);
-        task.setTimeoutFuture(timeoutFuture);
-
-        ScheduledFuture<?> scheduledFuture = executorService
-                .scheduleWithFixedDelay(task, initialDelay, delay, timeUnit);
-        task.setTaskFuture(scheduledFuture);
+        task.setTimeoutFuture(executorService.schedule(selfTimeout, timeout, timeUnit));
+        task.scheduleCheck(timeUnit.toNanos(initialDelay));
 
         return completableFuture;
     }
 
-    private static class Task implements Runnable {
+    private class Task {
+
+        private final Supplier<Boolean> condition;
 
-        private Runnable runnable;
+        private final long checkIntervalNanos;
 
-        private ScheduledFuture<?> timeoutFuture;
+        private final Backoff backoff;
 
-        private ScheduledFuture<?> taskFuture;
+        private final long deadlineNanos;
 
-        private boolean cancelled;
+        private final CancellableCompletableFuture<Void> completableFuture;
 
-        public void setRunnable(Runnable runnable) {
-            this.runnable = runnable;
+        /** Interval before the last check without the jitter, only accessed by the sequentially running checks. */
+        private long intervalNanos;
+
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        private volatile ScheduledFuture<?> checkFuture;
+
+        private volatile boolean cancelled;
+
+        Task(Supplier<Boolean> condition, long checkIntervalNanos, Backoff backoff, long deadlineNanos) {
+            this.condition = condition;
+            this.checkIntervalNanos = checkIntervalNanos;
+            this.backoff = backoff;
+            this.deadlineNanos = deadlineNanos;
+            this.completableFuture = new CancellableCompletableFuture<>(this::cancel);
+        }
+
+        void scheduleCheck(long delayNanos) {
+            long plannedStart = System.nanoTime() + delayNanos;
+            if (plannedStart - deadlineNanos >= 0) {
+                // the check would not start before the timeout anyway
+                return;
+            }
+            try {
+                checkFuture = executorService
+                        .schedule(() -> submitCheck(plannedStart), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                completableFuture.completeExceptionally(e);
+                return;
+            }
+            // if cancelled before the checkFuture has been set
+            if (cancelled) {
+                checkFuture.cancel(false);
+            }
         }
 
-        @Override
-        public void run() {
+        private void submitCheck(long plannedStart) {
+            if (cancelled) {
+                return;
+            }
             try {
-                // if timeout occurred before the taskFuture has been set
-                if (!cancelled) {
-                    runnable.run();
+                checkExecutor.execute(() -> check(plannedStart));
+            } catch (RejectedExecutionException e) {
+                completableFuture.completeExceptionally(e);
+            }
+        }
+
+        private void check(long plannedStart) {
+            if (cancelled) {
+                return;
+            }
+            long start = System.nanoTime();
+            boolean satisfied;
+            try {
+                satisfied = condition.get();
+            } catch (Throwable t) {
+                metrics.checked(Math.max(0L, start - plannedStart), System.nanoTime() - start);
+                completableFuture.completeExceptionally(t);
+                return;
+            }
+            metrics.checked(Math.max(0L, start - plannedStart), System.nanoTime() - start);
+
+            if (satisfied) {
+                completableFuture.complete(null);
+            } else if (!cancelled) {
+                if (intervalNanos == 0L) {
+                    intervalNanos = checkIntervalNanos;
                 } else {
-                    cancel();
+                    intervalNanos = backoff.nextInterval(checkIntervalNanos, intervalNanos);
                 }
-            } catch (Exception e) {
-                timeoutFuture.cancel(true);
-                throw e;
+                scheduleCheck(backoff.withJitter(intervalNanos));
             }
         }
 
-        public void setTimeoutFuture(ScheduledFuture<?> timeoutFuture) {
+        void setTimeoutFuture(ScheduledFuture<?> timeoutFuture) {
             this.timeoutFuture = timeoutFuture;
+            // if completed before the timeoutFuture has been set
+            if (cancelled) {
+                timeoutFuture.cancel(false);
+            }
         }
 
-        public void setTaskFuture(ScheduledFuture<?> taskFuture) {
-            this.taskFuture = taskFuture;
-        }
-
-        public void cancel() {
+        void cancel() {
             cancelled = true;
-            if (taskFuture != null) {
-                taskFuture.cancel(false);
+            ScheduledFuture<?> check = checkFuture;
+            if (check != null) {
+                check.cancel(false);
             }
-            if (timeoutFuture != null) {
-                timeoutFuture.cancel(true);
+            ScheduledFuture<?> timeout = timeoutFuture;
+            if (timeout != null) {
+                timeout.cancel(false);
             }
         }
     }
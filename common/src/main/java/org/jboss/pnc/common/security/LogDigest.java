@@ -0,0 +1,132 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.security;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the size in UTF-8 bytes, MD5 and SHA-256 of a log in a single pass over its characters, optionally removing
+ * NULL (\0x00) characters on the way. The log is encoded block by block so it is never copied as a whole byte array.
+ */
+public class LogDigest {
+
+    private static final int BLOCK_SIZE = 8192;
+
+    private final String log;
+
+    private final int size;
+
+    private final String md5;
+
+    private final String sha256;
+
+    private LogDigest(String log, int size, String md5, String sha256) {
+        this.log = log;
+        this.size = size;
+        this.md5 = md5;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * @param log the log to digest
+     * @param removeNullCharacters whether NULL characters should be removed from the log before computing the checksums
+     * @return the (sanitized) log together with its size and checksums
+     */
+    public static LogDigest digest(CharSequence log, boolean removeNullCharacters) throws NoSuchAlgorithmException {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(BLOCK_SIZE);
+        ByteBuffer bytes = ByteBuffer.allocate((int) Math.ceil(BLOCK_SIZE * encoder.maxBytesPerChar()));
+
+        // created lazily, only when there is a NULL character to remove
+        StringBuilder sanitized = null;
+        int size = 0;
+        int length = log.length();
+        for (int i = 0; i < length; i++) {
+            char c = log.charAt(i);
+            if (removeNullCharacters && c == '\u0000') {
+                if (sanitized == null) {
+                    sanitized = new StringBuilder(length);
+                    sanitized.append(log, 0, i);
+                }
+                continue;
+            }
+            if (sanitized != null) {
+                sanitized.append(c);
+            }
+            chars.put(c);
+            if (!chars.hasRemaining()) {
+                size += encode(encoder, chars, bytes, false, md5, sha256);
+            }
+        }
+        size += encode(encoder, chars, bytes, true, md5, sha256);
+
+        String result = sanitized != null ? sanitized.toString() : log.toString();
+        return new LogDigest(result, size, CheckSum.format(md5.digest()), CheckSum.format(sha256.digest()));
+    }
+
+    /**
+     * Encodes the buffered characters and updates the digests. Characters that cannot be encoded yet (eg. high surrogate
+     * at the end of the block) are kept in the buffer for the next block.
+     *
+     * @return number of encoded bytes
+     */
+    private static int encode(
+            CharsetEncoder encoder,
+            CharBuffer chars,
+            ByteBuffer bytes,
+            boolean endOfInput,
+            MessageDigest md5,
+            MessageDigest sha256) {
+        chars.flip();
+        bytes.clear();
+        encoder.encode(chars, bytes, endOfInput);
+        if (endOfInput) {
+            encoder.flush(bytes);
+        }
+        chars.compact();
+        md5.update(bytes.array(), 0, bytes.position());
+        sha256.update(bytes.array(), 0, bytes.position());
+        return bytes.position();
+    }
+
+    public String getLog() {
+        return log;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getMd5() {
+        return md5;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+}
@@ -17,7 +17,6 @@
  */
 package org.jboss.pnc.common.graph;
 
-import org.jboss.util.graph.Graph;
 import org.jboss.util.graph.Vertex;
 import org.junit.Assert;
 import org.junit.Test;
@@ -33,7 +32,7 @@ public class GraphUtilsTest {
 
     @Test
     public void shouldMergeGraphs() {
-        Graph graphTarget = new Graph();
+        IndexedGraph<Entry> graphTarget = new IndexedGraph<>();
 
         Entry entry1 = new Entry("1");
         Vertex<Entry> vertex1 = new NameUniqueVertex<>(entry1.name, entry1);
@@ -49,7 +48,7 @@ public class GraphUtilsTest {
         Entry entry3 = new Entry("3");
         Vertex<Entry> vertex3 = new NameUniqueVertex<>(entry3.name, entry3);
         graphTarget.addVertex(vertex3);
-        Graph graphToMerge = new Graph();
+        IndexedGraph<Entry> graphToMerge = new IndexedGraph<>();
         graphToMerge.addVertex(vertex1);
         graphToMerge.addVertex(vertex3);
         graphToMerge.addEdge(vertex1, vertex3, 1);
@@ -57,7 +56,7 @@ public class GraphUtilsTest {
 
         Entry entry4 = new Entry("4");
         Vertex<Entry> vertex4 = new NameUniqueVertex<>(entry4.name, entry4);
-        Graph graphToMerge2 = new Graph();
+        IndexedGraph<Entry> graphToMerge2 = new IndexedGraph<>();
         graphToMerge2.addVertex(vertex2);
         graphToMerge2.addVertex(vertex4);
         graphToMerge2.addEdge(vertex2, vertex4, 1);
@@ -66,7 +65,7 @@ public class GraphUtilsTest {
 
         Entry entry5 = new Entry("5");
         Vertex<Entry> vertex5 = new NameUniqueVertex<>(entry5.name, entry5);
-        Graph graphToMerge3 = new Graph();
+        IndexedGraph<Entry> graphToMerge3 = new IndexedGraph<>();
         graphToMerge3.addVertex(vertex5);
         graphToMerge3.addVertex(vertex2);
         graphToMerge3.addEdge(vertex5, vertex2, 1);
@@ -0,0 +1,56 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.graph;
+
+import org.jboss.util.graph.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedGraphTest {
+
+    @Test
+    public void shouldKeepOneVertexAndEdgePerName() {
+        IndexedGraph<String> graph = new IndexedGraph<>();
+        Vertex<String> vertex1 = new NameUniqueVertex<>("1", "first");
+        Vertex<String> vertex2 = new NameUniqueVertex<>("2", "second");
+
+        Assert.assertTrue(graph.addVertex(vertex1));
+        Assert.assertTrue(graph.addVertex(vertex2));
+        Assert.assertFalse(graph.addVertex(new NameUniqueVertex<>("1", "other")));
+        Assert.assertSame(vertex1, graph.findVertexByName("1"));
+        Assert.assertNull(graph.findVertexByName("3"));
+
+        Assert.assertTrue(graph.addEdge(vertex1, vertex2, 1));
+        Assert.assertFalse(graph.addEdge(vertex1, vertex2, 1));
+        Assert.assertTrue(graph.addEdge(vertex2, vertex1, 1));
+
+        Assert.assertEquals(2, graph.size());
+        Assert.assertEquals(2, graph.getEdges().size());
+        Assert.assertEquals(1, vertex1.getOutgoingEdgeCount());
+        Assert.assertEquals(1, vertex1.getIncomingEdgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddEdgeToUnknownVertex() {
+        IndexedGraph<String> graph = new IndexedGraph<>();
+        Vertex<String> vertex1 = new NameUniqueVertex<>("1", "first");
+        graph.addVertex(vertex1);
+
+        graph.addEdge(vertex1, new NameUniqueVertex<>("2", "second"), 1);
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.jboss.pnc.common.test.monitor;
 
+import org.jboss.pnc.common.monitor.Backoff;
 import org.jboss.pnc.common.monitor.CancellableCompletableFuture;
 import org.jboss.pnc.common.monitor.PollingMonitor;
 import org.junit.AfterClass;
@@ -27,6 +28,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -139,4 +142,66 @@ public class PollingMonitorTest {
         boolean await = lock.await(1, TimeUnit.SECONDS);
         Assert.assertTrue("Did not received the exception.", await);
     }
+
+    @Test
+    public void slowConditionShouldNotDelayOtherMonitors() throws Exception {
+        int slowMonitors = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Boolean> slowCondition = () -> {
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                log.info(e.getMessage());
+            }
+            return true;
+        };
+        for (int i = 0; i < slowMonitors; i++) {
+            pollingMonitor.monitor(slowCondition, 100, 3000, TimeUnit.MILLISECONDS);
+        }
+
+        AtomicInteger polled = new AtomicInteger(0);
+        CancellableCompletableFuture<Void> monitor = pollingMonitor
+                .monitor(() -> polled.incrementAndGet() > 2, 50, 1000, TimeUnit.MILLISECONDS);
+        try {
+            monitor.get(500, TimeUnit.MILLISECONDS);
+        } finally {
+            release.countDown();
+        }
+        Assert.assertEquals(3, polled.get());
+    }
+
+    @Test
+    public void monitorShouldBackOff() throws Exception {
+        List<Long> checks = new CopyOnWriteArrayList<>();
+        Supplier<Boolean> condition = () -> {
+            checks.add(System.nanoTime());
+            return checks.size() > 3;
+        };
+        CancellableCompletableFuture<Void> monitor = pollingMonitor.monitor(
+                condition,
+                50,
+                2000,
+                TimeUnit.MILLISECONDS,
+                Backoff.exponential(2.0, 4, 0.0));
+        monitor.get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(4, checks.size());
+        // intervals of 50, 100 and 200 ms
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(checks.get(1) - checks.get(0)) >= 50);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(checks.get(2) - checks.get(1)) >= 100);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(checks.get(3) - checks.get(2)) >= 200);
+    }
+
+    @Test
+    public void shouldExportMetrics() throws Exception {
+        long checksBefore = pollingMonitor.getMetrics().get("polling-monitor.check.count").longValue();
+
+        CancellableCompletableFuture<Void> monitor = pollingMonitor
+                .monitor(() -> false, 10, 5000, TimeUnit.MILLISECONDS);
+        Thread.sleep(100);
+        Assert.assertTrue(pollingMonitor.getMetrics().get("polling-monitor.active.count").longValue() >= 1);
+
+        monitor.cancel(false);
+        Assert.assertTrue(pollingMonitor.getMetrics().get("polling-monitor.check.count").longValue() > checksBefore);
+    }
 }
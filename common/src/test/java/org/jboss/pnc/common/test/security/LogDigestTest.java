@@ -0,0 +1,90 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.test.security;
+
+import org.jboss.pnc.common.security.LogDigest;
+import org.jboss.pnc.common.security.Md5;
+import org.jboss.pnc.common.security.Sha256;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class LogDigestTest {
+
+    @Test
+    public void shouldMatchSeparateDigests() throws IOException, NoSuchAlgorithmException {
+        String log = "The quick brown fox jumps over the lazy dog.";
+
+        LogDigest digest = LogDigest.digest(log, true);
+
+        Assert.assertSame(log, digest.getLog());
+        Assert.assertEquals(log.getBytes(StandardCharsets.UTF_8).length, digest.getSize());
+        Assert.assertEquals("e4d909c290d0fb1ca068ffaddf22cbd0", digest.getMd5());
+        Assert.assertEquals(Sha256.digest(log), digest.getSha256());
+    }
+
+    @Test
+    public void shouldRemoveNullCharacters() throws IOException, NoSuchAlgorithmException {
+        LogDigest digest = LogDigest.digest(new StringBuilder("\u0000Build\u0000 log\u0000"), true);
+
+        Assert.assertEquals("Build log", digest.getLog());
+        Assert.assertEquals(9, digest.getSize());
+        Assert.assertEquals(Md5.digest("Build log"), digest.getMd5());
+        Assert.assertEquals(Sha256.digest("Build log"), digest.getSha256());
+    }
+
+    @Test
+    public void shouldKeepNullCharactersWhenNotSanitizing() throws NoSuchAlgorithmException {
+        LogDigest digest = LogDigest.digest("Build\u0000log", false);
+
+        Assert.assertEquals("Build\u0000log", digest.getLog());
+        Assert.assertEquals(9, digest.getSize());
+    }
+
+    @Test
+    public void shouldEncodeMultiByteCharactersAcrossBlocks() throws IOException, NoSuchAlgorithmException {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            log.append('a');
+        }
+        // surrogate pair split by the block boundary
+        log.append("\uD83D\uDE00 \u017Elu\u0165ou\u010Dk\u00FD k\u016F\u0148");
+        for (int i = 0; i < 10000; i++) {
+            log.append('b');
+        }
+        byte[] bytes = log.toString().getBytes(StandardCharsets.UTF_8);
+
+        LogDigest digest = LogDigest.digest(log, true);
+
+        Assert.assertEquals(bytes.length, digest.getSize());
+        Assert.assertEquals(hex("MD5", bytes), digest.getMd5());
+        Assert.assertEquals(hex("SHA-256", bytes), digest.getSha256());
+    }
+
+    private static String hex(String algorithm, byte[] bytes) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance(algorithm).digest(bytes)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.enums;
+
+/**
+ * How the total number of hits of a paged collection is computed.
+ */
+public enum PageCountMode {
+    /**
+     * Exact count of the hits, queried with every page.
+     */
+    EXACT,
+    /**
+     * Exact count of the hits, reused for a short time by the following requests for the same collection.
+     */
+    CACHED,
+    /**
+     * Estimate of the number of rows from the database statistics for collections that are not filtered. Filtered
+     * collections are counted as with {@link #CACHED}.
+     */
+    ESTIMATED,
+    /**
+     * The hits are not counted, the page only tells if there are more hits after it. The total hits are reported as -1
+     * and the total pages are reported as the number of pages known so far.
+     */
+    HAS_MORE
+}
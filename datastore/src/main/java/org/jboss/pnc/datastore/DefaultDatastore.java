@@ -20,6 +20,7 @@ package org.jboss.pnc.datastore;
 import org.jboss.pnc.enums.ArtifactQuality;
 import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.model.BuildConfigurationAudited;
@@ -46,6 +47,7 @@ import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -219,6 +221,7 @@ public class DefaultDatastore implements Datastore {
             }
         }
 
+        List<Artifact> newArtifacts = new ArrayList<>();
         for (Artifact artifact : artifacts) {
             // link managed targetRepository
             artifact.setTargetRepository(
@@ -226,14 +229,26 @@ public class DefaultDatastore implements Datastore {
 
             Artifact artifactFromDb;
             if (RepositoryType.GENERIC_PROXY.equals(artifact.getTargetRepository().getRepositoryType())) {
-                artifactFromDb = saveHttpArtifact(artifact);
+                // NONE OF THE ARTIFACTS CAN BE IN THE DB BECAUSE OF PER-BUILD REPOS
+                artifactFromDb = null;
             } else {
-                artifactFromDb = getOrSaveRepositoryArtifact(artifact, artifactCache);
+                artifactFromDb = artifactCache.get(artifact.getIdentifierSha256());
             }
 
-            savedArtifacts.add(artifactFromDb);
+            if (artifactFromDb == null) {
+                logger.trace("Artifact is not in DB. Saving artifact {}.", artifact);
+                // Relation owner (BuildRecord) must be saved first, the relation is saved when the BR is saved
+                artifact.setDependantBuildRecords(Collections.emptySet());
+                newArtifacts.add(artifact);
+            } else {
+                logger.trace("Artifact already present in DB {}", artifactFromDb);
+                savedArtifacts.add(artifactFromDb);
+            }
         }
 
+        logger.debug("Saving {} new artifacts.", newArtifacts.size());
+        savedArtifacts.addAll(artifactRepository.saveAll(newArtifacts));
+
         logger.debug("Artifacts saved: {}.", artifacts);
         return savedArtifacts;
     }
@@ -269,41 +284,6 @@ public class DefaultDatastore implements Datastore {
         }
     }
 
-    private Artifact getOrSaveRepositoryArtifact(
-            Artifact artifact,
-            Map<Artifact.IdentifierSha256, Artifact> artifactCache) {
-        logger.trace("Saving repository artifact {}.", artifact);
-        Artifact artifactFromDb = artifactCache.get(artifact.getIdentifierSha256());
-
-        if (artifactFromDb == null) {
-            logger.trace("Artifact is not in DB. Saving artifact {}.", artifact);
-
-            // Relation owner (BuildRecord) must be saved first, the relation is saved when the BR is saved
-            artifact.setDependantBuildRecords(Collections.emptySet());
-            artifactFromDb = artifactRepository.save(artifact);
-
-            logger.trace("Saved new artifact {}.", artifactFromDb);
-        } else {
-            logger.trace("Artifact already present in DB {}", artifactFromDb);
-        }
-
-        return artifactFromDb;
-    }
-
-    private Artifact saveHttpArtifact(Artifact artifact) {
-        logger.trace("Saving http artifact {}.", artifact);
-        // NONE OF THE ARTIFACTS CAN BE IN THE DB BECAUSE OF PER-BUILD REPOS
-        logger.trace("Artifact is not in DB. Saving artifact {}.", artifact);
-
-        // Relation owner (BuildRecord) must be saved first, the relation is saved when the BR is saved
-        artifact.setDependantBuildRecords(Collections.emptySet());
-        Artifact artifactFromDb = artifactRepository.save(artifact);
-
-        logger.trace("Saved new artifact {}.", artifactFromDb);
-
-        return artifactFromDb;
-    }
-
     @Override
     public User retrieveUserByUsername(String username) {
         return userRepository.queryByPredicates(withUserName(username));
@@ -428,6 +408,102 @@ public class DefaultDatastore implements Datastore {
                 processedDependenciesCache);
     }
 
+    /**
+     * Evaluates the same conditions as the single configuration variant, but the latest successful BuildRecords of the
+     * configurations, of their explicit dependencies and of the builds producing their captured dependencies are
+     * fetched for the whole set at once.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public Set<BuildConfigurationAudited> requiresRebuild(
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds,
+            boolean checkImplicitDependencies,
+            boolean temporaryBuild) {
+        Set<IdRev> idRevs = buildConfigurationAuditeds.stream()
+                .map(BuildConfigurationAudited::getIdRev)
+                .collect(Collectors.toSet());
+        Map<IdRev, BuildRecord> latestByIdRev = buildRecordRepository
+                .getLatestSuccessfulBuildRecords(idRevs, temporaryBuild);
+
+        Set<Integer> configurationIds = new HashSet<>();
+        for (BuildConfigurationAudited buildConfigurationAudited : buildConfigurationAuditeds) {
+            if (latestByIdRev.containsKey(buildConfigurationAudited.getIdRev())) {
+                configurationIds.add(buildConfigurationAudited.getId());
+                buildConfigurationAudited.getBuildConfiguration()
+                        .getDependencies()
+                        .forEach(dependency -> configurationIds.add(dependency.getId()));
+            }
+        }
+        Map<Integer, BuildRecord> latestByConfiguration = buildRecordRepository
+                .getLatestSuccessfulBuildRecordsByConfigurationIds(configurationIds, temporaryBuild);
+
+        Map<Base32LongID, Set<BuildRecord>> dependencyRecords = Collections.emptyMap();
+        Map<IdRev, BuildRecord> latestOfDependencyRecords = Collections.emptyMap();
+        if (checkImplicitDependencies && !latestByIdRev.isEmpty()) {
+            dependencyRecords = buildRecordRepository.findDependencyBuildRecords(
+                    latestByIdRev.values().stream().map(BuildRecord::getId).collect(Collectors.toSet()));
+            Set<IdRev> dependencyIdRevs = dependencyRecords.values()
+                    .stream()
+                    .flatMap(Set::stream)
+                    .map(BuildRecord::getBuildConfigurationAuditedIdRev)
+                    .collect(Collectors.toSet());
+            latestOfDependencyRecords = buildRecordRepository
+                    .getLatestSuccessfulBuildRecords(dependencyIdRevs, temporaryBuild);
+        }
+
+        Set<BuildConfigurationAudited> toRebuild = new HashSet<>();
+        for (BuildConfigurationAudited buildConfigurationAudited : buildConfigurationAuditeds) {
+            IdRev idRev = buildConfigurationAudited.getIdRev();
+            BuildRecord latestSuccessfulBuildRecord = latestByIdRev.get(idRev);
+            if (latestSuccessfulBuildRecord == null) {
+                logger.debug(
+                        "Rebuild of buildConfiguration.idRev: {} required as there is no successful BuildRecord.",
+                        idRev);
+                toRebuild.add(buildConfigurationAudited);
+                continue;
+            }
+            BuildRecord latestOfConfiguration = latestByConfiguration.get(buildConfigurationAudited.getId());
+            if (latestOfConfiguration == null
+                    || !latestOfConfiguration.getBuildConfigurationAuditedIdRev().equals(idRev)) {
+                logger.debug("Last successful BuildRecord is not from this BuildConfigurationAudited idRev {}.", idRev);
+                toRebuild.add(buildConfigurationAudited);
+                continue;
+            }
+            if (checkImplicitDependencies) {
+                Set<BuildRecord> builtFrom = dependencyRecords
+                        .getOrDefault(latestSuccessfulBuildRecord.getId(), Collections.emptySet());
+                Map<IdRev, BuildRecord> latestOfBuiltFrom = latestOfDependencyRecords;
+                boolean rebuild = builtFrom.stream().anyMatch(br -> {
+                    BuildRecord latest = latestOfBuiltFrom.get(br.getBuildConfigurationAuditedIdRev());
+                    return latest == null || !latest.getId().equals(br.getId());
+                });
+                logger.debug(
+                        "Implicit dependency check for rebuild of buildConfiguration.idRev: {} required: {}.",
+                        idRev,
+                        rebuild);
+                if (rebuild) {
+                    toRebuild.add(buildConfigurationAudited);
+                    continue;
+                }
+            }
+            boolean rebuild = buildConfigurationAudited.getBuildConfiguration()
+                    .getDependencies()
+                    .stream()
+                    .map(dependency -> latestByConfiguration.get(dependency.getId()))
+                    .anyMatch(
+                            dependencyRecord -> dependencyRecord == null
+                                    || dependencyRecord.getEndTime().after(latestSuccessfulBuildRecord.getEndTime()));
+            logger.debug(
+                    "Explicit dependency check for rebuild of buildConfiguration.idRev: {} required: {}.",
+                    idRev,
+                    rebuild);
+            if (rebuild) {
+                toRebuild.add(buildConfigurationAudited);
+            }
+        }
+        return toRebuild;
+    }
+
     /**
      * @return true when the latest success {@link BuildRecord} of {@link BuildConfiguration} is build from this
      *         {@link BuildConfigurationAudited} if a build is persistent {@param temporaryBuild} , then it skips
@@ -17,6 +17,10 @@
  */
 package org.jboss.pnc.datastore.repositories;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -35,6 +39,8 @@ import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 @Stateless
 public class ArtifactRepositoryImpl extends AbstractRepository<Artifact, Integer> implements ArtifactRepository {
 
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     @Inject
     public ArtifactRepositoryImpl(ArtifactSpringRepository springArtifactRepository) {
         super(springArtifactRepository, springArtifactRepository);
@@ -46,7 +52,10 @@ public class ArtifactRepositoryImpl extends AbstractRepository<Artifact, Integer
                 .map(Artifact.IdentifierSha256::getSha256)
                 .collect(Collectors.toSet());
 
-        List<Artifact> artifacts = queryWithPredicates(ArtifactPredicates.withSha256In(sha256s));
+        List<Artifact> artifacts = new ArrayList<>();
+        for (Set<String> chunk : chunks(sha256s)) {
+            artifacts.addAll(queryWithPredicates(ArtifactPredicates.withSha256In(chunk)));
+        }
 
         // make sure the identifier matches too
         Set<Artifact> artifactsMatchingIdentifier = artifacts.stream()
@@ -58,4 +67,54 @@ public class ArtifactRepositoryImpl extends AbstractRepository<Artifact, Integer
         return artifactsMatchingIdentifier;
     }
 
+    @Override
+    public List<Artifact> queryByIds(Set<Integer> ids) {
+        List<Artifact> artifacts = new ArrayList<>(ids.size());
+        for (Set<Integer> chunk : chunks(ids)) {
+            artifacts.addAll(queryWithPredicates(ArtifactPredicates.withIds(chunk)));
+        }
+        return artifacts;
+    }
+
+    /**
+     * Splits the values of an IN clause, so that a lookup of tens of thousands of artifacts does not exceed the limit
+     * of the JDBC query parameters.
+     */
+    private static <V> List<Set<V>> chunks(Set<V> values) {
+        if (values.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return Collections.singletonList(values);
+        }
+        List<Set<V>> chunks = new ArrayList<>();
+        Set<V> chunk = new HashSet<>();
+        for (V value : values) {
+            chunk.add(value);
+            if (chunk.size() == IN_CLAUSE_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new HashSet<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * New artifacts are persisted directly, their ids are taken from the pooled sequence and the inserts are sent in
+     * JDBC batches (hibernate.jdbc.batch_size) when the persistence context is flushed.
+     */
+    @Override
+    public List<Artifact> saveAll(Collection<Artifact> artifacts) {
+        List<Artifact> saved = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            if (artifact.getId() == null) {
+                entityManager.persist(artifact);
+                saved.add(artifact);
+            } else {
+                saved.add(entityManager.merge(artifact));
+            }
+        }
+        return saved;
+    }
+
 }
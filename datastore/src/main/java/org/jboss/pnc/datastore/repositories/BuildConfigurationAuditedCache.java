@@ -0,0 +1,283 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.enums.BuildType;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.BuildEnvironment;
+import org.jboss.pnc.model.GenericEntity;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.model.RepositoryConfiguration;
+import org.jboss.pnc.model.User;
+import org.jboss.pnc.model.utils.HibernateMetric;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide, size-bounded LRU cache of {@link BuildConfigurationAudited} keyed by {@link IdRev}. Audited revisions
+ * never change once written, so entries don't have to be invalidated, only evicted when the cache is full.
+ *
+ * The cache doesn't keep any entity loaded by Hibernate. It stores the audited values of the revision and the ids of
+ * the entities it refers to. The referenced entities are not audited, so a revision loaded by Envers refers to their
+ * current state as well. Each caller gets a new {@link BuildConfigurationAudited} whose references are resolved in
+ * the caller's {@link EntityManager}. Nothing the callers do with it is shared with other callers.
+ */
+@ApplicationScoped
+public class BuildConfigurationAuditedCache {
+
+    public static final String STATS_KEY = "pnc.cache.build-configuration-audited";
+
+    static final int MAX_SIZE = 10_000;
+
+    private final int maxSize;
+
+    private final Map<IdRev, Snapshot> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public BuildConfigurationAuditedCache() {
+        this(MAX_SIZE);
+    }
+
+    BuildConfigurationAuditedCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<IdRev, Snapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdRev, Snapshot> eldest) {
+                boolean evict = size() > BuildConfigurationAuditedCache.this.maxSize;
+                if (evict) {
+                    evictionCount.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * @param entityManager entity manager resolving the entities referenced by the revision
+     * @return the cached revision or null if it is not cached
+     */
+    public BuildConfigurationAudited get(IdRev idRev, EntityManager entityManager) {
+        Snapshot cached;
+        synchronized (cache) {
+            cached = cache.get(idRev);
+        }
+        if (cached == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return cached.toAudited(entityManager);
+    }
+
+    /**
+     * @param entityManager entity manager resolving the entities referenced by the revisions
+     * @return the cached revisions; idRevs that are not cached are missing from the result
+     */
+    public Map<IdRev, BuildConfigurationAudited> getAll(Set<IdRev> idRevs, EntityManager entityManager) {
+        Map<IdRev, Snapshot> found = new HashMap<>();
+        synchronized (cache) {
+            for (IdRev idRev : idRevs) {
+                Snapshot cached = cache.get(idRev);
+                if (cached != null) {
+                    found.put(idRev, cached);
+                }
+            }
+        }
+        hitCount.addAndGet(found.size());
+        missCount.addAndGet(idRevs.size() - found.size());
+        Map<IdRev, BuildConfigurationAudited> result = new HashMap<>();
+        found.forEach((idRev, cached) -> result.put(idRev, cached.toAudited(entityManager)));
+        return result;
+    }
+
+    /**
+     * Caches the revision and returns it as if it was read from the cache.
+     *
+     * @param buildConfigurationAudited revision loaded by Envers
+     * @param entityManager entity manager resolving the entities referenced by the revision
+     * @return the cached revision
+     */
+    public BuildConfigurationAudited put(
+            BuildConfigurationAudited buildConfigurationAudited,
+            EntityManager entityManager) {
+        Snapshot stored = new Snapshot(buildConfigurationAudited);
+        synchronized (cache) {
+            cache.put(stored.idRev, stored);
+        }
+        putCount.incrementAndGet();
+        return stored.toAudited(entityManager);
+    }
+
+    /**
+     * @see #put(BuildConfigurationAudited, EntityManager)
+     */
+    public Map<IdRev, BuildConfigurationAudited> putAll(
+            Collection<BuildConfigurationAudited> buildConfigurationAudited,
+            EntityManager entityManager) {
+        Map<IdRev, BuildConfigurationAudited> result = new HashMap<>();
+        for (BuildConfigurationAudited bca : buildConfigurationAudited) {
+            result.put(bca.getIdRev(), put(bca, entityManager));
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Get the cache statistics in the same shape as the Hibernate second-level cache region statistics.
+     */
+    public SortedMap<String, HibernateMetric> getStats() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        double hitRatio = (hits + misses) != 0 ? ((double) hits / (hits + misses) * 100) : -1;
+
+        SortedMap<String, HibernateMetric> stats = new TreeMap<>();
+        stats.put(
+                "cache.element.count.in.memory",
+                new HibernateMetric("elementCountInMemory", "The number of revisions currently cached.", size()));
+        stats.put("cache.max.size", new HibernateMetric("maxSize", "The maximum number of cached revisions.", maxSize));
+        stats.put("cache.hit.count", new HibernateMetric("hitCount", "The number of successful cache look-ups.", hits));
+        stats.put(
+                "cache.miss.count",
+                new HibernateMetric("missCount", "The number of unsuccessful cache look-ups.", misses));
+        stats.put(
+                "cache.hit.ratio",
+                new HibernateMetric(
+                        "hitRatio",
+                        "The ratio of successful cache look-ups.",
+                        String.format("%.2f", hitRatio)));
+        stats.put("cache.put.count", new HibernateMetric("putCount", "The number of cache puts.", putCount.get()));
+        stats.put(
+                "cache.eviction.count",
+                new HibernateMetric(
+                        "evictionCount",
+                        "The number of revisions evicted because the cache was full.",
+                        evictionCount.get()));
+        return stats;
+    }
+
+    private static Integer idOf(GenericEntity<Integer> entity) {
+        return entity == null ? null : entity.getId();
+    }
+
+    private static <T> T reference(EntityManager entityManager, Class<T> type, Integer id) {
+        return id == null ? null : entityManager.getReference(type, id);
+    }
+
+    /**
+     * The audited state of a revision. The dependencies, dependants, product version and description of a build
+     * configuration are not audited and are not part of it.
+     *
+     * The build config sets relation is audited (only the sets themselves are not), but it is not part of the snapshot
+     * either, so the cached revisions have no build config sets. Loading them would cost a query for every revision
+     * put into the cache and none of the revision readers uses them.
+     */
+    private static final class Snapshot {
+
+        private final IdRev idRev;
+        private final String name;
+        private final String buildScript;
+        private final String scmRevision;
+        private final BuildType buildType;
+        private final Date creationTime;
+        private final Date lastModificationTime;
+        private final Boolean active;
+        private final Map<String, String> genericParameters;
+        private final String defaultAlignmentParams;
+        private final boolean brewPullActive;
+        private final Integer repositoryConfigurationId;
+        private final Integer projectId;
+        private final Integer buildEnvironmentId;
+        private final Integer creationUserId;
+        private final Integer lastModificationUserId;
+
+        private Snapshot(BuildConfigurationAudited buildConfigurationAudited) {
+            BuildConfiguration bc = buildConfigurationAudited.getBuildConfiguration();
+            idRev = buildConfigurationAudited.getIdRev();
+            name = bc.getName();
+            buildScript = bc.getBuildScript();
+            scmRevision = bc.getScmRevision();
+            buildType = bc.getBuildType();
+            creationTime = copyOf(bc.getCreationTime());
+            lastModificationTime = copyOf(bc.getLastModificationTime());
+            active = bc.getActive();
+            genericParameters = bc.getGenericParameters() == null ? Collections.emptyMap()
+                    : Collections.unmodifiableMap(new HashMap<>(bc.getGenericParameters()));
+            defaultAlignmentParams = bc.getDefaultAlignmentParams();
+            brewPullActive = bc.isBrewPullActive();
+            repositoryConfigurationId = idOf(bc.getRepositoryConfiguration());
+            projectId = idOf(bc.getProject());
+            buildEnvironmentId = idOf(bc.getBuildEnvironment());
+            creationUserId = idOf(bc.getCreationUser());
+            lastModificationUserId = idOf(bc.getLastModificationUser());
+        }
+
+        private BuildConfigurationAudited toAudited(EntityManager entityManager) {
+            BuildConfiguration bc = new BuildConfiguration();
+            bc.setId(idRev.getId());
+            bc.setName(name);
+            bc.setBuildScript(buildScript);
+            bc.setScmRevision(scmRevision);
+            bc.setBuildType(buildType);
+            bc.setCreationTime(copyOf(creationTime));
+            bc.setLastModificationTime(copyOf(lastModificationTime));
+            bc.setActive(active);
+            bc.setGenericParameters(new HashMap<>(genericParameters));
+            bc.setDefaultAlignmentParams(defaultAlignmentParams);
+            bc.setBrewPullActive(brewPullActive);
+            bc.setRepositoryConfiguration(
+                    reference(entityManager, RepositoryConfiguration.class, repositoryConfigurationId));
+            bc.setProject(reference(entityManager, Project.class, projectId));
+            bc.setBuildEnvironment(reference(entityManager, BuildEnvironment.class, buildEnvironmentId));
+            bc.setCreationUser(reference(entityManager, User.class, creationUserId));
+            bc.setLastModificationUser(reference(entityManager, User.class, lastModificationUserId));
+            return BuildConfigurationAudited.fromBuildConfiguration(bc, idRev.getRev());
+        }
+
+        private static Date copyOf(Date date) {
+            return date == null ? null : new Date(date.getTime());
+        }
+    }
+}
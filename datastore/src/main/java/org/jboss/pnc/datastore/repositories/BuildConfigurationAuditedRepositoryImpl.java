@@ -39,6 +39,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,8 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
 
     BuildRecordRepository buildRecordRepository;
 
+    BuildConfigurationAuditedCache cache;
+
     @Deprecated // CDI workaround
     public BuildConfigurationAuditedRepositoryImpl() {
     }
@@ -60,9 +63,11 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
     @Inject
     public BuildConfigurationAuditedRepositoryImpl(
             EntityManager entityManager,
-            BuildRecordRepository buildRecordRepository) {
+            BuildRecordRepository buildRecordRepository,
+            BuildConfigurationAuditedCache cache) {
         this.entityManager = entityManager;
         this.buildRecordRepository = buildRecordRepository;
+        this.cache = cache;
     }
 
     @Override
@@ -107,6 +112,11 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
 
     @Override
     public BuildConfigurationAudited queryById(IdRev idRev) {
+        BuildConfigurationAudited cached = cache.get(idRev, entityManager);
+        if (cached != null) {
+            return cached;
+        }
+
         logger.trace("Querying for BuildConfigurationAudited.idRev: {}.", idRev);
         BuildConfiguration buildConfiguration = AuditReaderFactory.get(entityManager)
                 .find(BuildConfiguration.class, idRev.getId(), idRev.getRev());
@@ -118,16 +128,33 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
         // preload generic parameters
         buildConfiguration.getGenericParameters().forEach((k, v) -> k.equals(null));
 
-        return BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, idRev.getRev());
+        // return the cached snapshot, so that the result doesn't depend on whether it was cached before
+        return cache.put(
+                BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, idRev.getRev()),
+                entityManager);
     }
 
     @Override
     public Map<IdRev, BuildConfigurationAudited> queryById(Set<IdRev> idRevs) {
+        Map<IdRev, BuildConfigurationAudited> cached = cache.getAll(idRevs, entityManager);
+        if (cached.size() == idRevs.size()) {
+            return cached;
+        }
+
+        Set<IdRev> missing = idRevs.stream().filter(idRev -> !cached.containsKey(idRev)).collect(Collectors.toSet());
+        Map<IdRev, BuildConfigurationAudited> queried = cache.putAll(queryByIdFromDb(missing).values(), entityManager);
+
+        Map<IdRev, BuildConfigurationAudited> result = new HashMap<>(cached);
+        result.putAll(queried);
+        return result;
+    }
+
+    private Map<IdRev, BuildConfigurationAudited> queryByIdFromDb(Set<IdRev> idRevs) {
         logger.trace("Querying for BuildConfigurationAudited.idRevs: {}.", idRevs);
 
-        List<String> idRevConcatenated = idRevs.stream()
+        Set<String> idRevConcatenated = idRevs.stream()
                 .map(idRev -> idRev.getId() + "-" + idRev.getRev())
-                .collect(Collectors.toList());
+                .collect(Collectors.toSet());
 
         // WORKAROUND: as I cannot concatenate AuditEntity property to match
         // `AuditEntity.property("id")-AuditEntity.property("rev")` in idRevConcatenated list
@@ -17,10 +17,12 @@
  */
 package org.jboss.pnc.datastore.repositories;
 
+import org.hibernate.Session;
 import org.jboss.pnc.datastore.repositories.internal.AbstractRepository;
 import org.jboss.pnc.datastore.repositories.internal.BuildRecordSpringRepository;
 import org.jboss.pnc.datastore.repositories.internal.PageableMapper;
 import org.jboss.pnc.datastore.repositories.internal.SpecificationsMapper;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildRecord;
@@ -35,14 +37,26 @@ import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultPageInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultSortInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
+import javax.persistence.EntityManager;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.buildFinishedBefore;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.includeTemporary;
@@ -62,6 +76,7 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
 
     private BuildRecordSpringRepository repository;
     private BuildConfigurationAuditedRepository buildConfigurationAuditedRepository;
+    private EntityManager entityManager;
 
     /**
      * @deprecated Created for CDI.
@@ -74,10 +89,12 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
     @Inject
     public BuildRecordRepositoryImpl(
             BuildRecordSpringRepository buildRecordSpringRepository,
-            BuildConfigurationAuditedRepository buildConfigurationAuditedRepository) {
+            BuildConfigurationAuditedRepository buildConfigurationAuditedRepository,
+            EntityManager entityManager) {
         super(buildRecordSpringRepository, buildRecordSpringRepository);
         this.repository = buildRecordSpringRepository;
         this.buildConfigurationAuditedRepository = buildConfigurationAuditedRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -105,15 +122,6 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
         buildRecord.setBuildConfigurationAudited(buildConfigurationAudited);
     }
 
-    @Override
-    public List<BuildRecord> queryWithPredicatesUsingCursor(
-            PageInfo pageInfo,
-            SortInfo sortInfo,
-            Predicate<BuildRecord>... predicates) {
-        return repository.findAll(SpecificationsMapper.map(predicates), PageableMapper.mapCursored(pageInfo, sortInfo))
-                .getContent();
-    }
-
     @Override
     public List<BuildRecord> queryWithPredicatesUsingCursor(
             PageInfo pageInfo,
@@ -127,10 +135,30 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
                 .getContent();
     }
 
+    /**
+     * Same semantics as {@link BuildRecordRepository#getLatestSuccessfulBuildRecord(List, boolean)}, evaluated by the
+     * database so that only the winning record is loaded.
+     */
     @Override
     public BuildRecord getLatestSuccessfulBuildRecord(Integer configurationId, boolean temporaryBuild) {
-        List<BuildRecord> buildRecords = queryWithBuildConfigurationId(configurationId);
-        return getLatestSuccessfulBuildRecord(buildRecords, temporaryBuild);
+        if (temporaryBuild) {
+            BuildRecord latestTemporary = findLatestSuccessful(configurationId, true);
+            // NCL-5192
+            // Exclude persistent builds if you are building temporary and there are some temporary builds built
+            if (latestTemporary != null || repository.countTemporaryByConfigurationId(configurationId) > 0) {
+                return latestTemporary;
+            }
+        }
+        return findLatestSuccessful(configurationId, false);
+    }
+
+    private BuildRecord findLatestSuccessful(Integer configurationId, boolean temporaryBuild) {
+        List<BuildRecord> buildRecords = repository.findLatestByConfigurationId(
+                configurationId,
+                BuildStatus.SUCCESS,
+                temporaryBuild,
+                new PageRequest(0, 1));
+        return buildRecords.isEmpty() ? null : buildRecords.get(0);
     }
 
     @Override
@@ -178,16 +206,181 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
                 : repository.findByBuiltArtifacts(artifactsId);
     }
 
+    @Override
+    public Map<IdRev, BuildRecord> getLatestSuccessfulBuildRecords(Set<IdRev> idRevs, boolean temporaryBuild) {
+        if (idRevs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Integer> configurationIds = idRevs.stream().map(IdRev::getId).collect(Collectors.toSet());
+
+        // [idRev -> latest id] separately for temporary and persistent builds
+        Map<IdRev, Long> latestTemporary = new HashMap<>();
+        Map<IdRev, Long> latestPersistent = new HashMap<>();
+        for (Object[] row : repository.getLatestBuildRecordIdsPerRevision(configurationIds, BuildStatus.SUCCESS)) {
+            IdRev idRev = new IdRev((Integer) row[0], (Integer) row[1]);
+            if (idRevs.contains(idRev)) {
+                ((Boolean) row[2] ? latestTemporary : latestPersistent).put(idRev, (Long) row[3]);
+            }
+        }
+
+        // see BuildRecordPredicates#includeTemporary
+        Map<Base32LongID, IdRev> winners = new HashMap<>();
+        for (IdRev idRev : idRevs) {
+            Long winner = temporaryBuild && latestTemporary.containsKey(idRev) ? latestTemporary.get(idRev)
+                    : latestPersistent.get(idRev);
+            if (winner != null) {
+                winners.put(new Base32LongID(winner), idRev);
+            }
+        }
+        if (winners.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<IdRev, BuildRecord> result = new HashMap<>();
+        for (BuildRecord buildRecord : repository.findAll(winners.keySet())) {
+            result.put(winners.get(buildRecord.getId()), buildRecord);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Integer, BuildRecord> getLatestSuccessfulBuildRecordsByConfigurationIds(
+            Set<Integer> configurationIds,
+            boolean temporaryBuild) {
+        if (configurationIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Integer> containsTemporary = new HashSet<>();
+        Map<Integer, Date> latestTemporary = new HashMap<>();
+        Map<Integer, Date> latestPersistent = new HashMap<>();
+        for (Object[] row : repository.getLatestSubmitTimesPerConfiguration(configurationIds)) {
+            Integer configurationId = (Integer) row[0];
+            boolean temporary = (Boolean) row[1];
+            if (temporary) {
+                containsTemporary.add(configurationId);
+            }
+            if (row[2] == BuildStatus.SUCCESS) {
+                (temporary ? latestTemporary : latestPersistent).put(configurationId, (Date) row[3]);
+            }
+        }
+
+        // same semantics as BuildRecordRepository#getLatestSuccessfulBuildRecord(List, boolean) (NCL-5192)
+        Map<Integer, Date> winners = new HashMap<>();
+        for (Integer configurationId : configurationIds) {
+            Date winner = temporaryBuild && containsTemporary.contains(configurationId)
+                    ? latestTemporary.get(configurationId)
+                    : latestPersistent.get(configurationId);
+            if (winner != null) {
+                winners.put(configurationId, winner);
+            }
+        }
+        if (winners.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, BuildRecord> result = new HashMap<>();
+        List<BuildRecord> candidates = repository.findByConfigurationIdsAndSubmitTimes(
+                winners.keySet(),
+                new HashSet<>(winners.values()),
+                BuildStatus.SUCCESS);
+        for (BuildRecord buildRecord : candidates) {
+            Integer configurationId = buildRecord.getBuildConfigurationId();
+            boolean temporaryAllowed = temporaryBuild && containsTemporary.contains(configurationId);
+            if (buildRecord.isTemporaryBuild() == temporaryAllowed
+                    && buildRecord.getSubmitTime().getTime() == winners.get(configurationId).getTime()) {
+                result.put(configurationId, buildRecord);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Base32LongID, Set<BuildRecord>> findDependencyBuildRecords(Set<Base32LongID> buildRecordIds) {
+        if (buildRecordIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Long> ids = buildRecordIds.stream().map(Base32LongID::getLongId).collect(Collectors.toSet());
+        Map<Base32LongID, Set<BuildRecord>> result = new HashMap<>();
+        for (Object[] row : repository.findDependencyBuildRecords(ids)) {
+            result.computeIfAbsent(new Base32LongID((Long) row[0]), k -> new HashSet<>()).add((BuildRecord) row[1]);
+        }
+        return result;
+    }
+
     @Override
     public List<BuildRecord> getBuildByCausingRecord(Base32LongID causingRecordId) {
         return queryWithPredicates(withCausingBuildRecordId(causingRecordId));
     }
 
+    @Override
+    public Integer getBuildLogLength(Base32LongID id) {
+        return repository.getBuildLogLength(id);
+    }
+
+    @Override
+    public void writeBuildLog(Base32LongID id, Writer writer) throws IOException {
+        writeLog("buildlog", id, writer);
+    }
+
+    @Override
+    public Integer getRepourLogLength(Base32LongID id) {
+        return repository.getRepourLogLength(id);
+    }
+
+    @Override
+    public void writeRepourLog(Base32LongID id, Writer writer) throws IOException {
+        writeLog("repourlog", id, writer);
+    }
+
+    private void writeLog(String column, Base32LongID id, Writer writer) throws IOException {
+        try {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                String query = "SELECT " + column + " FROM buildrecord WHERE id = ?";
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    preparedStatement.setLong(1, id.getLongId());
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (!resultSet.next()) {
+                            return;
+                        }
+                        // the column is read once as the writer consumes it instead of being loaded as a whole
+                        try (Reader reader = resultSet.getCharacterStream(1)) {
+                            if (reader == null) {
+                                return;
+                            }
+                            char[] buffer = new char[8192];
+                            int read;
+                            while ((read = reader.read(buffer)) != -1) {
+                                writer.write(buffer, 0, read);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     @Override
     public List<Object[]> getAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime, int pageSize, int offset) {
         return repository.getAllBuildRecordInsightsNewerThanTimestamp(lastupdatetime, pageSize, offset);
     }
 
+    @Override
+    public List<Object[]> getAllBuildRecordInsightsNewerThanTimestampAfter(
+            Date lastupdatetime,
+            Date afterLastupdatetime,
+            long afterBuildRecordId,
+            int pageSize) {
+        return repository.getAllBuildRecordInsightsNewerThanTimestampAfter(
+                lastupdatetime,
+                afterLastupdatetime,
+                afterBuildRecordId,
+                pageSize);
+    }
+
     @Override
     public int countAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime) {
         return repository.countAllBuildRecordInsightsNewerThanTimestamp(lastupdatetime);
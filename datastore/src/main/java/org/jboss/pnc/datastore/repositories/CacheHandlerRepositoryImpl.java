@@ -39,9 +39,14 @@ public class CacheHandlerRepositoryImpl implements CacheHandlerRepository {
 
     private EntityManager entityManager;
 
+    private BuildConfigurationAuditedCache buildConfigurationAuditedCache;
+
     @Inject
-    public CacheHandlerRepositoryImpl(EntityManager entityManager) {
+    public CacheHandlerRepositoryImpl(
+            EntityManager entityManager,
+            BuildConfigurationAuditedCache buildConfigurationAuditedCache) {
         this.entityManager = entityManager;
+        this.buildConfigurationAuditedCache = buildConfigurationAuditedCache;
     }
 
     @Override
@@ -55,7 +60,10 @@ public class CacheHandlerRepositoryImpl implements CacheHandlerRepository {
     public SortedMap<String, Map<String, HibernateMetric>> getSecondLevelCacheRegionsStats() {
         SessionFactory sessionFactory = ((Session) entityManager.getDelegate()).getSessionFactory();
         Statistics statistics = sessionFactory.getStatistics();
-        return HibernateStatsUtils.getSecondLevelCacheRegionsStats(statistics);
+        SortedMap<String, Map<String, HibernateMetric>> regionsStats = HibernateStatsUtils
+                .getSecondLevelCacheRegionsStats(statistics);
+        regionsStats.put(BuildConfigurationAuditedCache.STATS_KEY, buildConfigurationAuditedCache.getStats());
+        return regionsStats;
     }
 
     @Override
@@ -75,6 +83,7 @@ public class CacheHandlerRepositoryImpl implements CacheHandlerRepository {
     @Override
     public void clearCache() {
         entityManager.getEntityManagerFactory().getCache().evictAll();
+        buildConfigurationAuditedCache.clear();
     }
 
 }
@@ -0,0 +1,95 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.jboss.pnc.model.GenericEntity;
+import org.jboss.pnc.spi.datastore.repositories.TableStatisticsRepository;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.OptionalLong;
+
+@Stateless
+public class TableStatisticsRepositoryImpl implements TableStatisticsRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String ESTIMATE_QUERY = "SELECT reltuples FROM pg_class WHERE relname = ? AND relkind = 'r'";
+
+    private EntityManager entityManager;
+
+    public TableStatisticsRepositoryImpl() {
+    }
+
+    @Inject
+    public TableStatisticsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public OptionalLong estimateRowCount(Class<? extends GenericEntity<?>> entityType) {
+        String tableName = getTableName(entityType);
+        if (tableName == null) {
+            return OptionalLong.empty();
+        }
+
+        ReturningWork<OptionalLong> work = connection -> {
+            // pg_class is PostgreSQL specific, other databases (eg. H2 in tests) are counted exactly
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                return OptionalLong.empty();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(ESTIMATE_QUERY)) {
+                preparedStatement.setString(1, tableName);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return OptionalLong.empty();
+                    }
+                    // reltuples is -1 (or 0 before PostgreSQL 14) until the table is analyzed for the first time
+                    long estimate = (long) resultSet.getFloat(1);
+                    return estimate > 0 ? OptionalLong.of(estimate) : OptionalLong.empty();
+                }
+            }
+        };
+        return entityManager.unwrap(Session.class).doReturningWork(work);
+    }
+
+    private String getTableName(Class<? extends GenericEntity<?>> entityType) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMetamodel().entityPersister(entityType);
+        if (!(persister instanceof AbstractEntityPersister)) {
+            return null;
+        }
+        String tableName = ((AbstractEntityPersister) persister).getTableName();
+        // strip the schema and the quoting, unquoted names are stored in lower case
+        tableName = tableName.substring(tableName.lastIndexOf('.') + 1);
+        if (tableName.startsWith("\"") && tableName.endsWith("\"")) {
+            return tableName.substring(1, tableName.length() - 1);
+        }
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -118,6 +118,13 @@ public class AbstractRepository<T extends GenericEntity<ID>, ID extends Serializ
                 .getContent();
     }
 
+    @Override
+    public List<T> queryWithPredicatesUsingCursor(PageInfo pageInfo, SortInfo sortInfo, Predicate<T>... predicates) {
+        return springSpecificationsExecutor
+                .findAll(SpecificationsMapper.map(predicates), PageableMapper.mapCursored(pageInfo, sortInfo))
+                .getContent();
+    }
+
     /**
      * @see Repository#cascadeUpdates) for full docs
      * 
@@ -17,8 +17,10 @@
  */
 package org.jboss.pnc.datastore.repositories.internal;
 
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -37,6 +39,17 @@ public interface BuildRecordSpringRepository
             + " WHERE br.buildConfigurationId = brr.buildConfigurationId) AND br.buildConfigurationId IN ?1")
     List<BuildRecord> getLatestBuildsByBuildConfigIds(List<Integer> configIds);
 
+    @Query("SELECT br FROM BuildRecord br WHERE br.buildConfigurationId = ?1 AND br.status = ?2"
+            + " AND br.temporaryBuild = ?3 ORDER BY br.submitTime DESC")
+    List<BuildRecord> findLatestByConfigurationId(
+            Integer configurationId,
+            BuildStatus status,
+            boolean temporaryBuild,
+            Pageable pageable);
+
+    @Query("SELECT count(br) FROM BuildRecord br WHERE br.buildConfigurationId = ?1 AND br.temporaryBuild = true")
+    long countTemporaryByConfigurationId(Integer configurationId);
+
     @Query("select br from BuildRecord br fetch all properties where br.id = ?1")
     BuildRecord findByIdFetchAllProperties(Base32LongID id);
 
@@ -48,6 +61,32 @@ public interface BuildRecordSpringRepository
             + "WHERE builtArtifacts.id IN (?1)")
     Set<BuildRecord> findByBuiltArtifacts(Set<Integer> dependenciesIds);
 
+    @Query("SELECT br.buildConfigurationId, br.buildConfigurationRev, br.temporaryBuild, max(br.id.id)"
+            + " FROM BuildRecord br WHERE br.status = ?2 AND br.buildConfigurationId IN ?1"
+            + " GROUP BY br.buildConfigurationId, br.buildConfigurationRev, br.temporaryBuild")
+    List<Object[]> getLatestBuildRecordIdsPerRevision(Set<Integer> configurationIds, BuildStatus status);
+
+    @Query("SELECT br.buildConfigurationId, br.temporaryBuild, br.status, max(br.submitTime) FROM BuildRecord br"
+            + " WHERE br.buildConfigurationId IN ?1 GROUP BY br.buildConfigurationId, br.temporaryBuild, br.status")
+    List<Object[]> getLatestSubmitTimesPerConfiguration(Set<Integer> configurationIds);
+
+    @Query("SELECT br FROM BuildRecord br WHERE br.status = ?3 AND br.buildConfigurationId IN ?1"
+            + " AND br.submitTime IN ?2")
+    List<BuildRecord> findByConfigurationIdsAndSubmitTimes(
+            Set<Integer> configurationIds,
+            Set<Date> submitTimes,
+            BuildStatus status);
+
+    @Query("SELECT DISTINCT br.id.id, producer FROM BuildRecord br JOIN br.dependencies dependency"
+            + " JOIN dependency.buildRecord producer WHERE br.id.id IN ?1")
+    List<Object[]> findDependencyBuildRecords(Set<Long> buildRecordIds);
+
+    @Query("SELECT length(br.buildLog) FROM BuildRecord br WHERE br.id = ?1")
+    Integer getBuildLogLength(Base32LongID id);
+
+    @Query("SELECT length(br.repourLog) FROM BuildRecord br WHERE br.id = ?1")
+    Integer getRepourLogLength(Base32LongID id);
+
     @Query(
             value = "SELECT buildrecord_id, buildcontentid, submittime, starttime, endtime, lastupdatetime,"
                     + " submit_year, submit_month, submit_quarter,"
@@ -57,10 +96,28 @@ public interface BuildRecordSpringRepository
                     + " buildconfigsetrecord_id, productmilestone_id, productmilestone_version,"
                     + " project_id, project_name, productversion_id, product_version, product_id, product_name"
                     + " FROM _archived_buildrecords WHERE lastupdatetime >= ?1 "
-                    + " ORDER BY lastupdatetime ASC LIMIT ?2 OFFSET ?3",
+                    + " ORDER BY lastupdatetime ASC, buildrecord_id ASC LIMIT ?2 OFFSET ?3",
             nativeQuery = true)
     List<Object[]> getAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime, int pageSize, int offset);
 
+    @Query(
+            value = "SELECT buildrecord_id, buildcontentid, submittime, starttime, endtime, lastupdatetime,"
+                    + " submit_year, submit_month, submit_quarter,"
+                    + " status, temporarybuild, autoalign, brewpullactive, buildtype,"
+                    + " executionrootname, executionrootversion, user_id, username,"
+                    + " buildconfiguration_id, buildconfiguration_rev, buildconfiguration_name,"
+                    + " buildconfigsetrecord_id, productmilestone_id, productmilestone_version,"
+                    + " project_id, project_name, productversion_id, product_version, product_id, product_name"
+                    + " FROM _archived_buildrecords WHERE lastupdatetime >= ?1 "
+                    + " AND (lastupdatetime > ?2 OR (lastupdatetime = ?2 AND buildrecord_id > ?3))"
+                    + " ORDER BY lastupdatetime ASC, buildrecord_id ASC LIMIT ?4",
+            nativeQuery = true)
+    List<Object[]> getAllBuildRecordInsightsNewerThanTimestampAfter(
+            Date lastupdatetime,
+            Date afterLastupdatetime,
+            long afterBuildRecordId,
+            int pageSize);
+
     @Query(
             value = "SELECT COUNT(DISTINCT buildrecord_id) "
                     + " FROM _archived_buildrecords WHERE lastupdatetime >= ?1 ",
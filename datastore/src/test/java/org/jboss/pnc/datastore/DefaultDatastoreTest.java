@@ -0,0 +1,170 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore;
+
+import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultDatastoreTest {
+
+    private final BuildRecordRepository buildRecordRepository = mock(BuildRecordRepository.class);
+
+    private DefaultDatastore datastore;
+
+    private BuildConfiguration dependency;
+
+    private BuildConfigurationAudited dependant;
+
+    @Before
+    public void setUp() {
+        datastore = new DefaultDatastore(null, buildRecordRepository, null, null, null, null, null);
+        dependency = BuildConfiguration.Builder.newBuilder().id(2).name("dependency").build();
+        BuildConfiguration configuration = BuildConfiguration.Builder.newBuilder()
+                .id(1)
+                .name("dependant")
+                .dependency(dependency)
+                .build();
+        dependant = BuildConfigurationAudited.fromBuildConfiguration(configuration, 10);
+    }
+
+    @Test
+    public void shouldRebuildWithoutPreviousBuild() {
+        Set<BuildConfigurationAudited> toRebuild = datastore
+                .requiresRebuild(Collections.singleton(dependant), false, false);
+
+        assertThat(toRebuild).containsExactly(dependant);
+    }
+
+    @Test
+    public void shouldRebuildWhenDependencyWasBuiltLater() {
+        BuildRecord previous = buildRecord(100, 1, 10, 1000, false);
+        latestByIdRev(false, previous);
+        latestByConfiguration(false, previous, buildRecord(101, 2, 20, 2000, false));
+
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), false, false))
+                .containsExactly(dependant);
+    }
+
+    @Test
+    public void shouldNotRebuildWhenDependencyWasBuiltBefore() {
+        BuildRecord previous = buildRecord(100, 1, 10, 2000, false);
+        latestByIdRev(false, previous);
+        latestByConfiguration(false, previous, buildRecord(101, 2, 20, 1000, false));
+
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), false, false)).isEmpty();
+    }
+
+    @Test
+    public void shouldEvaluateTemporaryAndPersistentBuildsSeparately() {
+        BuildRecord persistent = buildRecord(100, 1, 10, 2000, false);
+        BuildRecord dependencyBuild = buildRecord(101, 2, 20, 1000, false);
+        // a temporary build of a newer revision is the latest build only when building temporarily
+        BuildRecord temporary = buildRecord(102, 1, 11, 3000, true);
+        latestByIdRev(false, persistent);
+        latestByIdRev(true, persistent);
+        latestByConfiguration(false, persistent, dependencyBuild);
+        latestByConfiguration(true, temporary, dependencyBuild);
+
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), false, false)).isEmpty();
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), false, true))
+                .containsExactly(dependant);
+    }
+
+    @Test
+    public void shouldRebuildWhenImplicitDependencyRequiresRebuild() {
+        BuildRecord previous = buildRecord(100, 1, 10, 2000, false);
+        BuildRecord usedDependency = buildRecord(200, 5, 50, 1000, false);
+        latestByIdRev(false, previous);
+        latestByConfiguration(false, previous, buildRecord(101, 2, 20, 1000, false));
+        when(buildRecordRepository.findDependencyBuildRecords(Collections.singleton(previous.getId())))
+                .thenReturn(Collections.singletonMap(previous.getId(), Collections.singleton(usedDependency)));
+        // the captured dependency was rebuilt since
+        BuildRecord rebuiltDependency = buildRecord(201, 5, 50, 1500, false);
+        when(
+                buildRecordRepository.getLatestSuccessfulBuildRecords(
+                        Collections.singleton(new IdRev(5, 50)),
+                        false))
+                .thenReturn(Collections.singletonMap(new IdRev(5, 50), rebuiltDependency));
+
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), true, false))
+                .containsExactly(dependant);
+        // implicit dependencies are not checked unless requested
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), false, false)).isEmpty();
+    }
+
+    @Test
+    public void shouldNotRebuildWhenImplicitDependencyIsLatest() {
+        BuildRecord previous = buildRecord(100, 1, 10, 2000, false);
+        BuildRecord usedDependency = buildRecord(200, 5, 50, 1000, false);
+        latestByIdRev(false, previous);
+        latestByConfiguration(false, previous, buildRecord(101, 2, 20, 1000, false));
+        when(buildRecordRepository.findDependencyBuildRecords(Collections.singleton(previous.getId())))
+                .thenReturn(Collections.singletonMap(previous.getId(), Collections.singleton(usedDependency)));
+        when(
+                buildRecordRepository.getLatestSuccessfulBuildRecords(
+                        Collections.singleton(new IdRev(5, 50)),
+                        false))
+                .thenReturn(Collections.singletonMap(new IdRev(5, 50), usedDependency));
+
+        assertThat(datastore.requiresRebuild(Collections.singleton(dependant), true, false)).isEmpty();
+    }
+
+    private void latestByIdRev(boolean temporaryBuild, BuildRecord buildRecord) {
+        when(
+                buildRecordRepository.getLatestSuccessfulBuildRecords(
+                        Collections.singleton(dependant.getIdRev()),
+                        temporaryBuild))
+                .thenReturn(Collections.singletonMap(dependant.getIdRev(), buildRecord));
+    }
+
+    private void latestByConfiguration(boolean temporaryBuild, BuildRecord latest, BuildRecord latestOfDependency) {
+        Map<Integer, BuildRecord> latestByConfiguration = new HashMap<>();
+        latestByConfiguration.put(dependant.getId(), latest);
+        latestByConfiguration.put(dependency.getId(), latestOfDependency);
+        when(buildRecordRepository.getLatestSuccessfulBuildRecordsByConfigurationIds(anySet(), eq(temporaryBuild)))
+                .thenReturn(latestByConfiguration);
+    }
+
+    private static BuildRecord buildRecord(long id, int configurationId, int rev, long endTime, boolean temporary) {
+        return BuildRecord.Builder.newBuilder()
+                .id(new Base32LongID(id))
+                .buildConfigurationAuditedId(configurationId)
+                .buildConfigurationAuditedRev(rev)
+                .endTime(new Date(endTime))
+                .temporaryBuild(temporary)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.Project;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BuildConfigurationAuditedCacheTest {
+
+    @Test
+    public void shouldNotShareCachedRevisionBetweenCallers() {
+        // given
+        BuildConfigurationAuditedCache cache = new BuildConfigurationAuditedCache();
+        BuildConfigurationAudited bca = bca(1, 10);
+        bca.getBuildConfiguration().setProject(project(100));
+        bca.getBuildConfiguration().getGenericParameters().put("key", "value");
+        EntityManager loadingEntityManager = entityManager(project(100));
+        EntityManager otherEntityManager = entityManager(project(100));
+        BuildConfigurationAudited stored = cache.put(bca, loadingEntityManager);
+
+        // when
+        BuildConfigurationAudited cached = cache.get(new IdRev(1, 10), otherEntityManager);
+        cached.setName("modified");
+        cached.getGenericParameters().put("key", "modified");
+
+        // then
+        assertThat(stored.getBuildConfiguration()).isNotSameAs(bca.getBuildConfiguration());
+        assertThat(stored.getProject()).isSameAs(loadingEntityManager.getReference(Project.class, 100));
+        assertThat(cached.getBuildConfiguration()).isNotSameAs(stored.getBuildConfiguration());
+        assertThat(cached.getProject()).isSameAs(otherEntityManager.getReference(Project.class, 100));
+        BuildConfigurationAudited cachedAgain = cache.get(new IdRev(1, 10), otherEntityManager);
+        assertThat(cachedAgain.getName()).isEqualTo("bc-1");
+        assertThat(cachedAgain.getGenericParameters()).containsEntry("key", "value");
+        assertThat(cache.get(new IdRev(1, 11), otherEntityManager)).isNull();
+        assertThat(cache.getStats().get("cache.hit.count").getValue()).isEqualTo("2.0");
+        assertThat(cache.getStats().get("cache.miss.count").getValue()).isEqualTo("1.0");
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRevision() {
+        // given
+        EntityManager entityManager = mock(EntityManager.class);
+        BuildConfigurationAuditedCache cache = new BuildConfigurationAuditedCache(2);
+        cache.put(bca(1, 10), entityManager);
+        cache.put(bca(2, 20), entityManager);
+        cache.get(new IdRev(1, 10), entityManager);
+
+        // when
+        cache.put(bca(3, 30), entityManager);
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        Map<IdRev, BuildConfigurationAudited> cached = cache.getAll(
+                new HashSet<>(Arrays.asList(new IdRev(1, 10), new IdRev(2, 20), new IdRev(3, 30))),
+                entityManager);
+        assertThat(cached).containsOnlyKeys(new IdRev(1, 10), new IdRev(3, 30));
+        assertThat(cache.getStats().get("cache.eviction.count").getValue()).isEqualTo("1.0");
+    }
+
+    private static BuildConfigurationAudited bca(int id, int rev) {
+        BuildConfiguration buildConfiguration = new BuildConfiguration();
+        buildConfiguration.setId(id);
+        buildConfiguration.setName("bc-" + id);
+        return BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, rev);
+    }
+
+    private static Project project(int id) {
+        Project project = new Project();
+        project.setId(id);
+        return project;
+    }
+
+    private static EntityManager entityManager(Project project) {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getReference(Project.class, project.getId())).thenReturn(project);
+        return entityManager;
+    }
+}
@@ -28,6 +28,7 @@ import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.datastore.Datastore;
 import org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates;
@@ -45,12 +46,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author Jakub Bartecek
@@ -178,7 +182,101 @@ public class BuildRecordRepositoryTest {
         assertNotEquals(firstLastUpdateTime, secondLastUpdateTime);
     }
 
+    @InSequence(6)
+    @Test
+    public void shouldGetLatestSuccessfulBuildRecordsInBulk() {
+        // given
+        BuildConfigurationAudited buildConfigurationAudited = createBuildConfigurationAudited("bulk");
+        long now = System.currentTimeMillis();
+        buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 1))
+                        .build());
+        BuildRecord latestPersistent = buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 2))
+                        .build());
+        buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 3))
+                        .status(BuildStatus.FAILED)
+                        .build());
+        BuildRecord latestTemporary = buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 4))
+                        .temporaryBuild(true)
+                        .build());
+        Integer configurationId = buildConfigurationAudited.getId();
+        IdRev idRev = buildConfigurationAudited.getIdRev();
+
+        // when
+        Map<Integer, BuildRecord> persistentByConfiguration = buildRecordRepository
+                .getLatestSuccessfulBuildRecordsByConfigurationIds(Collections.singleton(configurationId), false);
+        Map<Integer, BuildRecord> temporaryByConfiguration = buildRecordRepository
+                .getLatestSuccessfulBuildRecordsByConfigurationIds(Collections.singleton(configurationId), true);
+        Map<IdRev, BuildRecord> persistentByIdRev = buildRecordRepository
+                .getLatestSuccessfulBuildRecords(Collections.singleton(idRev), false);
+        Map<IdRev, BuildRecord> temporaryByIdRev = buildRecordRepository
+                .getLatestSuccessfulBuildRecords(Collections.singleton(idRev), true);
+
+        // then
+        assertEquals(latestPersistent.getId(), persistentByConfiguration.get(configurationId).getId());
+        assertEquals(latestTemporary.getId(), temporaryByConfiguration.get(configurationId).getId());
+        assertEquals(latestPersistent.getId(), persistentByIdRev.get(idRev).getId());
+        assertEquals(latestTemporary.getId(), temporaryByIdRev.get(idRev).getId());
+        assertEquals(
+                buildRecordRepository.getLatestSuccessfulBuildRecord(configurationId, true).getId(),
+                temporaryByConfiguration.get(configurationId).getId());
+        assertEquals(
+                buildRecordRepository.getLatestSuccessfulBuildRecord(idRev, false).getId(),
+                persistentByIdRev.get(idRev).getId());
+    }
+
+    @InSequence(7)
+    @Test
+    public void shouldExcludePersistentBuildsWhenTemporaryBuildsExist() {
+        // given
+        BuildConfigurationAudited buildConfigurationAudited = createBuildConfigurationAudited("latest");
+        long now = System.currentTimeMillis();
+        BuildRecord persistent = buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 1))
+                        .build());
+        Integer configurationId = buildConfigurationAudited.getId();
+
+        // then
+        assertEquals(
+                persistent.getId(),
+                buildRecordRepository.getLatestSuccessfulBuildRecord(configurationId, true).getId());
+
+        // when
+        buildRecordRepository.save(
+                initBuildRecordBuilder(Sequence.nextBase32Id(), buildConfigurationAudited)
+                        .submitTime(new Date(now + 2))
+                        .temporaryBuild(true)
+                        .status(BuildStatus.FAILED)
+                        .build());
+
+        // then
+        assertNull(buildRecordRepository.getLatestSuccessfulBuildRecord(configurationId, true));
+        assertEquals(
+                persistent.getId(),
+                buildRecordRepository.getLatestSuccessfulBuildRecord(configurationId, false).getId());
+    }
+
     private BuildRecord.Builder initBuildRecordBuilder(String id) {
+        return initBuildRecordBuilder(id, createBuildConfigurationAudited(id));
+    }
+
+    private BuildConfigurationAudited createBuildConfigurationAudited(String name) {
+        BuildConfiguration buildConfiguration = producers.createValidBuildConfiguration("buildRecordTest-" + name);
+        BuildConfiguration saved = buildConfigurationRepository.save(buildConfiguration);
+        return buildConfigurationAuditedRepository.findAllByIdOrderByRevDesc(saved.getId()).get(0);
+    }
+
+    private BuildRecord.Builder initBuildRecordBuilder(
+            String id,
+            BuildConfigurationAudited buildConfigurationAudited) {
         if (user == null) {
             List<User> users = userRepository.queryWithPredicates(UserPredicates.withUserName("demo-user"));
             if (users.size() > 0) {
@@ -195,12 +293,6 @@ public class BuildRecordRepositoryTest {
             }
         }
 
-        BuildConfiguration buildConfiguration = producers.createValidBuildConfiguration("buildRecordTest-" + id);
-        BuildConfiguration saved = buildConfigurationRepository.save(buildConfiguration);
-        BuildConfigurationAudited buildConfigurationAudited = buildConfigurationAuditedRepository
-                .findAllByIdOrderByRevDesc(saved.getId())
-                .get(0);
-
         return BuildRecord.Builder.newBuilder()
                 .id(id)
                 .buildConfigurationAudited(buildConfigurationAudited)
@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -48,7 +49,7 @@ public class Page<T> {
     private int totalPages;
 
     /**
-     * Number of all hits (not only this page).
+     * Number of all hits (not only this page) or -1 if the hits were not counted.
      */
     private int totalHits;
 
@@ -57,10 +58,22 @@ public class Page<T> {
      */
     private Collection<T> content;
 
+    /**
+     * Opaque token to pass as the pageToken parameter to get the following page, or null if the listing doesn't support
+     * continuation tokens or there is no following page. Loading the following page by the token is faster than by the
+     * page index, as the database doesn't have to skip the preceding entries.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
+
     public Page() {
         content = Collections.emptyList();
     }
 
+    public Page(int pageIndex, int pageSize, int totalPages, int totalHits, Collection<T> content) {
+        this(pageIndex, pageSize, totalPages, totalHits, content, null);
+    }
+
     public Page(int pageIndex, int pageSize, int totalHits, Collection<T> content) {
         this.pageIndex = pageIndex;
         this.pageSize = pageSize;
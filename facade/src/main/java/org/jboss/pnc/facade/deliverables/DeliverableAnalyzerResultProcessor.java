@@ -17,9 +17,15 @@
  */
 package org.jboss.pnc.facade.deliverables;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
@@ -29,15 +35,16 @@ import javax.transaction.Transactional;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.Artifact;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.ArtifactType;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.Build;
+import org.jboss.pnc.api.deliverablesanalyzer.dto.BuildSystemType;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.MavenArtifact;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.NPMArtifact;
 import org.jboss.pnc.enums.ArtifactQuality;
 import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.mapper.api.ArtifactMapper;
+import org.jboss.pnc.model.Artifact.IdentifierSha256;
 import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.model.TargetRepository;
 import org.jboss.pnc.model.User;
-import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
 import org.jboss.pnc.spi.datastore.repositories.TargetRepositoryRepository;
@@ -74,55 +81,101 @@ public class DeliverableAnalyzerResultProcessor {
      */
     public void processDeliverables(int milestoneId, Collection<Build> builds, String distributionUrl, User user) {
         ProductMilestone milestone = milestoneRepository.queryById(milestoneId);
+        Map<Integer, org.jboss.pnc.model.Artifact> pncArtifacts = getPncArtifacts(builds);
         for (Build build : builds) {
-            Function<Artifact, org.jboss.pnc.model.Artifact> artifactParser;
+            Collection<org.jboss.pnc.model.Artifact> artifacts;
             if (build.getBuildSystemType() == null) {
                 TargetRepository distributionRepository = getDistributionRepository(distributionUrl);
-                artifactParser = art -> findOrCreateArtifact(art, distributionRepository);
+                artifacts = findOrCreateArtifacts(build.getArtifacts(), distributionRepository);
             } else {
                 switch (build.getBuildSystemType()) {
                     case PNC:
-                        artifactParser = this::getPncArtifact;
+                        artifacts = build.getArtifacts()
+                                .stream()
+                                .map(art -> pncArtifacts.get(toPncId(art)))
+                                .collect(Collectors.toList());
                         break;
                     case BREW:
                         TargetRepository brewRepository = getBrewRepository(build);
-                        artifactParser = art -> findOrCreateArtifact(assertBrewArtifacts(art), brewRepository);
+                        build.getArtifacts().forEach(this::assertBrewArtifacts);
+                        artifacts = findOrCreateArtifacts(build.getArtifacts(), brewRepository);
                         break;
                     default:
                         throw new UnsupportedOperationException(
                                 "Unknown build system type " + build.getBuildSystemType());
                 }
             }
-            build.getArtifacts().stream().map(artifactParser).forEach(milestone::addDeliveredArtifact);
+            artifacts.forEach(milestone::addDeliveredArtifact);
         }
         milestone.setDeliveredArtifactsImporter(user);
     }
 
-    @SuppressWarnings("unchecked")
-    private org.jboss.pnc.model.Artifact findOrCreateArtifact(Artifact art, TargetRepository targetRepo) {
-        org.jboss.pnc.model.Artifact artifact = mapArtifact(art);
+    /**
+     * Finds the artifacts in the target repository with one lookup and creates the missing ones in one batch.
+     */
+    private Collection<org.jboss.pnc.model.Artifact> findOrCreateArtifacts(
+            Collection<Artifact> arts,
+            TargetRepository targetRepo) {
+        Map<IdentifierSha256, org.jboss.pnc.model.Artifact> artifacts = new LinkedHashMap<>();
+        for (Artifact art : arts) {
+            org.jboss.pnc.model.Artifact artifact = mapArtifact(art);
+            artifacts.putIfAbsent(artifact.getIdentifierSha256(), artifact);
+        }
+
         // find
-        org.jboss.pnc.model.Artifact dbArtifact = artifactRepository.queryByPredicates(
-                ArtifactPredicates.withIdentifierAndSha256(artifact.getIdentifier(), artifact.getSha256()),
-                ArtifactPredicates.withTargetRepositoryId(targetRepo.getId()));
-        if (dbArtifact != null) {
-            return dbArtifact;
+        for (org.jboss.pnc.model.Artifact dbArtifact : artifactRepository
+                .withIdentifierAndSha256s(artifacts.keySet())) {
+            if (targetRepo.getId().equals(dbArtifact.getTargetRepository().getId())) {
+                artifacts.put(dbArtifact.getIdentifierSha256(), dbArtifact);
+            }
         }
 
         // create
-        artifact.setTargetRepository(targetRepo);
-        org.jboss.pnc.model.Artifact savedArtifact = artifactRepository.save(artifact);
-        targetRepo.getArtifacts().add(savedArtifact);
-        return savedArtifact;
+        List<org.jboss.pnc.model.Artifact> newArtifacts = new ArrayList<>();
+        for (org.jboss.pnc.model.Artifact artifact : artifacts.values()) {
+            if (artifact.getId() == null) {
+                artifact.setTargetRepository(targetRepo);
+                newArtifacts.add(artifact);
+            }
+        }
+        for (org.jboss.pnc.model.Artifact savedArtifact : artifactRepository.saveAll(newArtifacts)) {
+            targetRepo.getArtifacts().add(savedArtifact);
+            artifacts.put(savedArtifact.getIdentifierSha256(), savedArtifact);
+        }
+        return artifacts.values();
     }
 
-    private org.jboss.pnc.model.Artifact getPncArtifact(Artifact art) {
-        org.jboss.pnc.model.Artifact artifact = artifactRepository
-                .queryById(artifactMapper.getIdMapper().toEntity(art.getPncId()));
-        if (artifact == null) {
-            throw new IllegalArgumentException("PNC artifact with id " + art.getPncId() + " doesn't exist.");
+    /**
+     * Looks up the PNC artifacts of all the PNC builds at once.
+     */
+    private Map<Integer, org.jboss.pnc.model.Artifact> getPncArtifacts(Collection<Build> builds) {
+        Set<Integer> ids = builds.stream()
+                .filter(build -> build.getBuildSystemType() == BuildSystemType.PNC)
+                .flatMap(build -> build.getArtifacts().stream())
+                .map(this::toPncId)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return artifact;
+
+        Map<Integer, org.jboss.pnc.model.Artifact> artifacts = artifactRepository.queryByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(org.jboss.pnc.model.Artifact::getId, Function.identity()));
+        for (Build build : builds) {
+            if (build.getBuildSystemType() == BuildSystemType.PNC) {
+                for (Artifact art : build.getArtifacts()) {
+                    if (!artifacts.containsKey(toPncId(art))) {
+                        throw new IllegalArgumentException(
+                                "PNC artifact with id " + art.getPncId() + " doesn't exist.");
+                    }
+                }
+            }
+        }
+        return artifacts;
+    }
+
+    private Integer toPncId(Artifact art) {
+        return artifactMapper.getIdMapper().toEntity(art.getPncId());
     }
 
     private org.jboss.pnc.model.Artifact mapArtifact(Artifact art) {
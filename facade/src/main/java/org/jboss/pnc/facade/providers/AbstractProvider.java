@@ -18,29 +18,36 @@
 package org.jboss.pnc.facade.providers;
 
 import com.google.common.collect.ObjectArrays;
+import org.jboss.pnc.common.util.StringUtils;
 import org.jboss.pnc.dto.DTOEntity;
 import org.jboss.pnc.dto.response.Page;
 import org.jboss.pnc.dto.validation.groups.WhenCreatingNew;
 import org.jboss.pnc.dto.validation.groups.WhenDeleting;
+import org.jboss.pnc.enums.PageCountMode;
 import org.jboss.pnc.facade.providers.api.Provider;
 import org.jboss.pnc.facade.rsql.RSQLProducer;
+import org.jboss.pnc.facade.util.PageCounter;
 import org.jboss.pnc.facade.validation.DTOValidationException;
 import org.jboss.pnc.facade.validation.EmptyEntityException;
+import org.jboss.pnc.facade.validation.InvalidEntityException;
 import org.jboss.pnc.facade.validation.ValidationBuilder;
 import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.mapper.api.EntityMapper;
 import org.jboss.pnc.model.GenericEntity;
 import org.jboss.pnc.spi.datastore.repositories.PageInfoProducer;
 import org.jboss.pnc.spi.datastore.repositories.api.PageInfo;
+import org.jboss.pnc.spi.datastore.repositories.api.PageToken;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
+import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultPageInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.security.PermitAll;
 import javax.inject.Inject;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -68,6 +75,9 @@ public abstract class AbstractProvider<ID extends Serializable, DB extends Gener
     @Inject
     protected PageInfoProducer pageInfoProducer;
 
+    @Inject
+    protected PageCounter pageCounter;
+
     protected Repository<DB, ID> repository;
 
     protected EntityMapper<ID, DB, DTO, REF> mapper;
@@ -131,14 +141,40 @@ public abstract class AbstractProvider<ID extends Serializable, DB extends Gener
             String query,
             Predicate<DB>... predicates) {
         Predicate<DB> rsqlPredicate = rsqlPredicateProducer.getCriteriaPredicate(type, query);
-        PageInfo pageInfo = pageInfoProducer.getPageInfo(pageIndex, pageSize);
+        Predicate<DB>[] allPredicates = ObjectArrays.concat(rsqlPredicate, predicates);
         SortInfo sortInfo = rsqlPredicateProducer.getSortInfo(type, sortingRsql);
-        List<DB> collection = repository
-                .queryWithPredicates(pageInfo, sortInfo, ObjectArrays.concat(rsqlPredicate, predicates));
-        int totalHits = repository.count(ObjectArrays.concat(rsqlPredicate, predicates));
+
+        if (pageCounter.getMode() == PageCountMode.HAS_MORE) {
+            // fetch one more entity to find out whether there is a following page instead of counting all of them
+            PageInfo pageInfo = new DefaultPageInfo(pageIndex * pageSize, pageSize + 1);
+            List<DB> collection = repository.queryWithPredicatesUsingCursor(pageInfo, sortInfo, allPredicates);
+            boolean hasMore = collection.size() > pageSize;
+            if (hasMore) {
+                collection = collection.subList(0, pageSize);
+            }
+            return new Page<>(pageIndex, pageSize, pageIndex + (hasMore ? 2 : 1), -1, toDTOs(collection));
+        }
+
+        PageInfo pageInfo = pageInfoProducer.getPageInfo(pageIndex, pageSize);
+        List<DB> collection = repository.queryWithPredicates(pageInfo, sortInfo, allPredicates);
+        boolean unfiltered = StringUtils.isEmpty(query) && predicates.length == 0;
+        int totalHits = pageCounter.count(type, unfiltered, () -> repository.count(allPredicates));
         int totalPages = (totalHits + pageSize - 1) / pageSize;
-        List<DTO> content = nullableStreamOf(collection).map(mapper::toDTO).collect(Collectors.toList());
-        return new Page<>(pageIndex, pageSize, totalPages, totalHits, content);
+        return new Page<>(pageIndex, pageSize, totalPages, totalHits, toDTOs(collection));
+    }
+
+    private List<DTO> toDTOs(List<DB> collection) {
+        if (collection != null) {
+            beforeMapping(collection);
+        }
+        return nullableStreamOf(collection).map(mapper::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Hook called with the whole page of entities before they are mapped to DTOs, so that data needed by the mapper can
+     * be fetched for all of them at once.
+     */
+    protected void beforeMapping(Collection<DB> entities) {
     }
 
     protected void validateBeforeSaving(DTO restEntity) {
@@ -160,4 +196,12 @@ public abstract class AbstractProvider<ID extends Serializable, DB extends Gener
             throw new EmptyEntityException("Error parsing id " + stringId);
         }
     }
+
+    protected static PageToken parsePageToken(String pageToken, int keys) {
+        try {
+            return PageToken.decode(pageToken).requireKeys(keys);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEntityException("Invalid page token " + pageToken);
+        }
+    }
 }
@@ -48,6 +48,7 @@ import org.jboss.pnc.model.TargetRepository_;
 import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
+import org.jboss.pnc.spi.datastore.repositories.api.PageToken;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +62,7 @@ import javax.ejb.Stateless;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Path;
@@ -174,6 +176,7 @@ public class ArtifactProviderImpl
     public Page<ArtifactInfo> getAllFiltered(
             int pageIndex,
             int pageSize,
+            Optional<String> pageToken,
             Optional<String> identifierPattern,
             Set<ArtifactQuality> qualities,
             Optional<RepositoryType> repoType,
@@ -181,12 +184,19 @@ public class ArtifactProviderImpl
 
         CriteriaBuilder cb = em.getCriteriaBuilder();
 
-        CriteriaQuery<Tuple> query = artifactInfoQuery(cb, identifierPattern, qualities, repoType, buildCategories);
-        int offset = pageIndex * pageSize;
-        List<ArtifactInfo> artifacts = em.createQuery(query)
-                .setMaxResults(pageSize)
-                .setFirstResult(offset)
-                .getResultList()
+        Optional<Integer> afterId = pageToken.map(token -> (int) parsePageToken(token, 1).getKey(0));
+        CriteriaQuery<Tuple> query = artifactInfoQuery(
+                cb,
+                identifierPattern,
+                qualities,
+                repoType,
+                buildCategories,
+                afterId);
+        TypedQuery<Tuple> typedQuery = em.createQuery(query).setMaxResults(pageSize);
+        if (!afterId.isPresent()) {
+            typedQuery.setFirstResult(pageIndex * pageSize);
+        }
+        List<ArtifactInfo> artifacts = typedQuery.getResultList()
                 .stream()
                 .map(this::mapTupleToArtifactInfo)
                 .collect(Collectors.toList());
@@ -195,7 +205,11 @@ public class ArtifactProviderImpl
         int totalHits = repository.count(predicates);
         int totalPages = (totalHits + pageSize - 1) / pageSize;
 
-        return new Page<>(pageIndex, pageSize, totalPages, totalHits, artifacts);
+        String nextPageToken = null;
+        if (artifacts.size() == pageSize) {
+            nextPageToken = PageToken.of(Long.parseLong(artifacts.get(pageSize - 1).getId())).encode();
+        }
+        return new Page<>(pageIndex, pageSize, totalPages, totalHits, artifacts, nextPageToken);
     }
 
     @Override
@@ -361,7 +375,8 @@ public class ArtifactProviderImpl
             Optional<String> identifierPattern,
             Set<ArtifactQuality> qualities,
             Optional<RepositoryType> repoType,
-            Set<BuildCategory> buildCategories) {
+            Set<BuildCategory> buildCategories,
+            Optional<Integer> afterId) {
 
         CriteriaQuery<Tuple> query = cb.createTupleQuery();
 
@@ -399,6 +414,11 @@ public class ArtifactProviderImpl
             predicates.add(withRepoType);
         }
 
+        if (afterId.isPresent()) {
+            // keyset pagination, the query is ordered by id
+            predicates.add(cb.greaterThan(artifact.get(Artifact_.id), afterId.get()));
+        }
+
         query.where(cb.and(predicates.toArray(new javax.persistence.criteria.Predicate[predicates.size()])));
 
         query.orderBy(cb.asc(artifact.get(Artifact_.id)));
@@ -31,12 +31,15 @@ import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withB
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withBuildConfigSetRecordId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withBuildConfigurationId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withBuildConfigurationIds;
+import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withIdAfter;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withPerformedInMilestone;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withUserId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withoutAttribute;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withoutImplicitDependants;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withoutLinkedNRRRecordOlderThanTimestamp;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigInteger;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -72,6 +75,7 @@ import org.jboss.pnc.common.gerrit.Gerrit;
 import org.jboss.pnc.common.gerrit.GerritException;
 import org.jboss.pnc.common.graph.GraphBuilder;
 import org.jboss.pnc.common.graph.GraphUtils;
+import org.jboss.pnc.common.graph.IndexedGraph;
 import org.jboss.pnc.common.pnc.LongBase32IdConverter;
 import org.jboss.pnc.common.util.HttpUtils;
 import org.jboss.pnc.common.util.StringUtils;
@@ -87,6 +91,7 @@ import org.jboss.pnc.dto.response.Page;
 import org.jboss.pnc.dto.response.RunningBuildCount;
 import org.jboss.pnc.dto.response.SSHCredentials;
 import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.enums.PageCountMode;
 import org.jboss.pnc.facade.providers.api.BuildPageInfo;
 import org.jboss.pnc.facade.providers.api.BuildProvider;
 import org.jboss.pnc.facade.util.GraphDtoBuilder;
@@ -120,6 +125,7 @@ import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
 import org.jboss.pnc.spi.datastore.repositories.SortInfoProducer;
 import org.jboss.pnc.spi.datastore.repositories.api.PageInfo;
+import org.jboss.pnc.spi.datastore.repositories.api.PageToken;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultPageInfo;
@@ -139,6 +145,8 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
     private static final Logger logger = LoggerFactory.getLogger(BuildProviderImpl.class);
 
+    private static final Predicate<BuildRecord> ALL_BUILD_RECORDS = (root, query, cb) -> cb.conjunction();
+
     private ArtifactRepository artifactRepository;
     private BuildRecordRepository buildRecordRepository;
     private BuildConfigurationRepository buildConfigurationRepository;
@@ -324,6 +332,36 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         return getBuildRecord(buildId).getBuildLog();
     }
 
+    @Override
+    public Integer getRepourLogLength(String buildId) {
+        Integer length = repository.getRepourLogLength(parseId(buildId));
+        if (length == null) {
+            // throws EmptyEntityException if the build does not exist
+            getBuildRecord(buildId);
+        }
+        return length;
+    }
+
+    @Override
+    public void writeRepourLog(String buildId, Writer writer) throws IOException {
+        repository.writeRepourLog(parseId(buildId), writer);
+    }
+
+    @Override
+    public Integer getBuildLogLength(String buildId) {
+        Integer length = repository.getBuildLogLength(parseId(buildId));
+        if (length == null) {
+            // throws EmptyEntityException if the build does not exist
+            getBuildRecord(buildId);
+        }
+        return length;
+    }
+
+    @Override
+    public void writeBuildLog(String buildId, Writer writer) throws IOException {
+        repository.writeBuildLog(parseId(buildId), writer);
+    }
+
     @Override
     public SSHCredentials getSshCredentials(String buildId) {
         BuildRecord buildRecord = getBuildRecord(buildId);
@@ -351,7 +389,7 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
     @Override
     public Page<Build> getBuilds(BuildPageInfo pageInfo) {
-        return getBuildList(pageInfo, _t -> true, (_r, _q, cb) -> cb.conjunction());
+        return getBuildList(pageInfo, _t -> true, ALL_BUILD_RECORDS);
     }
 
     @Override
@@ -444,9 +482,9 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
             throw new EmptyEntityException("Build group " + groupBuildId + " does not exists.");
         }
         List<String> runningAndStoredIds = getBuildIdsInTheGroup(buildConfigSetRecord);
-        org.jboss.util.graph.Graph<BuildWithDependencies> buildGraph = new org.jboss.util.graph.Graph<>();
+        IndexedGraph<BuildWithDependencies> buildGraph = new IndexedGraph<>();
         for (String buildId : runningAndStoredIds) {
-            org.jboss.util.graph.Graph<BuildWithDependencies> dependencyGraph = createBuildDependencyGraph(buildId);
+            IndexedGraph<BuildWithDependencies> dependencyGraph = createBuildDependencyGraph(buildId);
             GraphUtils.merge(buildGraph, dependencyGraph);
             logger.trace(
                     "Merged graph from buildRecordId {} to BuildConfigSetRecordGraph {}; Edges {},",
@@ -489,13 +527,13 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         if (specific == null) {
             throw new EmptyEntityException("there is no record for given buildId.");
         }
-        org.jboss.util.graph.Graph<BuildWithDependencies> buildGraph = createBuildDependencyGraph(buildId);
+        IndexedGraph<BuildWithDependencies> buildGraph = createBuildDependencyGraph(buildId);
         GraphDtoBuilder<BuildWithDependencies, Build> graphBuilder = new GraphDtoBuilder();
         return graphBuilder.from(buildGraph, Build.class, vertex -> vertex.getData().getBuild());
     }
 
-    private org.jboss.util.graph.Graph<BuildWithDependencies> createBuildDependencyGraph(String buildId) {
-        org.jboss.util.graph.Graph<BuildWithDependencies> graph = new org.jboss.util.graph.Graph<>();
+    private IndexedGraph<BuildWithDependencies> createBuildDependencyGraph(String buildId) {
+        IndexedGraph<BuildWithDependencies> graph = new IndexedGraph<>();
         GraphBuilder<BuildWithDependencies, String> graphBuilder = new GraphBuilder<>(
                 this::getRunningOrCompletedBuild,
                 BuildWithDependencies::getDependencies,
@@ -698,6 +736,7 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
                 .queryWithPredicatesUsingCursor(pageInfo, sortInfo, predicatesArray);
 
         int hits = repository.count(predicatesArray);
+        beforeMapping(resultList);
 
         return new Page<>(
                 buildPageInfo.getPageIndex(),
@@ -710,6 +749,7 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
     public Page<BuildRecordInsights> getAllBuildRecordInsightsNewerThanTimestamp(
             int pageIndex,
             int pageSize,
+            Optional<String> pageToken,
             Date lastupdatetime) {
 
         logger.debug(
@@ -726,13 +766,25 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
         List<BuildRecordInsights> content = new ArrayList<BuildRecordInsights>();
 
+        String nextPageToken = null;
         if (count > 0) {
-            int offset = pageIndex * pageSize;
-
-            logger.debug("offset: {}", offset);
+            List<Object[]> rawBuildInsights;
+            if (pageToken.isPresent()) {
+                PageToken after = parsePageToken(pageToken.get(), 2);
+                logger.debug("after: {}", after);
+
+                rawBuildInsights = buildRecordRepository.getAllBuildRecordInsightsNewerThanTimestampAfter(
+                        lastupdatetime,
+                        after.getTimestampKey(0),
+                        after.getKey(1),
+                        pageSize);
+            } else {
+                int offset = pageIndex * pageSize;
+                logger.debug("offset: {}", offset);
 
-            List<Object[]> rawBuildInsights = buildRecordRepository
-                    .getAllBuildRecordInsightsNewerThanTimestamp(lastupdatetime, pageSize, offset);
+                rawBuildInsights = buildRecordRepository
+                        .getAllBuildRecordInsightsNewerThanTimestamp(lastupdatetime, pageSize, offset);
+            }
             for (Object[] rawBuildInsight : rawBuildInsights) {
 
                 Long buildRecordId = ((BigInteger) rawBuildInsight[0]).longValue();
@@ -803,9 +855,14 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
                 content.add(buildRecordInsights);
             }
+            if (rawBuildInsights.size() == pageSize) {
+                Object[] last = rawBuildInsights.get(pageSize - 1);
+                nextPageToken = PageToken.of(PageToken.toKey((Date) last[5]), ((BigInteger) last[0]).longValue())
+                        .encode();
+            }
         }
 
-        return new Page<>(pageIndex, pageSize, totalPages, count, content);
+        return new Page<>(pageIndex, pageSize, totalPages, count, content, nextPageToken);
     }
 
     private DefaultPageInfo toPageInfo(BuildPageInfo buildPageInfo) {
@@ -889,8 +946,12 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
             Predicate<BuildRecord> dbPredicate) {
         List<Build> runningBuilds = readRunningBuilds(pageInfo, predicate);
 
+        // in the HAS_MORE mode one more build is read to find out whether there is a following page
+        boolean countHits = pageCounter.getMode() != PageCountMode.HAS_MORE;
+        int readAhead = countHits ? 0 : 1;
+
         int firstPossibleDBIndex = pageInfo.getPageIndex() * pageInfo.getPageSize() - runningBuilds.size();
-        int lastPossibleDBIndex = (pageInfo.getPageIndex() + 1) * pageInfo.getPageSize() - 1;
+        int lastPossibleDBIndex = (pageInfo.getPageIndex() + 1) * pageInfo.getPageSize() - 1 + readAhead;
         int toSkip = min(runningBuilds.size(), pageInfo.getPageIndex() * pageInfo.getPageSize());
 
         Predicate<BuildRecord>[] predicates = preparePredicates(
@@ -915,10 +976,26 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         List<Build> resultList = StreamSupport
                 .stream(Spliterators.spliteratorUnknownSize(builds, Spliterator.ORDERED | Spliterator.SORTED), false)
                 .skip(toSkip)
-                .limit(pageInfo.getPageSize())
+                .limit(pageInfo.getPageSize() + readAhead)
                 .collect(Collectors.toList());
 
-        int hits = repository.count(predicates) + runningBuilds.size();
+        if (!countHits) {
+            boolean hasMore = resultList.size() > pageInfo.getPageSize();
+            if (hasMore) {
+                resultList = resultList.subList(0, pageInfo.getPageSize());
+            }
+            return new Page<>(
+                    pageInfo.getPageIndex(),
+                    pageInfo.getPageSize(),
+                    pageInfo.getPageIndex() + (hasMore ? 2 : 1),
+                    -1,
+                    resultList);
+        }
+
+        boolean unfiltered = dbPredicate == ALL_BUILD_RECORDS && StringUtils.isEmpty(pageInfo.getQ())
+                && StringUtils.isEmpty(pageInfo.getBuildConfigName());
+        int hits = pageCounter.count(BuildRecord.class, unfiltered, () -> repository.count(predicates))
+                + runningBuilds.size();
 
         return new Page<>(
                 pageInfo.getPageIndex(),
@@ -1012,6 +1089,36 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         return buildRecords.stream().map(mapper::toDTO).findFirst();
     }
 
+    /**
+     * Fetches the audited Build Configs of the whole page in one query, so that the mapper doesn't have to query them
+     * for each build separately.
+     */
+    @Override
+    protected void beforeMapping(Collection<BuildRecord> buildRecords) {
+        Set<IdRev> idRevs = buildRecords.stream()
+                .filter(buildRecord -> buildRecord.getBuildConfigurationAudited() == null)
+                .map(buildRecord -> new IdRev(
+                        buildRecord.getBuildConfigurationId(),
+                        buildRecord.getBuildConfigurationRev()))
+                .collect(Collectors.toSet());
+        if (idRevs.isEmpty()) {
+            return;
+        }
+
+        Map<IdRev, BuildConfigurationAudited> bcas = buildConfigurationAuditedRepository.queryById(idRevs);
+        for (BuildRecord buildRecord : buildRecords) {
+            if (buildRecord.getBuildConfigurationAudited() == null) {
+                IdRev idRev = new IdRev(buildRecord.getBuildConfigurationId(), buildRecord.getBuildConfigurationRev());
+                buildRecord.setBuildConfigurationAudited(bcas.get(idRev));
+            }
+        }
+    }
+
+    /**
+     * Iterates over the build records in the range of indexes, loading them from the database page by page. When the
+     * records are ordered by id, the pages following the first one are loaded by seeking after the id of the last
+     * loaded record instead of by an offset, so that iterating deep into the table doesn't get slower with each page.
+     */
     class BuildIterator implements Iterator<Build> {
 
         private List<BuildRecord> builds;
@@ -1021,6 +1128,8 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         private final int lastIndex;
         private final SortInfo sortInfo;
         private final Predicate<BuildRecord>[] predicates;
+        private final boolean keyset;
+        private Base32LongID lastId;
 
         public BuildIterator(
                 int firstIndex,
@@ -1033,6 +1142,7 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
             this.lastIndex = lastIndex;
             this.predicates = predicate;
             this.sortInfo = sortInfo;
+            this.keyset = isSortedById(sortInfo);
             nextPage();
         }
 
@@ -1061,10 +1171,21 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
             if (size > maxPageSize) {
                 size = maxPageSize;
             }
-            PageInfo pageInfo = new DefaultPageInfo(firstIndex, size);
-            builds = ((BuildRecordRepository) BuildProviderImpl.this.repository)
-                    .queryWithPredicatesUsingCursor(pageInfo, sortInfo, predicates);
+            if (keyset && lastId != null) {
+                Predicate<BuildRecord>[] seekPredicates = Arrays.copyOf(predicates, predicates.length + 1);
+                seekPredicates[predicates.length] = withIdAfter(lastId, sortInfo.getDirection());
+                builds = ((BuildRecordRepository) BuildProviderImpl.this.repository)
+                        .queryWithPredicatesUsingCursor(new DefaultPageInfo(0, size), sortInfo, seekPredicates);
+            } else {
+                PageInfo pageInfo = new DefaultPageInfo(firstIndex, size);
+                builds = ((BuildRecordRepository) BuildProviderImpl.this.repository)
+                        .queryWithPredicatesUsingCursor(pageInfo, sortInfo, predicates);
+            }
+            beforeMapping(builds);
             it = builds.iterator();
+            if (!builds.isEmpty()) {
+                lastId = builds.get(builds.size() - 1).getId();
+            }
             if (builds.size() < size) {
                 firstIndex = lastIndex + 1;
             } else {
@@ -1073,6 +1194,11 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         }
     }
 
+    private static boolean isSortedById(SortInfo sortInfo) {
+        return sortInfo != null && sortInfo.getDirection() != null
+                && Collections.singletonList("id").equals(sortInfo.getFields());
+    }
+
     @Getter
     private class BuildWithDependencies {
         private final Build build;
@@ -41,9 +41,14 @@ public interface ArtifactProvider
             Optional<String> md5,
             Optional<String> sha1);
 
+    /**
+     * Returns the filtered artifacts ordered by id. When pageToken is present, the page following the token is returned
+     * and the pageIndex is only reported back.
+     */
     Page<ArtifactInfo> getAllFiltered(
             int pageIndex,
             int pageSize,
+            Optional<String> pageToken,
             Optional<String> identifierPattern,
             Set<ArtifactQuality> qualities, // default value is empty Set
             Optional<RepositoryType> repoType,
@@ -29,8 +29,11 @@ import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.facade.validation.EmptyEntityException;
 import org.jboss.pnc.model.Base32LongID;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
 import java.util.Date;
+import java.util.Optional;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +60,26 @@ public interface BuildProvider extends Provider<Base32LongID, org.jboss.pnc.mode
 
     String getBuildLog(String buildId);
 
+    /**
+     * @return length of the repour log in characters, null if the build has no repour log
+     */
+    Integer getRepourLogLength(String buildId);
+
+    /**
+     * Writes the repour log to the writer as it is read, so that the log can be streamed without loading it whole.
+     */
+    void writeRepourLog(String buildId, Writer writer) throws IOException;
+
+    /**
+     * @return length of the build log in characters, null if the build has no build log
+     */
+    Integer getBuildLogLength(String buildId);
+
+    /**
+     * Writes the build log to the writer as it is read, so that the log can be streamed without loading it whole.
+     */
+    void writeBuildLog(String buildId, Writer writer) throws IOException;
+
     boolean delete(String buildId, String callback);
 
     SSHCredentials getSshCredentials(String buildId);
@@ -124,8 +147,13 @@ public interface BuildProvider extends Provider<Base32LongID, org.jboss.pnc.mode
 
     Set<String> getBuiltArtifactIds(String buildId);
 
+    /**
+     * Returns the build record insights ordered by the last update time. When pageToken is present, the page following
+     * the token is returned and the pageIndex is only reported back.
+     */
     Page<BuildRecordInsights> getAllBuildRecordInsightsNewerThanTimestamp(
             int pageIndex,
             int pageSize,
+            Optional<String> pageToken,
             Date lastupdatetime);
 }
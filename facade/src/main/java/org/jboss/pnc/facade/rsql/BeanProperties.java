@@ -0,0 +1,105 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.rsql;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads bean properties using method handles of their getters. Getters are looked up only once per class and property
+ * and then reused for all the instances of the class.
+ */
+final class BeanProperties {
+
+    private static final ClassValue<Map<String, Getter>> GETTERS = new ClassValue<Map<String, Getter>>() {
+        @Override
+        protected Map<String, Getter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private BeanProperties() {
+    }
+
+    /**
+     * @throws RSQLException when the class has no readable property of the name
+     */
+    static Getter getter(Class<?> type, String property) {
+        return GETTERS.get(type).computeIfAbsent(property, p -> lookupGetter(type, p));
+    }
+
+    /**
+     * @throws RSQLException when the bean has no readable property of the name
+     */
+    static Object getProperty(Object bean, String property) {
+        return getter(bean.getClass(), property).get(bean);
+    }
+
+    private static Getter lookupGetter(Class<?> type, String property) {
+        try {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                Method readMethod = descriptor.getReadMethod();
+                if (property.equals(descriptor.getName()) && readMethod != null) {
+                    MethodHandle handle = MethodHandles.publicLookup()
+                            .unreflect(readMethod)
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    return new Getter(property, readMethod.getReturnType(), handle);
+                }
+            }
+        } catch (IntrospectionException | IllegalAccessException ex) {
+            throw new IllegalStateException("Could not access field " + property + ": " + ex.getMessage(), ex);
+        }
+        throw new RSQLException("Field " + property + " not found.");
+    }
+
+    static final class Getter {
+
+        private final String property;
+
+        private final Class<?> type;
+
+        private final MethodHandle handle;
+
+        private Getter(String property, Class<?> type, MethodHandle handle) {
+            this.property = property;
+            this.type = type;
+            this.handle = handle;
+        }
+
+        Class<?> getType() {
+            return type;
+        }
+
+        Object get(Object bean) {
+            try {
+                return (Object) handle.invokeExact(bean);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Could not read field " + property + ": " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
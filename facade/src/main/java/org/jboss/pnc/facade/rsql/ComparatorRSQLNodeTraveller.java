@@ -25,9 +25,7 @@ import java.lang.invoke.MethodHandles;
 
 import cz.jirutka.rsql.parser.ast.ComparisonNode;
 import cz.jirutka.rsql.parser.ast.LogicalNode;
-import java.lang.reflect.Method;
 import java.util.Comparator;
-import org.jboss.pnc.common.util.StringUtils;
 
 /**
  *
@@ -66,20 +64,11 @@ class ComparatorRSQLNodeTraveller<DTO> extends RSQLNodeTraveller<Comparator<DTO>
     }
 
     private Comparable getProperty(Object object, String argument) {
-        try {
-            String getter = "get" + StringUtils.firstCharToUpperCase(argument);
-            Method method = object.getClass().getMethod(getter);
-            Class<?> returnType = method.getReturnType();
-            Object obj = method.invoke(object);
-            if (Comparable.class.isAssignableFrom(returnType)) {
-                return (Comparable) obj;
-            } else {
-                throw new RSQLException("Field " + argument + " is not comparable.");
-            }
-        } catch (NoSuchMethodException ex) {
-            throw new RSQLException("Field " + argument + " not found.", ex);
-        } catch (ReflectiveOperationException | SecurityException ex) {
-            throw new RuntimeException("Could not access field " + argument + ": " + ex.getMessage(), ex);
+        BeanProperties.Getter getter = BeanProperties.getter(object.getClass(), argument);
+        if (Comparable.class.isAssignableFrom(getter.getType())) {
+            return (Comparable) getter.get(object);
+        } else {
+            throw new RSQLException("Field " + argument + " is not comparable.");
         }
     }
 
@@ -36,8 +36,11 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Path;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -67,6 +70,18 @@ public class RSQLProducerImpl implements RSQLProducer {
     static final ComparisonOperator ASC = new ComparisonOperator("=asc=", true);
     static final ComparisonOperator DESC = new ComparisonOperator("=desc=", true);
 
+    /**
+     * Maximum number of compiled RSQL queries kept in each of the caches.
+     */
+    private static final int COMPILED_CACHE_SIZE = 256;
+
+    /**
+     * Compiled stream predicates and comparators, keyed by the RSQL query. They do not depend on the type of the
+     * filtered instances, the property getters are resolved and cached per class on use.
+     */
+    private final Map<String, java.util.function.Predicate<Object>> streamPredicates = lruCache(COMPILED_CACHE_SIZE);
+    private final Map<String, Comparator<Object>> comparators = lruCache(COMPILED_CACHE_SIZE);
+
     @Inject
     UniversalRSQLMapper mapper;
 
@@ -104,8 +119,8 @@ public class RSQLProducerImpl implements RSQLProducer {
             return x -> true;
         }
         try {
-            Node rootNode = predicateParser.parse(preprocessRSQL(rsql));
-            return getStreamPredicate(rootNode);
+            return (java.util.function.Predicate<T>) streamPredicates
+                    .computeIfAbsent(rsql, this::compileStreamPredicate);
         } catch (RSQLParserException ex) {
             throw new RSQLException("failure parsing RSQL", ex);
         }
@@ -134,11 +149,28 @@ public class RSQLProducerImpl implements RSQLProducer {
         if (!rsql.startsWith(FIXED_START_OF_SORTING_EXPRESSION)) {
             rsql = FIXED_START_OF_SORTING_EXPRESSION + rsql;
         }
-        Node rootNode = sortParser.parse(preprocessRSQL(rsql));
+        return (Comparator<DTO>) comparators.computeIfAbsent(rsql, this::compileComparator);
+    }
+
+    private java.util.function.Predicate<Object> compileStreamPredicate(String rsql) {
+        Node rootNode = predicateParser.parse(preprocessRSQL(rsql));
+        return rootNode.accept(new StreamRSQLNodeTraveller());
+    }
 
+    private Comparator<Object> compileComparator(String rsql) {
+        Node rootNode = sortParser.parse(preprocessRSQL(rsql));
         return rootNode.accept(new ComparatorRSQLNodeTraveller<>());
     }
 
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
     private String preprocessRSQL(String rsql) {
         String result = rsql;
         Matcher matcher = likePattern.matcher(rsql);
@@ -160,12 +192,4 @@ public class RSQLProducerImpl implements RSQLProducer {
         };
     }
 
-    private <T> java.util.function.Predicate<T> getStreamPredicate(Node rootNode) {
-        return instance -> {
-            RSQLNodeTraveller<Boolean> visitor = new StreamRSQLNodeTraveller(instance);
-
-            return rootNode.accept(visitor);
-        };
-    }
-
 }
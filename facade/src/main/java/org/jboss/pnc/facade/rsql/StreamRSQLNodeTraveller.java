@@ -17,116 +17,173 @@
  */
 package org.jboss.pnc.facade.rsql;
 
-import org.apache.commons.beanutils.BeanUtils;
-import org.apache.commons.beanutils.NestedNullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
-import java.lang.reflect.InvocationTargetException;
 import java.text.NumberFormat;
 import java.text.ParseException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import cz.jirutka.rsql.parser.ast.AndNode;
 import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import cz.jirutka.rsql.parser.ast.LogicalNode;
 import cz.jirutka.rsql.parser.ast.Node;
 import cz.jirutka.rsql.parser.ast.OrNode;
 import cz.jirutka.rsql.parser.ast.RSQLOperators;
 
 /**
+ * Compiles the RSQL tree into a predicate once, so that the tree is not walked again for every filtered instance. The
+ * arguments (numbers, LIKE patterns, IN sets) are prepared during the compilation and the properties are read with
+ * cached getters.
  *
  * @author Honza Brázdil &lt;jbrazdil@redhat.com&gt;
  */
-class StreamRSQLNodeTraveller extends RSQLNodeTraveller<Boolean> {
+class StreamRSQLNodeTraveller extends RSQLNodeTraveller<Predicate<Object>> {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private final Object instance;
+    /**
+     * NumberFormat is not thread safe, the compiled predicates may be used from multiple threads.
+     */
+    private static final ThreadLocal<NumberFormat> numberFormat = ThreadLocal.withInitial(NumberFormat::getInstance);
 
-    public StreamRSQLNodeTraveller(Object instance) {
-        this.instance = instance;
-    }
+    /**
+     * Marks that an intermediate property of a nested selector is null.
+     */
+    private static final Object NESTED_NULL = new Object();
 
     @Override
-    public Boolean visit(LogicalNode node) {
-        logger.trace("Parsing LogicalNode {}", node);
-        Iterator<Node> iterator = node.iterator();
+    public Predicate<Object> visit(LogicalNode node) {
+        logger.trace("Compiling LogicalNode {}", node);
+        List<Predicate<Object>> children = new ArrayList<>();
+        for (Node child : node) {
+            children.add(visit(child));
+        }
         if (node instanceof AndNode) {
-            boolean result = true;
-            while (iterator.hasNext()) {
-                Node next = iterator.next();
-                result &= visit(next);
-            }
-            return result;
+            return instance -> {
+                for (Predicate<Object> child : children) {
+                    if (!child.test(instance)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
         } else if (node instanceof OrNode) {
-            boolean result = false;
-            while (iterator.hasNext()) {
-                Node next = iterator.next();
-                result |= visit(next);
-            }
-            return result;
+            return instance -> {
+                for (Predicate<Object> child : children) {
+                    if (child.test(instance)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
         } else {
             throw new UnsupportedOperationException("Logical operation not supported");
         }
     }
 
     @Override
-    public Boolean visit(ComparisonNode node) {
-        logger.trace("Parsing ComparisonNode {}", node);
-        String fieldName = node.getSelector();
+    public Predicate<Object> visit(ComparisonNode node) {
+        logger.trace("Compiling ComparisonNode {}", node);
+        String[] selector = node.getSelector().split("\\.");
+        ComparisonOperator operator = node.getOperator();
         String argument = node.getArguments().get(0);
-        try {
-            String propertyValue = BeanUtils.getProperty(instance, fieldName);
-            if (node.getOperator().equals(RSQLProducerImpl.IS_NULL)) {
-                return Boolean.valueOf(propertyValue == null).equals(Boolean.valueOf(argument));
-            }
-            if (propertyValue == null) {
+
+        if (operator.equals(RSQLProducerImpl.IS_NULL)) {
+            boolean expectNull = Boolean.parseBoolean(argument);
+            return instance -> {
+                Object propertyValue = getProperty(instance, selector);
+                // If a nested property is null (i.e. idRev.id is null), it is considered a false equality
+                return propertyValue != NESTED_NULL && (propertyValue == null) == expectNull;
+            };
+        }
+
+        Predicate<String> valuePredicate = compile(operator, argument, node.getArguments());
+        return instance -> {
+            Object propertyValue = getProperty(instance, selector);
+            if (propertyValue == null || propertyValue == NESTED_NULL) {
                 // Null values are considered not equal
                 return false;
             }
-            if (node.getOperator().equals(RSQLOperators.EQUAL)) {
-                return propertyValue.equals(argument);
-            } else if (node.getOperator().equals(RSQLOperators.NOT_EQUAL)) {
-                return !propertyValue.equals(argument);
-            } else if (node.getOperator().equals(RSQLOperators.GREATER_THAN)) {
-                NumberFormat numberFormat = NumberFormat.getInstance();
-                Number argumentNumber = numberFormat.parse(argument);
-                return numberFormat.parse(propertyValue).intValue() > argumentNumber.intValue();
-            } else if (node.getOperator().equals(RSQLOperators.GREATER_THAN_OR_EQUAL)) {
-                NumberFormat numberFormat = NumberFormat.getInstance();
-                Number argumentNumber = numberFormat.parse(argument);
-                return numberFormat.parse(propertyValue).intValue() >= argumentNumber.intValue();
-            } else if (node.getOperator().equals(RSQLOperators.LESS_THAN)) {
-                NumberFormat numberFormat = NumberFormat.getInstance();
-                Number argumentNumber = numberFormat.parse(argument);
-                return numberFormat.parse(propertyValue).intValue() < argumentNumber.intValue();
-            } else if (node.getOperator().equals(RSQLOperators.LESS_THAN_OR_EQUAL)) {
-                NumberFormat numberFormat = NumberFormat.getInstance();
-                Number argumentNumber = numberFormat.parse(argument);
-                return numberFormat.parse(propertyValue).intValue() <= argumentNumber.intValue();
-            } else if (node.getOperator().equals(RSQLProducerImpl.LIKE)) {
-                argument = argument.replaceAll(RSQLProducerImpl.UNKNOWN_PART_PLACEHOLDER, ".*").replaceAll("%", ".*");
-                return propertyValue.matches(argument);
-            } else if (node.getOperator().equals(RSQLProducerImpl.NOT_LIKE)) {
-                argument = argument.replaceAll(RSQLProducerImpl.UNKNOWN_PART_PLACEHOLDER, ".*").replaceAll("%", ".*");
-                return !propertyValue.matches(argument);
-            } else if (node.getOperator().equals(RSQLOperators.IN)) {
-                return node.getArguments().contains(propertyValue);
-            } else if (node.getOperator().equals(RSQLOperators.NOT_IN)) {
-                return !node.getArguments().contains(propertyValue);
-            } else {
-                throw new UnsupportedOperationException("Not Implemented yet!");
-            }
-        } catch (NestedNullException e) {
-            // If a nested property is null (i.e. idRev.id is null), it is considered a false equality
-            return false;
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException("Reflections exception", e);
+            return valuePredicate.test((String) propertyValue);
+        };
+    }
+
+    private Predicate<String> compile(ComparisonOperator operator, String argument, List<String> arguments) {
+        if (operator.equals(RSQLOperators.EQUAL)) {
+            return argument::equals;
+        } else if (operator.equals(RSQLOperators.NOT_EQUAL)) {
+            return propertyValue -> !argument.equals(propertyValue);
+        } else if (operator.equals(RSQLOperators.GREATER_THAN)) {
+            int argumentNumber = parseInt(argument);
+            return compareNumber(comparison -> comparison > argumentNumber);
+        } else if (operator.equals(RSQLOperators.GREATER_THAN_OR_EQUAL)) {
+            int argumentNumber = parseInt(argument);
+            return compareNumber(comparison -> comparison >= argumentNumber);
+        } else if (operator.equals(RSQLOperators.LESS_THAN)) {
+            int argumentNumber = parseInt(argument);
+            return compareNumber(comparison -> comparison < argumentNumber);
+        } else if (operator.equals(RSQLOperators.LESS_THAN_OR_EQUAL)) {
+            int argumentNumber = parseInt(argument);
+            return compareNumber(comparison -> comparison <= argumentNumber);
+        } else if (operator.equals(RSQLProducerImpl.LIKE)) {
+            Pattern pattern = likePattern(argument);
+            return propertyValue -> pattern.matcher(propertyValue).matches();
+        } else if (operator.equals(RSQLProducerImpl.NOT_LIKE)) {
+            Pattern pattern = likePattern(argument);
+            return propertyValue -> !pattern.matcher(propertyValue).matches();
+        } else if (operator.equals(RSQLOperators.IN)) {
+            Set<String> values = new HashSet<>(arguments);
+            return values::contains;
+        } else if (operator.equals(RSQLOperators.NOT_IN)) {
+            Set<String> values = new HashSet<>(arguments);
+            return propertyValue -> !values.contains(propertyValue);
+        } else {
+            throw new UnsupportedOperationException("Not Implemented yet!");
+        }
+    }
+
+    private static Predicate<String> compareNumber(IntPredicate predicate) {
+        return propertyValue -> predicate.test(parseInt(propertyValue));
+    }
+
+    private static Pattern likePattern(String argument) {
+        return Pattern.compile(
+                argument.replaceAll(RSQLProducerImpl.UNKNOWN_PART_PLACEHOLDER, ".*").replaceAll("%", ".*"));
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return numberFormat.get().parse(value).intValue();
         } catch (ParseException e) {
             throw new IllegalStateException("RSQL parse exception", e);
         }
     }
 
+    /**
+     * @return String value of the (nested) property, null when the property is null and {@link #NESTED_NULL} when an
+     *         intermediate property is null
+     */
+    private static Object getProperty(Object instance, String[] selector) {
+        Object value = instance;
+        for (int i = 0; i < selector.length; i++) {
+            if (value == null) {
+                return NESTED_NULL;
+            }
+            value = BeanProperties.getProperty(value, selector[i]);
+        }
+        if (value == null) {
+            return null;
+        }
+        return value.toString();
+    }
+
 }
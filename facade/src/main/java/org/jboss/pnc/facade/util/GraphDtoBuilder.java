@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.facade.util;
 
+import org.jboss.pnc.common.graph.IndexedGraph;
 import org.jboss.pnc.dto.response.Edge;
 import org.jboss.pnc.dto.response.Graph;
 import org.jboss.pnc.dto.response.Vertex;
@@ -35,13 +36,13 @@ import java.util.function.Function;
  */
 public class GraphDtoBuilder<S, T> {
     public Graph<T> from(
-            org.jboss.util.graph.Graph<S> graph,
+            IndexedGraph<S> graph,
             Class<T> dataType,
             Function<org.jboss.util.graph.Vertex<S>, T> dataMapper) {
         Map<String, Vertex<T>> vertices = new LinkedHashMap<>();
         List<Edge<T>> edges = new ArrayList<>();
 
-        for (org.jboss.util.graph.Vertex<S> vertex : graph.getVerticies()) {
+        for (org.jboss.util.graph.Vertex<S> vertex : graph.getVertices()) {
             Vertex<T> vertexRest = new Vertex<>(vertex.getName(), dataType.getName(), dataMapper.apply(vertex));
             vertices.put(vertexRest.getName(), vertexRest);
         }
@@ -0,0 +1,41 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jboss.pnc.enums.PageCountMode;
+
+import javax.enterprise.context.RequestScoped;
+
+/**
+ * How the paged collection requested by the current REST request should be counted.
+ */
+@RequestScoped
+@Getter
+@Setter
+public class PageCountContext {
+
+    private PageCountMode mode = PageCountMode.EXACT;
+
+    /**
+     * Identifies the collection that is being paged, so that the counts of the same collection can be reused. Null if
+     * it is unknown.
+     */
+    private String collectionKey;
+}
@@ -0,0 +1,142 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import org.jboss.pnc.enums.PageCountMode;
+import org.jboss.pnc.model.GenericEntity;
+import org.jboss.pnc.spi.datastore.repositories.TableStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the total hits of paged collections according to the {@link PageCountMode} of the current request. Outside
+ * of REST requests the hits are always counted exactly.
+ */
+@ApplicationScoped
+public class PageCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageCounter.class);
+
+    static final long CACHE_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    static final int MAX_CACHE_SIZE = 1_000;
+
+    private PageCountContext context;
+
+    private TableStatisticsRepository tableStatistics;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, CachedCount> cache = new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    @Deprecated // CDI workaround
+    public PageCounter() {
+        this.nanoClock = System::nanoTime;
+    }
+
+    @Inject
+    public PageCounter(PageCountContext context, TableStatisticsRepository tableStatistics) {
+        this(context, tableStatistics, System::nanoTime);
+    }
+
+    PageCounter(PageCountContext context, TableStatisticsRepository tableStatistics, LongSupplier nanoClock) {
+        this.context = context;
+        this.tableStatistics = tableStatistics;
+        this.nanoClock = nanoClock;
+    }
+
+    public PageCountMode getMode() {
+        try {
+            return context.getMode();
+        } catch (ContextNotActiveException e) {
+            return PageCountMode.EXACT;
+        }
+    }
+
+    /**
+     * Counts the hits of the collection of given entity type.
+     *
+     * @param entityType type of the counted entities
+     * @param unfiltered true if the collection contains all the entities of the type
+     * @param exactCount queries the exact count
+     */
+    public int count(Class<? extends GenericEntity<?>> entityType, boolean unfiltered, IntSupplier exactCount) {
+        switch (getMode()) {
+            case ESTIMATED:
+                if (unfiltered) {
+                    OptionalLong estimate = tableStatistics.estimateRowCount(entityType);
+                    if (estimate.isPresent()) {
+                        return (int) Math.min(estimate.getAsLong(), Integer.MAX_VALUE);
+                    }
+                }
+                return cachedCount(entityType, exactCount);
+            case CACHED:
+                return cachedCount(entityType, exactCount);
+            default:
+                return exactCount.getAsInt();
+        }
+    }
+
+    private int cachedCount(Class<? extends GenericEntity<?>> entityType, IntSupplier exactCount) {
+        String collectionKey = context.getCollectionKey();
+        if (collectionKey == null) {
+            return exactCount.getAsInt();
+        }
+        String key = entityType.getName() + ' ' + collectionKey;
+        long now = nanoClock.getAsLong();
+        synchronized (cache) {
+            CachedCount cached = cache.get(key);
+            if (cached != null && now - cached.countedAt < CACHE_TTL_NANOS) {
+                return cached.count;
+            }
+        }
+        int count = exactCount.getAsInt();
+        logger.trace("Caching count {} of {}.", count, key);
+        synchronized (cache) {
+            cache.put(key, new CachedCount(count, now));
+        }
+        return count;
+    }
+
+    private static class CachedCount {
+
+        private final int count;
+
+        private final long countedAt;
+
+        CachedCount(int count, long countedAt) {
+            this.count = count;
+            this.countedAt = countedAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the ids of the users that logged in, so they can be loaded by id (from the second-level cache) instead
+ * of being queried by username on every request. Also provides the locks that serialize creation of new users.
+ */
+@ApplicationScoped
+public class UserCache {
+
+    static final int MAX_CACHE_SIZE = 10_000;
+
+    private static final int CREATION_LOCKS = 64;
+
+    private final Map<String, Integer> userIds = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private final Object[] creationLocks = new Object[CREATION_LOCKS];
+
+    public UserCache() {
+        for (int i = 0; i < CREATION_LOCKS; i++) {
+            creationLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * @return the id of the user with given username or null if the user is not cached
+     */
+    public Integer getId(String username) {
+        synchronized (userIds) {
+            return userIds.get(username);
+        }
+    }
+
+    public void put(String username, Integer id) {
+        synchronized (userIds) {
+            userIds.put(username, id);
+        }
+    }
+
+    public void evict(String username) {
+        synchronized (userIds) {
+            userIds.remove(username);
+        }
+    }
+
+    /**
+     * @return the lock guarding creation of the user with given username; different usernames may share a lock
+     */
+    public Object creationLock(String username) {
+        return creationLocks[Math.floorMod(username.hashCode(), CREATION_LOCKS)];
+    }
+}
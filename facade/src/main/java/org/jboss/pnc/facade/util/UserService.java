@@ -47,6 +47,14 @@ public class UserService {
     @Inject
     private UserRepository repository;
 
+    @Inject
+    private UserCache userCache;
+
+    /**
+     * The user of this request, once it was looked up.
+     */
+    private User requestUser;
+
     public String currentUserToken() {
         logger.trace("Getting current user token using authenticationProvider: {}.", authenticationProvider.getId());
         LoggedInUser currentUser = authenticationProvider.getLoggedInUser(httpServletRequest);
@@ -62,6 +70,9 @@ public class UserService {
     }
 
     public User currentUser() {
+        if (requestUser != null) {
+            return requestUser;
+        }
         logger.trace("Getting current user using authenticationProvider: {}.", authenticationProvider.getId());
         LoggedInUser currentUser = authenticationProvider.getLoggedInUser(httpServletRequest);
         logger.trace("LoggedInUser: {}.", currentUser);
@@ -74,6 +85,7 @@ public class UserService {
         User user = getOrCreate(currentUser, username);
         user.setLoginToken(currentUser.getTokenString());
         logger.trace("Returning user: {}.", user);
+        requestUser = user;
         return user;
     }
 
@@ -85,11 +97,19 @@ public class UserService {
     }
 
     private User getOrCreate(LoggedInUser loggedInUser, String username) {
+        Integer id = userCache.getId(username);
+        if (id != null) {
+            User user = repository.queryById(id);
+            if (user != null && username.equals(user.getUsername())) {
+                return user;
+            }
+            userCache.evict(username);
+        }
+
         User user = repository.queryByPredicates(withUserName(username));
         if (user == null) {
             logger.debug("User not in database yet, creating new user: {}.", loggedInUser);
-            String syncObject = username.intern();
-            synchronized (syncObject) {
+            synchronized (userCache.creationLock(username)) {
                 user = repository.queryByPredicates(withUserName(username));
                 if (user == null) {
                     user = User.Builder.newBuilder()
@@ -102,6 +122,7 @@ public class UserService {
                 }
             }
         }
+        userCache.put(username, user.getId());
         return user;
     }
 }
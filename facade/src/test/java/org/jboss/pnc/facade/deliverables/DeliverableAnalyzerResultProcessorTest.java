@@ -18,9 +18,11 @@
 package org.jboss.pnc.facade.deliverables;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.jboss.pnc.api.deliverablesanalyzer.dto.Artifact;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.ArtifactType;
@@ -93,10 +95,21 @@ public class DeliverableAnalyzerResultProcessorTest {
                     .findAny()
                     .orElse(null);
         });
-        when(artifactRepository.save(any())).thenAnswer(new RepositorSave(artifacts));
-        when(artifactRepository.queryById(any())).thenAnswer(invocation -> {
-            Integer id = invocation.getArgument(0);
-            return artifacts.stream().filter(a -> id.equals(a.getId())).findAny().orElse(null);
+        RepositorSave<org.jboss.pnc.model.Artifact> artifactSave = new RepositorSave<>(artifacts);
+        when(artifactRepository.saveAll(any())).thenAnswer(invocation -> {
+            Collection<org.jboss.pnc.model.Artifact> toSave = invocation.getArgument(0);
+            return toSave.stream().map(artifactSave::save).collect(Collectors.toList());
+        });
+        when(artifactRepository.withIdentifierAndSha256s(any())).thenAnswer(invocation -> {
+            Set<org.jboss.pnc.model.Artifact.IdentifierSha256> identifierSha256s = invocation.getArgument(0);
+            return artifacts.stream()
+                    .filter(a -> identifierSha256s.contains(a.getIdentifierSha256()))
+                    .collect(Collectors.toSet());
+        });
+        when(artifactRepository.queryByIds(any())).thenAnswer(invocation -> {
+            // one artifact per id, like the database
+            Set<Integer> ids = new HashSet<>(invocation.<Set<Integer>> getArgument(0));
+            return artifacts.stream().filter(a -> ids.remove(a.getId())).collect(Collectors.toList());
         });
     }
 
@@ -264,7 +277,10 @@ public class DeliverableAnalyzerResultProcessorTest {
 
         @Override
         public T answer(InvocationOnMock invocation) throws Throwable {
-            T a = invocation.getArgument(0);
+            return save(invocation.getArgument(0));
+        }
+
+        T save(T a) {
             a.setId(id++);
             repository.add(a);
             return a;
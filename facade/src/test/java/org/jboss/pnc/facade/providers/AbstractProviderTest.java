@@ -22,6 +22,8 @@ import org.jboss.pnc.common.json.ConfigurationParseException;
 import org.jboss.pnc.common.json.GlobalModuleGroup;
 import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig;
 import org.jboss.pnc.facade.rsql.RSQLProducer;
+import org.jboss.pnc.facade.util.PageCountContext;
+import org.jboss.pnc.facade.util.PageCounter;
 import org.jboss.pnc.mapper.abstracts.AbstractArtifactMapper;
 import org.jboss.pnc.mapper.AbstractArtifactMapperImpl;
 import org.jboss.pnc.mapper.ArtifactRevisionMapperImpl;
@@ -170,6 +172,9 @@ public abstract class AbstractProviderTest<ID extends Serializable, T extends Ge
     @Mock
     protected EntityManager em;
 
+    @Spy
+    protected PageCounter pageCounter = new PageCounter(new PageCountContext(), null);
+
     @Spy
     @InjectMocks
     protected RefToReferenceMapper refMapper = new RefToReferenceMapper();
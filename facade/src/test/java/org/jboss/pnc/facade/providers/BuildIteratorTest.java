@@ -21,6 +21,7 @@ import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
 import org.jboss.pnc.spi.datastore.repositories.api.PageInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
@@ -35,6 +36,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -59,6 +61,9 @@ public class BuildIteratorTest {
     @Mock
     private BuildMapper mapper;
 
+    @Mock
+    private BuildConfigurationAuditedRepository buildConfigurationAuditedRepository;
+
     @InjectMocks
     private BuildProviderImpl provider;
 
@@ -110,6 +115,45 @@ public class BuildIteratorTest {
         assertEquals(Arrays.asList(7, 8, 9, 10, 11, 12), ret);
     }
 
+    @Test
+    public void testBuildIteratorSeeksAfterLastIdWhenSortedById() {
+        SortInfo sortInfo = mock(SortInfo.class);
+        when(sortInfo.getFields()).thenReturn(Collections.singletonList("id"));
+        when(sortInfo.getDirection()).thenReturn(SortInfo.SortingDirection.ASC);
+        Predicate<BuildRecord> predicate = mock(Predicate.class);
+        List<Integer> offsets = new ArrayList<>();
+        List<Integer> predicateCounts = new ArrayList<>();
+        long[] nextId = { 0 };
+        when(repository.queryWithPredicatesUsingCursor(any(), same(sortInfo), any()))
+                .thenAnswer((InvocationOnMock invocation) -> {
+                    PageInfo pageInfo = invocation.getArgument(0);
+                    offsets.add(pageInfo.getPageOffset());
+                    predicateCounts.add(invocation.getArguments().length - 2);
+                    if (pageInfo.getPageOffset() > 0) {
+                        nextId[0] = pageInfo.getPageOffset();
+                    }
+                    long first = nextId[0];
+                    nextId[0] += pageInfo.getPageSize();
+                    return LongStream.range(first, nextId[0])
+                            .mapToObj(Base32LongID::new)
+                            .map(BuildIteratorTest::mockBuildRecord)
+                            .collect(Collectors.toList());
+                });
+
+        BuildProviderImpl.BuildIterator bit = provider.new BuildIterator(5, 34, 10, sortInfo, predicate);
+        List<String> ret = new ArrayList<>();
+        while (bit.hasNext()) {
+            ret.add(bit.next().getId());
+        }
+
+        List<String> expected = LongStream.rangeClosed(5, 34)
+                .mapToObj(id -> BuildMapper.idMapper.toDto(new Base32LongID(id)))
+                .collect(Collectors.toList());
+        assertEquals(expected, ret);
+        assertEquals(Arrays.asList(5, 0, 0), offsets);
+        assertEquals(Arrays.asList(1, 2, 2), predicateCounts);
+    }
+
     private void mockRepository(SortInfo sortInfo, Predicate<BuildRecord> predicate) {
         when(repository.queryWithPredicatesUsingCursor(any(), same(sortInfo), same(predicate)))
                 .thenAnswer((InvocationOnMock invocation) -> {
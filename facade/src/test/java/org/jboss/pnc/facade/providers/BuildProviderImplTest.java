@@ -561,6 +561,30 @@ public class BuildProviderImplTest extends AbstractBase32LongIDProviderTest<Buil
         // Then should throw
     }
 
+    @Test
+    public void shouldGetBuildLogLength() {
+        BuildRecord record = mockBuildRecord();
+        when(repository.getBuildLogLength(record.getId())).thenReturn(42);
+
+        Integer length = provider.getBuildLogLength(BuildMapper.idMapper.toDto(record.getId()));
+
+        assertThat(length).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldReturnNullLogLengthWhenTheBuildHasNoLog() {
+        BuildRecord record = mockBuildRecord();
+
+        Integer length = provider.getBuildLogLength(BuildMapper.idMapper.toDto(record.getId()));
+
+        assertThat(length).isNull();
+    }
+
+    @Test(expected = EmptyEntityException.class)
+    public void shouldThrowAnExceptionWhenGettingLogOfNonExistingBuild() {
+        provider.getBuildLogLength(BuildMapper.idMapper.toDto(getNextId()));
+    }
+
     @Test
     public void dependencyGraphTest() {
         // given
@@ -55,8 +55,10 @@ import java.util.stream.Collectors;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.fail;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -436,6 +438,27 @@ public class RSQLPredicateProducerTest {
         assertEquals(BuildType.GRADLE, filtered.get(1).getBuildType());
     }
 
+    @Test
+    public void testStreamPredicateEmbededNull() {
+        Predicate<BuildConfiguration> isNull = producer.getStreamPredicate("project.name=ISNULL=true");
+        Predicate<BuildConfiguration> equal = producer.getStreamPredicate("project.name==\"Bar Project\"");
+
+        BuildConfiguration noProject = BuildConfiguration.builder().name("FooBar").build();
+
+        // a null intermediate property is considered a false equality
+        assertFalse(isNull.test(noProject));
+        assertFalse(equal.test(noProject));
+    }
+
+    @Test
+    public void testCompiledQueriesAreReused() {
+        Predicate<BuildConfiguration> streamPredicate = producer.getStreamPredicate("name==\"FooBar\"");
+        Comparator<BuildConfiguration> comparator = producer.getComparator("=desc=id");
+
+        assertSame(streamPredicate, producer.getStreamPredicate("name==\"FooBar\""));
+        assertSame(comparator, producer.getComparator("=desc=id"));
+    }
+
     private Answer<Path<?>> callBuildRecordPath() {
         return invocation -> toPath(invocation.getArgument(1), invocation.getArgument(2));
     }
@@ -0,0 +1,116 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import org.jboss.pnc.enums.PageCountMode;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.spi.datastore.repositories.TableStatisticsRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class PageCounterTest {
+
+    private final PageCountContext context = new PageCountContext();
+
+    private final TableStatisticsRepository tableStatistics = mock(TableStatisticsRepository.class);
+
+    private final AtomicInteger exactCounts = new AtomicInteger();
+
+    private long now = 0;
+
+    private PageCounter pageCounter;
+
+    @Before
+    public void setUp() {
+        pageCounter = new PageCounter(context, tableStatistics, () -> now);
+        context.setCollectionKey("/builds{q=[status==SUCCESS]}");
+    }
+
+    @Test
+    public void shouldCountExactlyByDefault() {
+        assertEquals(42, pageCounter.count(BuildRecord.class, true, this::exactCount));
+        assertEquals(42, pageCounter.count(BuildRecord.class, true, this::exactCount));
+
+        assertEquals(2, exactCounts.get());
+        verifyNoInteractions(tableStatistics);
+    }
+
+    @Test
+    public void shouldReuseCachedCountUntilItExpires() {
+        context.setMode(PageCountMode.CACHED);
+
+        assertEquals(42, pageCounter.count(BuildRecord.class, false, this::exactCount));
+        now += PageCounter.CACHE_TTL_NANOS - 1;
+        assertEquals(42, pageCounter.count(BuildRecord.class, false, this::exactCount));
+        assertEquals(1, exactCounts.get());
+
+        now += 1;
+        assertEquals(42, pageCounter.count(BuildRecord.class, false, this::exactCount));
+        assertEquals(2, exactCounts.get());
+    }
+
+    @Test
+    public void shouldNotShareCachedCountsOfDifferentCollections() {
+        context.setMode(PageCountMode.CACHED);
+
+        pageCounter.count(BuildRecord.class, false, this::exactCount);
+        context.setCollectionKey("/builds{q=[status==FAILED]}");
+        pageCounter.count(BuildRecord.class, false, this::exactCount);
+        context.setCollectionKey(null);
+        pageCounter.count(BuildRecord.class, false, this::exactCount);
+        pageCounter.count(BuildRecord.class, false, this::exactCount);
+
+        assertEquals(4, exactCounts.get());
+    }
+
+    @Test
+    public void shouldEstimateUnfilteredCollections() {
+        context.setMode(PageCountMode.ESTIMATED);
+        when(tableStatistics.estimateRowCount(BuildRecord.class)).thenReturn(OptionalLong.of(1_000_000L));
+
+        assertEquals(1_000_000, pageCounter.count(BuildRecord.class, true, this::exactCount));
+        assertEquals(0, exactCounts.get());
+
+        // filtered collections are counted exactly and cached
+        assertEquals(42, pageCounter.count(BuildRecord.class, false, this::exactCount));
+        assertEquals(42, pageCounter.count(BuildRecord.class, false, this::exactCount));
+        assertEquals(1, exactCounts.get());
+    }
+
+    @Test
+    public void shouldCountWhenEstimateIsNotAvailable() {
+        context.setMode(PageCountMode.ESTIMATED);
+        when(tableStatistics.estimateRowCount(BuildRecord.class)).thenReturn(OptionalLong.empty());
+
+        assertEquals(42, pageCounter.count(BuildRecord.class, true, this::exactCount));
+        assertEquals(1, exactCounts.get());
+    }
+
+    private int exactCount() {
+        exactCounts.incrementAndGet();
+        return 42;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import org.jboss.pnc.auth.AuthenticationProvider;
+import org.jboss.pnc.auth.LoggedInUser;
+import org.jboss.pnc.model.User;
+import org.jboss.pnc.spi.datastore.repositories.UserRepository;
+import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserServiceTest {
+
+    @Mock
+    private AuthenticationProvider authenticationProvider;
+
+    @Mock
+    private HttpServletRequest httpServletRequest;
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private LoggedInUser loggedInUser;
+
+    @Spy
+    private UserCache userCache = new UserCache();
+
+    @InjectMocks
+    private UserService userService;
+
+    private final User user = User.Builder.newBuilder().id(7).username("jdoe").build();
+
+    @Before
+    public void setUp() {
+        when(authenticationProvider.getLoggedInUser(httpServletRequest)).thenReturn(loggedInUser);
+        when(loggedInUser.getUserName()).thenReturn("jdoe");
+    }
+
+    @Test
+    public void shouldLookUpCurrentUserOncePerRequest() {
+        when(repository.queryByPredicates(any(Predicate.class))).thenReturn(user);
+
+        assertSame(user, userService.currentUser());
+        assertSame(user, userService.currentUser());
+
+        verify(repository, times(1)).queryByPredicates(any(Predicate.class));
+        assertEquals(Integer.valueOf(7), userCache.getId("jdoe"));
+    }
+
+    @Test
+    public void shouldLoadCachedUserById() {
+        userCache.put("jdoe", 7);
+        when(repository.queryById(7)).thenReturn(user);
+
+        assertSame(user, userService.currentUser());
+
+        verify(repository, never()).queryByPredicates(any(Predicate.class));
+    }
+
+    @Test
+    public void shouldEvictCachedUserWithDifferentUsername() {
+        User renamed = User.Builder.newBuilder().id(7).username("jsmith").build();
+        User other = User.Builder.newBuilder().id(8).username("jdoe").build();
+        userCache.put("jdoe", 7);
+        when(repository.queryById(7)).thenReturn(renamed);
+        when(repository.queryByPredicates(any(Predicate.class))).thenReturn(other);
+
+        assertSame(other, userService.currentUser());
+
+        assertEquals(Integer.valueOf(8), userCache.getId("jdoe"));
+    }
+}
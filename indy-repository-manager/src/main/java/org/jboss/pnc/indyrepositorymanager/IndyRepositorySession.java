@@ -40,6 +40,8 @@ import org.commonjava.indy.promote.model.AbstractPromoteResult;
 import org.commonjava.indy.promote.model.PathsPromoteRequest;
 import org.commonjava.indy.promote.model.PathsPromoteResult;
 import org.commonjava.indy.promote.model.ValidationResult;
+import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.constants.ReposiotryIdentifier;
 import org.jboss.pnc.enums.ArtifactQuality;
 import org.jboss.pnc.enums.BuildCategory;
@@ -73,7 +75,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.commonjava.indy.model.core.GenericPackageTypeDescriptor.GENERIC_PKG_KEY;
@@ -117,6 +124,16 @@ public class IndyRepositorySession implements RepositorySession {
 
     private BuildCategory buildCategory;
 
+    /**
+     * Number of concurrent tasks used to process the tracking report and to promote the dependencies.
+     */
+    private final int parallelism;
+
+    /**
+     * Maximum number of paths in a single dependency promotion request, larger path sets are split into more requests.
+     */
+    static final int PROMOTION_CHUNK_SIZE = 2_000;
+
     private static Set<String> checksumSuffixes;
     static {
         checksumSuffixes = new HashSet<>(4);
@@ -135,7 +152,8 @@ public class IndyRepositorySession implements RepositorySession {
             ArtifactFilter artifactFilter,
             String buildPromotionTarget,
             BuildCategory buildCategory,
-            boolean isTempBuild) {
+            boolean isTempBuild,
+            int parallelism) {
         this.validator = validatorFactory.getValidator();
         this.indy = indy;
         this.serviceAccountIndy = serviceAccountIndy;
@@ -146,6 +164,7 @@ public class IndyRepositorySession implements RepositorySession {
         this.buildPromotionTarget = buildPromotionTarget;
         this.buildCategory = buildCategory;
         this.isTempBuild = isTempBuild;
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -316,11 +335,17 @@ public class IndyRepositorySession implements RepositorySession {
         if (CollectionUtils.isEmpty(downloads)) {
             deps = Collections.emptyList();
         } else {
-            deps = collectDownloadedArtifacts(report);
+            ExecutorService executor = MDCExecutors
+                    .newFixedThreadPool(parallelism, new NamedThreadFactory("indy-downloads-" + buildContentId));
+            try {
+                deps = collectDownloadedArtifacts(report, executor);
 
-            if (promote) {
-                Map<StoreKey, Map<StoreKey, Set<String>>> depMap = collectDownloadsPromotionMap(downloads);
-                promoteDownloads(depMap);
+                if (promote) {
+                    Map<StoreKey, Map<StoreKey, Set<String>>> depMap = collectDownloadsPromotionMap(downloads);
+                    promoteDownloads(depMap, executor);
+                }
+            } finally {
+                executor.shutdownNow();
             }
         }
 
@@ -328,7 +353,8 @@ public class IndyRepositorySession implements RepositorySession {
         return deps;
     }
 
-    private List<Artifact> collectDownloadedArtifacts(TrackedContentDTO report) throws RepositoryManagerException {
+    private List<Artifact> collectDownloadedArtifacts(TrackedContentDTO report, ExecutorService executor)
+            throws RepositoryManagerException, PromotionValidationException {
         IndyContentClientModule content;
         try {
             content = indy.content();
@@ -339,7 +365,25 @@ public class IndyRepositorySession implements RepositorySession {
                     e.getMessage());
         }
 
-        Set<TrackedContentEntryDTO> downloads = report.getDownloads();
+        // the entries are processed in parallel, one slice of the report by each task
+        List<TrackedContentEntryDTO> downloads = new ArrayList<>(report.getDownloads());
+        int sliceSize = (downloads.size() + parallelism - 1) / parallelism;
+        List<Callable<List<Artifact>>> tasks = new ArrayList<>();
+        for (int from = 0; from < downloads.size(); from += sliceSize) {
+            List<TrackedContentEntryDTO> slice = downloads.subList(from, Math.min(from + sliceSize, downloads.size()));
+            tasks.add(() -> collectDownloadedArtifacts(slice, content));
+        }
+
+        List<Artifact> deps = new ArrayList<>(downloads.size());
+        for (List<Artifact> sliceDeps : runAll(tasks, executor)) {
+            deps.addAll(sliceDeps);
+        }
+        return deps;
+    }
+
+    private List<Artifact> collectDownloadedArtifacts(
+            List<TrackedContentEntryDTO> downloads,
+            IndyContentClientModule content) throws RepositoryManagerException {
         List<Artifact> deps = new ArrayList<>(downloads.size());
         for (TrackedContentEntryDTO download : downloads) {
             String path = download.getPath();
@@ -436,53 +480,159 @@ public class IndyRepositorySession implements RepositorySession {
      * Promotes by path downloads captured in given map. The key in the map is promotion target store key. The value is
      * another map, where key is promotion source store key and value is list of paths to be promoted.
      *
+     * The promotions run concurrently. Targets that are set read-only after promotion are promoted from one source
+     * after another in a single task, as a failure to set the read-only flag rolls back the whole request. Paths for
+     * the other targets are promoted in chunks of {@link #PROMOTION_CHUNK_SIZE} paths each. No new promotion is started
+     * after one of them fails.
+     *
      * @param depMap dependencies map
+     * @param executor executor running the promotions
      * @throws RepositoryManagerException in case of an unexpected error during promotion
      * @throws PromotionValidationException when the promotion process results in an error due to validation failure
      */
-    private void promoteDownloads(Map<StoreKey, Map<StoreKey, Set<String>>> depMap)
+    void promoteDownloads(Map<StoreKey, Map<StoreKey, Set<String>>> depMap, ExecutorService executor)
             throws RepositoryManagerException, PromotionValidationException {
+        List<Callable<Void>> tasks = new ArrayList<>();
         for (Map.Entry<StoreKey, Map<StoreKey, Set<String>>> targetToSources : depMap.entrySet()) {
             StoreKey target = targetToSources.getKey();
-            for (Map.Entry<StoreKey, Set<String>> sourceToPaths : targetToSources.getValue().entrySet()) {
-                StoreKey source = sourceToPaths.getKey();
-                PathsPromoteRequest req = new PathsPromoteRequest(source, target, sourceToPaths.getValue())
-                        .setPurgeSource(false);
-                // set read-only only the generic http proxy hosted repos, not shared-imports
-                boolean readonly = !isTempBuild && GENERIC_PKG_KEY.equals(target.getPackageType());
-
-                StopWatch stopWatchDoPromote = StopWatch.createStarted();
+            // set read-only only the generic http proxy hosted repos, not shared-imports
+            boolean readonly = !isTempBuild && GENERIC_PKG_KEY.equals(target.getPackageType());
+
+            if (readonly) {
+                List<PathsPromoteRequest> requests = new ArrayList<>();
+                for (Map.Entry<StoreKey, Set<String>> sourceToPaths : targetToSources.getValue().entrySet()) {
+                    requests.add(
+                            new PathsPromoteRequest(sourceToPaths.getKey(), target, sourceToPaths.getValue())
+                                    .setPurgeSource(false));
+                }
+                tasks.add(() -> {
+                    for (PathsPromoteRequest req : requests) {
+                        promoteDownloads(req, true);
+                    }
+                    return null;
+                });
+            } else {
+                for (Map.Entry<StoreKey, Set<String>> sourceToPaths : targetToSources.getValue().entrySet()) {
+                    for (Set<String> paths : chunk(sourceToPaths.getValue(), PROMOTION_CHUNK_SIZE)) {
+                        PathsPromoteRequest req = new PathsPromoteRequest(sourceToPaths.getKey(), target, paths)
+                                .setPurgeSource(false);
+                        tasks.add(() -> {
+                            promoteDownloads(req, false);
+                            return null;
+                        });
+                    }
+                }
+            }
+        }
+        runAll(tasks, executor);
+    }
+
+    private void promoteDownloads(PathsPromoteRequest req, boolean readonly)
+            throws RepositoryManagerException, PromotionValidationException {
+        StopWatch stopWatchDoPromote = StopWatch.createStarted();
+        try {
+            logger.info(
+                    "BEGIN: doPromoteByPath: source: '{}', target: '{}', readonly: {}",
+                    req.getSource().toString(),
+                    req.getTarget().toString(),
+                    readonly);
+            userLog.info(
+                    "Promoting {} dependencies from {} to {}",
+                    req.getPaths().size(),
+                    req.getSource(),
+                    req.getTarget());
+
+            doPromoteByPath(req, false, readonly);
+
+            logger.info(
+                    "END: doPromoteByPath: source: '{}', target: '{}', readonly: {}, took: {} seconds",
+                    req.getSource().toString(),
+                    req.getTarget().toString(),
+                    readonly,
+                    stopWatchDoPromote.getTime(TimeUnit.SECONDS));
+        } catch (RepositoryManagerException ex) {
+            logger.info(
+                    "END: doPromoteByPath: source: '{}', target: '{}', readonly: {}, took: {} seconds",
+                    req.getSource().toString(),
+                    req.getTarget().toString(),
+                    readonly,
+                    stopWatchDoPromote.getTime(TimeUnit.SECONDS));
+            throw ex;
+        }
+    }
+
+    static List<Set<String>> chunk(Set<String> paths, int chunkSize) {
+        if (paths.size() <= chunkSize) {
+            return Collections.singletonList(paths);
+        }
+        List<Set<String>> chunks = new ArrayList<>();
+        Set<String> chunk = new HashSet<>();
+        for (String path : paths) {
+            chunk.add(path);
+            if (chunk.size() == chunkSize) {
+                chunks.add(chunk);
+                chunk = new HashSet<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Runs the tasks on the executor and waits until all of them finish. Once a task fails, the tasks that haven't
+     * started yet are skipped.
+     *
+     * @return results of the tasks in the order of the tasks
+     * @throws RepositoryManagerException when a task fails with it or with an unexpected exception
+     * @throws PromotionValidationException when a task fails with it
+     */
+    private <T> List<T> runAll(List<Callable<T>> tasks, ExecutorService executor)
+            throws RepositoryManagerException, PromotionValidationException {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                if (failed.get()) {
+                    return null;
+                }
                 try {
-                    logger.info(
-                            "BEGIN: doPromoteByPath: source: '{}', target: '{}', readonly: {}",
-                            req.getSource().toString(),
-                            req.getTarget().toString(),
-                            readonly);
-                    userLog.info(
-                            "Promoting {} dependencies from {} to {}",
-                            req.getPaths().size(),
-                            req.getSource(),
-                            req.getTarget());
-
-                    doPromoteByPath(req, false, readonly);
-
-                    logger.info(
-                            "END: doPromoteByPath: source: '{}', target: '{}', readonly: {}, took: {} seconds",
-                            req.getSource().toString(),
-                            req.getTarget().toString(),
-                            readonly,
-                            stopWatchDoPromote.getTime(TimeUnit.SECONDS));
-                } catch (RepositoryManagerException ex) {
-                    logger.info(
-                            "END: doPromoteByPath: source: '{}', target: '{}', readonly: {}, took: {} seconds",
-                            req.getSource().toString(),
-                            req.getTarget().toString(),
-                            readonly,
-                            stopWatchDoPromote.getTime(TimeUnit.SECONDS));
-                    throw ex;
+                    return task.call();
+                } catch (Exception e) {
+                    failed.set(true);
+                    throw e;
                 }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        Throwable failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.set(true);
+                futures.forEach(f -> f.cancel(true));
+                throw new RepositoryManagerException("Interrupted while waiting for Indy operations to finish.", e);
             }
         }
+
+        if (failure instanceof PromotionValidationException) {
+            throw (PromotionValidationException) failure;
+        } else if (failure instanceof RepositoryManagerException) {
+            throw (RepositoryManagerException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) {
+            throw new RepositoryManagerException("Unexpected error: %s", failure, failure.getMessage());
+        }
+        return results;
     }
 
     private StoreKey getPromotionTarget(String packageType, Map<String, StoreKey> promotionTargets) {
@@ -128,6 +128,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
 
     private final String INDY_SIDECAR_URL;
 
+    private final int PROMOTION_PARALLELISM;
+
     @Deprecated
     public RepositoryManagerDriver() { // workaround for CDI constructor parameter injection bug
         this.DEFAULT_REQUEST_TIMEOUT = 0;
@@ -136,6 +138,7 @@ public class RepositoryManagerDriver implements RepositoryManager {
         this.BREW_PULL_ACTIVE_METADATA_KEY = "";
         this.INDY_SIDECAR_ENABLED = false;
         this.INDY_SIDECAR_URL = "";
+        this.PROMOTION_PARALLELISM = 1;
     }
 
     @Inject
@@ -156,6 +159,7 @@ public class RepositoryManagerDriver implements RepositoryManager {
         this.BREW_PULL_ACTIVE_METADATA_KEY = indyDriverConfig.getBrewPullActiveMetadataKey();
         this.INDY_SIDECAR_ENABLED = indyDriverConfig.isIndySidecarEnabled();
         this.INDY_SIDECAR_URL = indyDriverConfig.getIndySidecarUrl();
+        this.PROMOTION_PARALLELISM = Math.max(1, indyDriverConfig.getPromotionParallelism());
 
         baseUrl = StringUtils.stripEnd(globalConfig.getIndyUrl(), "/");
         if (!baseUrl.endsWith("/api")) {
@@ -192,8 +196,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
         try {
             SiteConfig siteConfig = new SiteConfigBuilder("indy", baseUrl)
                     .withRequestTimeoutSeconds(DEFAULT_REQUEST_TIMEOUT) // TODO config
-                    // this client is used in single build, we don't need more than 1 connection at a time
-                    .withMaxConnections(1)
+                    // this client is used in single build, only the dependency promotions run concurrently
+                    .withMaxConnections(PROMOTION_PARALLELISM)
                     .build();
 
             IndyClientModule[] modules = new IndyClientModule[] { new IndyFoloAdminClientModule(),
@@ -322,7 +326,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
                 artifactFilter,
                 buildPromotionTarget,
                 buildCategory,
-                tempBuild);
+                tempBuild,
+                PROMOTION_PARALLELISM);
     }
 
     private BuildCategory getBuildCategory(Map<String, String> genericParameters) {
@@ -375,7 +380,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
                 artifactFilter,
                 buildPromotionTarget,
                 buildCategory,
-                tempBuild);
+                tempBuild,
+                PROMOTION_PARALLELISM);
         return session.extractBuildArtifacts(false);
     }
 
@@ -0,0 +1,309 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.indyrepositorymanager;
+
+import org.commonjava.indy.client.core.Indy;
+import org.commonjava.indy.client.core.module.IndyStoresClientModule;
+import org.commonjava.indy.model.core.HostedRepository;
+import org.commonjava.indy.model.core.StoreKey;
+import org.commonjava.indy.model.core.StoreType;
+import org.commonjava.indy.promote.client.IndyPromoteClientModule;
+import org.commonjava.indy.promote.model.PathsPromoteRequest;
+import org.commonjava.indy.promote.model.PathsPromoteResult;
+import org.jboss.pnc.enums.BuildCategory;
+import org.jboss.pnc.spi.repositorymanager.RepositoryManagerException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.commonjava.indy.model.core.GenericPackageTypeDescriptor.GENERIC_PKG_KEY;
+import static org.commonjava.indy.pkg.maven.model.MavenPackageTypeDescriptor.MAVEN_PKG_KEY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndyRepositorySessionTest {
+
+    private final IndyPromoteClientModule promoter = mock(IndyPromoteClientModule.class);
+
+    private final List<PathsPromoteRequest> promoted = new CopyOnWriteArrayList<>();
+
+    private IndyRepositorySession session;
+
+    private CountingExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        Indy serviceAccountIndy = mock(Indy.class);
+        when(serviceAccountIndy.module(IndyPromoteClientModule.class)).thenReturn(promoter);
+        IndyStoresClientModule stores = mock(IndyStoresClientModule.class);
+        when(serviceAccountIndy.stores()).thenReturn(stores);
+        when(stores.load(any(StoreKey.class), eq(HostedRepository.class)))
+                .thenAnswer(invocation -> new HostedRepository(GENERIC_PKG_KEY, "h-readonly"));
+
+        session = new IndyRepositorySession(
+                null,
+                serviceAccountIndy,
+                "build-1",
+                MAVEN_PKG_KEY,
+                null,
+                null,
+                "pnc-builds",
+                BuildCategory.STANDARD,
+                false,
+                4);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void shouldNotChunkSmallPathSet() {
+        Set<String> paths = paths(3);
+
+        List<Set<String>> chunks = IndyRepositorySession.chunk(paths, 3);
+
+        assertEquals(1, chunks.size());
+        assertSame(paths, chunks.get(0));
+    }
+
+    @Test
+    public void shouldChunkLargePathSet() {
+        Set<String> paths = paths(7);
+
+        List<Set<String>> chunks = IndyRepositorySession.chunk(paths, 3);
+
+        assertEquals(3, chunks.size());
+        assertEquals(3, chunks.get(0).size());
+        assertEquals(3, chunks.get(1).size());
+        assertEquals(1, chunks.get(2).size());
+        Set<String> all = new HashSet<>();
+        chunks.forEach(all::addAll);
+        assertEquals(paths, all);
+    }
+
+    @Test
+    public void shouldPromoteReadonlyTargetSequentiallyInOneTask() throws Exception {
+        // given
+        executor = new CountingExecutor(4);
+        StoreKey readonlyTarget = new StoreKey(GENERIC_PKG_KEY, StoreType.hosted, "h-readonly");
+        StoreKey sharedImports = new StoreKey(MAVEN_PKG_KEY, StoreType.hosted, "shared-imports");
+        Map<StoreKey, Map<StoreKey, Set<String>>> depMap = new LinkedHashMap<>();
+        depMap.put(readonlyTarget, sources(GENERIC_PKG_KEY, 3, 1));
+        depMap.put(sharedImports, sources(MAVEN_PKG_KEY, 2, IndyRepositorySession.PROMOTION_CHUNK_SIZE + 1));
+
+        Map<StoreKey, AtomicInteger> running = new ConcurrentHashMap<>();
+        Map<StoreKey, Integer> maxRunning = new ConcurrentHashMap<>();
+        when(promoter.promoteByPath(any(PathsPromoteRequest.class))).thenAnswer(invocation -> {
+            PathsPromoteRequest req = invocation.getArgument(0);
+            int now = running.computeIfAbsent(req.getTarget(), t -> new AtomicInteger()).incrementAndGet();
+            maxRunning.merge(req.getTarget(), now, Math::max);
+            Thread.sleep(20);
+            running.get(req.getTarget()).decrementAndGet();
+            promoted.add(req);
+            return succeeded();
+        });
+
+        // when
+        session.promoteDownloads(depMap, executor);
+
+        // then one task for the read-only target, two chunks for each of the two sources of shared-imports
+        assertEquals(5, executor.submitted.get());
+        assertEquals(3 + 4, promoted.size());
+        assertEquals(Integer.valueOf(1), maxRunning.get(readonlyTarget));
+    }
+
+    @Test
+    public void shouldNotStartPromotionsAfterFailure() throws Exception {
+        // given
+        executor = new CountingExecutor(1);
+        Map<StoreKey, Map<StoreKey, Set<String>>> depMap = new LinkedHashMap<>();
+        depMap.put(new StoreKey(MAVEN_PKG_KEY, StoreType.hosted, "shared-imports"), sources(MAVEN_PKG_KEY, 3, 1));
+        when(promoter.promoteByPath(any(PathsPromoteRequest.class))).thenAnswer(invocation -> {
+            promoted.add(invocation.getArgument(0));
+            return failed();
+        });
+
+        // when
+        try {
+            session.promoteDownloads(depMap, executor);
+            fail("Expected the promotion to fail.");
+        } catch (PromotionValidationException e) {
+            // expected
+        }
+
+        // then
+        assertEquals(3, executor.submitted.get());
+        assertEquals(1, promoted.size());
+    }
+
+    @Test
+    public void shouldRethrowFirstFailureInTaskOrder() throws Exception {
+        // given
+        executor = new CountingExecutor(2);
+        StoreKey first = new StoreKey(MAVEN_PKG_KEY, StoreType.hosted, "first");
+        StoreKey second = new StoreKey(MAVEN_PKG_KEY, StoreType.hosted, "second");
+        Map<StoreKey, Map<StoreKey, Set<String>>> depMap = new LinkedHashMap<>();
+        depMap.put(first, sources(MAVEN_PKG_KEY, 1, 1));
+        depMap.put(second, sources(MAVEN_PKG_KEY, 1, 1));
+
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondFailed = new CountDownLatch(1);
+        when(promoter.promoteByPath(any(PathsPromoteRequest.class))).thenAnswer(invocation -> {
+            PathsPromoteRequest req = invocation.getArgument(0);
+            if (req.getTarget().equals(second)) {
+                // fail only after the first task started, so that it isn't skipped
+                assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+                secondFailed.countDown();
+                return failed();
+            }
+            firstStarted.countDown();
+            // the first task fails only after the second one did
+            assertTrue(secondFailed.await(10, TimeUnit.SECONDS));
+            throw new IllegalStateException("first");
+        });
+
+        // when
+        try {
+            session.promoteDownloads(depMap, executor);
+            fail("Expected the promotion to fail.");
+        } catch (IllegalStateException e) {
+            // then
+            assertEquals("first", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCancelPromotionsWhenInterrupted() throws Exception {
+        // given
+        executor = new CountingExecutor(1);
+        Map<StoreKey, Map<StoreKey, Set<String>>> depMap = new LinkedHashMap<>();
+        depMap.put(new StoreKey(MAVEN_PKG_KEY, StoreType.hosted, "shared-imports"), sources(MAVEN_PKG_KEY, 2, 1));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch promotionInterrupted = new CountDownLatch(1);
+        when(promoter.promoteByPath(any(PathsPromoteRequest.class))).thenAnswer(invocation -> {
+            promoted.add(invocation.getArgument(0));
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                promotionInterrupted.countDown();
+                throw e;
+            }
+            return succeeded();
+        });
+
+        AtomicReference<Exception> thrown = new AtomicReference<>();
+        AtomicReference<Boolean> interruptFlag = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                session.promoteDownloads(depMap, executor);
+            } catch (Exception e) {
+                thrown.set(e);
+            }
+            interruptFlag.set(Thread.currentThread().isInterrupted());
+        });
+
+        // when
+        caller.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(10_000);
+
+        // then
+        assertTrue(thrown.get() instanceof RepositoryManagerException);
+        assertEquals(Boolean.TRUE, interruptFlag.get());
+        assertTrue(promotionInterrupted.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, promoted.size());
+    }
+
+    private static PathsPromoteResult succeeded() {
+        PathsPromoteResult result = mock(PathsPromoteResult.class);
+        when(result.succeeded()).thenReturn(true);
+        return result;
+    }
+
+    private static PathsPromoteResult failed() {
+        PathsPromoteResult result = mock(PathsPromoteResult.class);
+        when(result.succeeded()).thenReturn(false);
+        return result;
+    }
+
+    private static Map<StoreKey, Set<String>> sources(String packageType, int sources, int pathsPerSource) {
+        Map<StoreKey, Set<String>> sourceToPaths = new LinkedHashMap<>();
+        for (int i = 0; i < sources; i++) {
+            Set<String> paths = new HashSet<>();
+            for (int j = 0; j < pathsPerSource; j++) {
+                paths.add("/org/foo/source-" + i + "/" + j + "/bar-" + j + ".jar");
+            }
+            sourceToPaths.put(new StoreKey(packageType, StoreType.remote, "source-" + i), paths);
+        }
+        return Collections.unmodifiableMap(sourceToPaths);
+    }
+
+    private Set<String> paths(int count) {
+        Set<String> paths = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            paths.add("/org/foo/bar/" + i + "/bar-" + i + ".jar");
+        }
+        return paths;
+    }
+
+    private static class CountingExecutor extends ThreadPoolExecutor {
+
+        private final AtomicInteger submitted = new AtomicInteger();
+
+        private CountingExecutor(int threads) {
+            super(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submitted.incrementAndGet();
+            super.execute(command);
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.messaging.spi;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -37,4 +38,11 @@ public interface MessageSender {
     void sendToTopic(String message);
 
     void sendToTopic(String message, Map<String, String> headers);
+
+    /**
+     * @return sender specific metrics, like the number of sent messages or the send latency
+     */
+    default Map<String, Number> getMetrics() {
+        return Collections.emptyMap();
+    }
 }
@@ -26,6 +26,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
 import javax.ejb.Singleton;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -37,16 +39,23 @@ import javax.jms.Session;
 import javax.jms.TextMessage;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
+ * Sessions and producers are kept open and reused for subsequent messages. They are pooled, so that concurrent senders
+ * don't have to wait for each other.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @Singleton
+@Lock(LockType.READ)
 @Slf4j
 public class DefaultMessageSender implements MessageSender {
 
     private Logger logger = LoggerFactory.getLogger(DefaultMessageSender.class);
     private static final int DEFAULT_MESSAGE_SEND_RETRIES = 3;
+    private static final int MAX_POOLED_PRODUCERS = 8;
 
     @Resource(mappedName = "java:/ConnectionFactory")
     protected ConnectionFactory connectionFactory;
@@ -54,7 +63,11 @@ public class DefaultMessageSender implements MessageSender {
     @Resource(lookup = "java:/jms/queue/pncTopic")
     protected Destination destination;
 
-    protected Connection connection;
+    protected volatile Connection connection;
+
+    private final BlockingQueue<PooledProducer> producerPool = new ArrayBlockingQueue<>(MAX_POOLED_PRODUCERS);
+
+    protected final SendMetrics sendMetrics = new SendMetrics();
 
     @Override
     public String getMessageSenderId() {
@@ -63,6 +76,11 @@ public class DefaultMessageSender implements MessageSender {
 
     @Override
     public void init() {
+        connect();
+    }
+
+    private synchronized void connect() {
+        Connection oldConnection = connection;
         try {
             connection = connectionFactory.createConnection();
             logger.info("JMS client ID {}.", connection.getClientID());
@@ -71,6 +89,19 @@ public class DefaultMessageSender implements MessageSender {
         } catch (Exception e) {
             throw new MessagingRuntimeException("Failed to initialize JMS.", e);
         }
+        closePooledProducers();
+        closeConnection(oldConnection);
+    }
+
+    /**
+     * Sets up a new connection unless somebody else already replaced the failed one.
+     *
+     * @param failedConnection connection used by the failed operation
+     */
+    protected synchronized void reconnect(Connection failedConnection) {
+        if (connection == failedConnection) {
+            connect();
+        }
     }
 
     @PreDestroy
@@ -79,6 +110,11 @@ public class DefaultMessageSender implements MessageSender {
     }
 
     protected void closeConnection() {
+        closePooledProducers();
+        closeConnection(connection);
+    }
+
+    private void closeConnection(Connection connection) {
         if (connection != null) {
             try {
                 connection.close();
@@ -88,6 +124,13 @@ public class DefaultMessageSender implements MessageSender {
         }
     }
 
+    private void closePooledProducers() {
+        PooledProducer pooledProducer;
+        while ((pooledProducer = producerPool.poll()) != null) {
+            pooledProducer.close();
+        }
+    }
+
     @Override
     public void sendToTopic(Message message) {
         sendToTopic(message.toJson());
@@ -108,6 +151,11 @@ public class DefaultMessageSender implements MessageSender {
         doSendMessage(message, headers);
     }
 
+    @Override
+    public Map<String, Number> getMetrics() {
+        return sendMetrics.toMap();
+    }
+
     /**
      * @param message
      * @param headers
@@ -118,39 +166,64 @@ public class DefaultMessageSender implements MessageSender {
     }
 
     private void doSendMessagePrivate(String message, Map<String, String> headers, int retries) {
-        Session session = null;
-        MessageProducer messageProducer = null;
+        Connection usedConnection = connection;
+        PooledProducer pooledProducer = null;
+        long start = System.nanoTime();
         try {
-            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            messageProducer = session.createProducer(destination);
-            sendUsingProducer(message, headers, session, messageProducer);
+            pooledProducer = borrowProducer();
+            usedConnection = pooledProducer.connection;
+            sendUsingProducer(message, headers, pooledProducer.session, pooledProducer.producer);
+            sendMetrics.sent(1, System.nanoTime() - start);
+            releaseProducer(pooledProducer);
         } catch (Exception e) {
+            if (pooledProducer != null) {
+                pooledProducer.close();
+            }
             if (retries <= 1) {
                 // give up
+                sendMetrics.failed(1);
                 throw new MessagingRuntimeException(
                         "Cannot send the message: " + message + "; with headers: " + headers + ".",
                         e);
             } else {
                 sleep(retries);
                 // try to set up a new connection on exception for the next message
-                init();
+                reconnect(usedConnection);
                 doSendMessagePrivate(message, headers, retries - 1);
             }
-        } finally {
-            if (session != null) {
-                try {
-                    session.close();
-                } catch (JMSException e) {
-                    logger.error("Cannot close JMS session.");
-                }
-            }
-            if (messageProducer != null) {
-                try {
-                    messageProducer.close();
-                } catch (JMSException e) {
-                    logger.error("Cannot close JMS messageProducer.");
-                }
+        }
+    }
+
+    private PooledProducer borrowProducer() throws JMSException {
+        PooledProducer pooledProducer;
+        while ((pooledProducer = producerPool.poll()) != null) {
+            if (pooledProducer.connection == connection) {
+                return pooledProducer;
             }
+            // created by a connection that has been replaced already
+            pooledProducer.close();
+        }
+        return createProducer(false);
+    }
+
+    private void releaseProducer(PooledProducer pooledProducer) {
+        if (pooledProducer.connection != connection || !producerPool.offer(pooledProducer)) {
+            pooledProducer.close();
+        }
+    }
+
+    /**
+     * Creates a new session and producer. The caller is responsible for closing them.
+     */
+    protected PooledProducer createProducer(boolean transacted) throws JMSException {
+        Connection currentConnection = connection;
+        Session session = currentConnection
+                .createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE);
+        try {
+            return new PooledProducer(currentConnection, session, session.createProducer(destination));
+        } catch (JMSException e) {
+            session.close();
+            throw e;
         }
     }
 
@@ -211,4 +284,35 @@ public class DefaultMessageSender implements MessageSender {
             log.warn("Sleeping was interrupted", e);
         }
     }
+
+    /**
+     * JMS session with its producer. Session must not be used by multiple threads at the same time.
+     */
+    protected static class PooledProducer {
+
+        protected final Connection connection;
+
+        protected final Session session;
+
+        protected final MessageProducer producer;
+
+        PooledProducer(Connection connection, Session session, MessageProducer producer) {
+            this.connection = connection;
+            this.session = session;
+            this.producer = producer;
+        }
+
+        protected void close() {
+            try {
+                producer.close();
+            } catch (JMSException e) {
+                log.error("Cannot close JMS messageProducer.");
+            }
+            try {
+                session.close();
+            } catch (JMSException e) {
+                log.error("Cannot close JMS session.");
+            }
+        }
+    }
 }
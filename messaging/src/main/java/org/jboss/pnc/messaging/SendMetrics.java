@@ -0,0 +1,66 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.messaging;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the sent JMS messages and of the time spent sending them.
+ */
+public class SendMetrics {
+
+    private final LongAdder sentCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder totalSendNanos = new LongAdder();
+
+    private final AtomicLong maxSendNanos = new AtomicLong();
+
+    /**
+     * @param messages number of messages sent in one go
+     * @param nanos time it took to send the messages
+     */
+    public void sent(int messages, long nanos) {
+        sentCount.add(messages);
+        totalSendNanos.add(nanos);
+        maxSendNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void failed(int messages) {
+        failedCount.add(messages);
+    }
+
+    public Map<String, Number> toMap() {
+        long sent = sentCount.sum();
+        long totalNanos = totalSendNanos.sum();
+
+        Map<String, Number> metrics = new TreeMap<>();
+        metrics.put("messaging.sent.count", sent);
+        metrics.put("messaging.failed.count", failedCount.sum());
+        metrics.put(
+                "messaging.send.latency.avg.micros",
+                sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos / sent));
+        metrics.put("messaging.send.latency.max.micros", TimeUnit.NANOSECONDS.toMicros(maxSendNanos.get()));
+        return metrics;
+    }
+}
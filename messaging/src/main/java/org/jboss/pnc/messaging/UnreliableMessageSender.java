@@ -33,12 +33,15 @@ import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Message sender does not guarantee message delivery to MQ. Unsent messages are logged as errors.
  *
+ * Messages are queued in a bounded queue and sent asynchronously by a single thread. Messages that piled up in the
+ * queue are sent in batches committed in a single JMS transaction.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @Singleton
@@ -46,12 +49,19 @@ public class UnreliableMessageSender extends DefaultMessageSender implements Mes
 
     private Logger logger = LoggerFactory.getLogger(UnreliableMessageSender.class);
 
-    private BlockingQueue<Runnable> workQueue;
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private BlockingQueue<SendTask> workQueue;
 
     private ExecutorService executor;
 
     private int workQueueSize;
 
+    /**
+     * Transacted session used for batches, confined to the executor thread.
+     */
+    private PooledProducer batchProducer;
+
     public UnreliableMessageSender() {
         workQueueSize = 1000;
     }
@@ -72,11 +82,21 @@ public class UnreliableMessageSender extends DefaultMessageSender implements Mes
 
     @Override
     public void init() {
-        workQueue = new ArrayBlockingQueue<>(workQueueSize);
-        RejectedExecutionHandler handler = (r, executor) -> logUnsent(r);
-        executor = new MDCThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, workQueue, handler);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        BlockingQueue<SendTask> queue = new ArrayBlockingQueue<>(workQueueSize);
+        workQueue = queue;
+        executor = new MDCThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
 
-        executor.execute(super::init);
+        executor.execute(() -> {
+            try {
+                super.init();
+            } catch (MessagingRuntimeException e) {
+                logger.error("Cannot connect to JMS, will try again with the next message.", e);
+            }
+            processQueue(queue);
+        });
     }
 
     @Override
@@ -84,10 +104,9 @@ public class UnreliableMessageSender extends DefaultMessageSender implements Mes
     public void destroy() {
         logger.info("Destroying JMS sender.");
         logger.debug("There are {} messages in queue.", workQueue.size());
-        List<Runnable> unSentMessages = executor.shutdownNow();
-        unSentMessages.forEach(this::logUnsent);
+        executor.shutdownNow();
 
-        List<Runnable> messagesInQueue = new ArrayList<>();
+        List<SendTask> messagesInQueue = new ArrayList<>();
         workQueue.drainTo(messagesInQueue);
         messagesInQueue.forEach(this::logUnsent);
 
@@ -95,19 +114,73 @@ public class UnreliableMessageSender extends DefaultMessageSender implements Mes
         logger.info("JMS sender destroyed.");
     }
 
-    private void logUnsent(Runnable r) {
-        if (r instanceof SendTask) {
-            SendTask sendTask = (SendTask) r;
-            logger.error("Unable to send JMS message. Message: {}, Headers: {}.", sendTask.message, sendTask.headers);
-        } else {
-            logger.error("There is a non-completed JMS task (probably a connection attempt).");
-        }
+    private void logUnsent(SendTask sendTask) {
+        logger.error("Unable to send JMS message. Message: {}, Headers: {}.", sendTask.message, sendTask.headers);
     }
 
     @Override
     public void sendToTopic(String message, Map<String, String> headers) {
         logger.trace("There are {} messages in queue.", workQueue.size());
-        executor.execute(new SendTask(message, headers));
+        SendTask sendTask = new SendTask(message, headers);
+        if (!workQueue.offer(sendTask)) {
+            logUnsent(sendTask);
+        }
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = super.getMetrics();
+        metrics.put("messaging.queue.depth", workQueue.size());
+        metrics.put("messaging.queue.capacity", workQueueSize);
+        return metrics;
+    }
+
+    private void processQueue(BlockingQueue<SendTask> queue) {
+        List<SendTask> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            if (batch.size() == 1) {
+                batch.get(0).run();
+            } else {
+                sendBatch(batch);
+            }
+            batch.clear();
+        }
+        closeBatchProducer();
+    }
+
+    private void sendBatch(List<SendTask> batch) {
+        logger.debug("Sending a batch of {} JMS messages.", batch.size());
+        long start = System.nanoTime();
+        try {
+            if (batchProducer == null || batchProducer.connection != connection) {
+                closeBatchProducer();
+                batchProducer = createProducer(true);
+            }
+            for (SendTask sendTask : batch) {
+                sendUsingProducer(sendTask.message, sendTask.headers, batchProducer.session, batchProducer.producer);
+            }
+            batchProducer.session.commit();
+            sendMetrics.sent(batch.size(), System.nanoTime() - start);
+        } catch (Exception e) {
+            logger.warn("Cannot send a batch of {} JMS messages, sending them one by one.", batch.size(), e);
+            // closing the transacted session rolls back the uncommitted messages
+            closeBatchProducer();
+            batch.forEach(SendTask::run);
+        }
+    }
+
+    private void closeBatchProducer() {
+        if (batchProducer != null) {
+            batchProducer.close();
+            batchProducer = null;
+        }
     }
 
     private class SendTask implements Runnable {
@@ -50,6 +50,7 @@ abstract class BaseMessageSenderTest {
                 .addClass(MessageSender.class)
                 .addClass(BaseMessageSenderTest.class)
                 .addClass(DefaultMessageSender.class)
+                .addClass(SendMetrics.class)
                 .addClass(PncTopicListener.class)
                 .addClass(MessageCollector.class)
                 .addClass(ContainerTest.class)
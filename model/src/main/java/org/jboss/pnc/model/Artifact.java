@@ -84,8 +84,12 @@ public class Artifact implements GenericEntity<Integer> {
 
     public static final String SEQUENCE_NAME = "artifact_id_seq";
 
+    /**
+     * Ids are allocated in blocks of the JDBC batch size, so storing the artifacts of a build does not need a sequence
+     * round trip per artifact. The sequence is incremented by the same size.
+     */
     @Id
-    @SequenceGenerator(name = SEQUENCE_NAME, sequenceName = SEQUENCE_NAME, initialValue = 100, allocationSize = 1)
+    @SequenceGenerator(name = SEQUENCE_NAME, sequenceName = SEQUENCE_NAME, initialValue = 100, allocationSize = 50)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_NAME)
     private Integer id;
 
@@ -22,8 +22,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.jboss.pnc.common.security.Md5;
-import org.jboss.pnc.common.security.Sha256;
+import org.jboss.pnc.common.security.LogDigest;
 import org.jboss.pnc.common.util.StringUtils;
 import org.jboss.pnc.enums.BuildStatus;
 import org.slf4j.Logger;
@@ -54,7 +53,6 @@ import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
-import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Date;
@@ -67,8 +65,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 /**
  * Created by <a href="mailto:matejonnet@gmail.com">Matej Lazar</a> on 2014-11-23.
  * <p>
@@ -89,6 +85,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
                 @Index(
                         name = "idx_buildrecord_buildconfiguration_aud",
                         columnList = "buildconfiguration_id,buildconfiguration_rev"),
+                @Index(
+                        name = "idx_buildrecord_buildconfiguration_latest",
+                        columnList = "buildconfiguration_id,status,temporarybuild,submittime"),
                 @Index(name = "idx_buildrecord_productmilestone", columnList = "productmilestone_id"),
                 @Index(name = "idx_buildrecord_norebuildcause", columnList = "norebuildcause_id") })
 public class BuildRecord implements GenericEntity<Base32LongID> {
@@ -915,7 +914,11 @@ public class BuildRecord implements GenericEntity<Base32LongID> {
 
         private String repourLog = "";
 
-        private String buildLog = "";
+        /**
+         * The log as it was set until something is appended to it, then a builder, so that neither setting the log
+         * nor appending to it copies the whole log every time.
+         */
+        private CharSequence buildLog = "";
 
         private String buildOutputChecksum;
 
@@ -1027,26 +1030,20 @@ public class BuildRecord implements GenericEntity<Base32LongID> {
         private void setLogs(BuildRecord buildRecord, boolean sanitizeLogs) {
             try {
                 if (repourLog != null) {
-                    if (sanitizeLogs) {
-                        buildRecord.setRepourLog(repourLog.replaceAll("\u0000", ""));
-                    } else {
-                        buildRecord.setRepourLog(repourLog);
-                    }
-                    buildRecord.setRepourLogSize(buildRecord.repourLog.getBytes(UTF_8).length);
-                    buildRecord.setRepourLogMd5(Md5.digest(buildRecord.repourLog));
-                    buildRecord.setRepourLogSha256(Sha256.digest(buildRecord.repourLog));
+                    LogDigest repourLogDigest = LogDigest.digest(repourLog, sanitizeLogs);
+                    buildRecord.setRepourLog(repourLogDigest.getLog());
+                    buildRecord.setRepourLogSize(repourLogDigest.getSize());
+                    buildRecord.setRepourLogMd5(repourLogDigest.getMd5());
+                    buildRecord.setRepourLogSha256(repourLogDigest.getSha256());
                 }
                 if (buildLog != null) {
-                    if (sanitizeLogs) {
-                        buildRecord.setBuildLog(buildLog.replaceAll("\u0000", ""));
-                    } else {
-                        buildRecord.setBuildLog(buildLog);
-                    }
-                    buildRecord.setBuildLogSize(buildRecord.buildLog.getBytes(UTF_8).length);
-                    buildRecord.setBuildLogMd5(Md5.digest(buildRecord.buildLog));
-                    buildRecord.setBuildLogSha256(Sha256.digest(buildRecord.buildLog));
+                    LogDigest buildLogDigest = LogDigest.digest(buildLog, sanitizeLogs);
+                    buildRecord.setBuildLog(buildLogDigest.getLog());
+                    buildRecord.setBuildLogSize(buildLogDigest.getSize());
+                    buildRecord.setBuildLogMd5(buildLogDigest.getMd5());
+                    buildRecord.setBuildLogSha256(buildLogDigest.getSha256());
                 }
-            } catch (NoSuchAlgorithmException | IOException e) {
+            } catch (NoSuchAlgorithmException e) {
                 logger.error("Cannot compute log checksum.", e);
                 throw new RuntimeException("Cannot compute log checksum.", e);
             }
@@ -1128,7 +1125,14 @@ public class BuildRecord implements GenericEntity<Base32LongID> {
         }
 
         public Builder appendLog(String buildLog) {
-            this.buildLog += buildLog;
+            StringBuilder log;
+            if (this.buildLog instanceof StringBuilder) {
+                log = (StringBuilder) this.buildLog;
+            } else {
+                log = this.buildLog == null ? new StringBuilder() : new StringBuilder(this.buildLog);
+                this.buildLog = log;
+            }
+            log.append(buildLog);
             return this;
         }
 
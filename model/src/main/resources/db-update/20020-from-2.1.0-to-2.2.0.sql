@@ -37,3 +37,13 @@ BEGIN transaction;
     ALTER TABLE buildrecord ADD COLUMN lastupdatetime timestamptz;
     UPDATE buildrecord set lastupdatetime = COALESCE(endtime, starttime, submittime);
 COMMIT;
+
+-- Index supporting the database side lookup of the latest successful build of a build configuration
+BEGIN transaction;
+    CREATE INDEX idx_buildrecord_buildconfiguration_latest ON buildrecord (buildconfiguration_id, status, temporarybuild, submittime);
+COMMIT;
+
+-- Artifact ids are allocated by Hibernate in blocks of 50 (allocationSize of artifact_id_seq)
+BEGIN transaction;
+    ALTER SEQUENCE artifact_id_seq INCREMENT BY 50;
+COMMIT;
@@ -0,0 +1,35 @@
+--
+-- JBoss, Home of Professional Open Source.
+-- Copyright 2014-2020 Red Hat, Inc., and individual contributors
+-- as indicated by the @author tags.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Trigram index so that the build log search (buildlog LIKE '%...%') does not scan and detoast every build log.
+--
+-- Run this script after 20020-from-2.1.0-to-2.2.0.sql, outside of a transaction (eg. psql without
+-- --single-transaction), because CREATE INDEX CONCURRENTLY can't run inside a transaction block. The index is built
+-- without locking buildrecord against writes, so the script can run while PNC is up.
+--
+-- CREATE EXTENSION requires a database superuser (or, on PostgreSQL 13 and newer, the owner of the database, as
+-- pg_trgm is a trusted extension). If the PNC database user doesn't have these privileges, a DBA has to run it.
+--
+-- If the index build fails, it leaves an INVALID index behind. Drop it with
+-- DROP INDEX CONCURRENTLY idx_buildrecord_buildlog_trgm; and run the script again.
+--
+-- The index covers the whole log and not only its fixed-size parts. The search matches a string anywhere in the log,
+-- and indexing a prefix or the chunks of the log would miss the matches outside of them or across their boundaries.
+-- Build logs are written once when the build completes, so the index is updated once per build.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_buildrecord_buildlog_trgm ON buildrecord USING gin (buildlog gin_trgm_ops);
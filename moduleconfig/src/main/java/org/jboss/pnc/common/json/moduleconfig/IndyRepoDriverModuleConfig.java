@@ -86,6 +86,15 @@ public class IndyRepoDriverModuleConfig extends AbstractModuleConfig {
     @JsonProperty(required = false)
     private String tempBuildPromotionTarget = "temporary-builds";
 
+    /**
+     * Number of promotion requests a build sends to Indy concurrently when collecting its results. Values lower than 1
+     * mean 1.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private int promotionParallelism = 4;
+
     /**
      * Name of metadata-key to set in the Indy build group to activate / de-activate brew pull
      */
@@ -17,13 +17,16 @@
  */
 package org.jboss.pnc.notification;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.MDCThreadPoolExecutor;
 import org.jboss.pnc.dto.BuildPushResult;
 import org.jboss.pnc.dto.ProductMilestoneCloseResult;
 import org.jboss.pnc.dto.notification.BuildChangedNotification;
 import org.jboss.pnc.dto.notification.BuildPushResultNotification;
 import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
 import org.jboss.pnc.dto.notification.ProductMilestoneCloseResultNotification;
+import org.jboss.pnc.rest.jackson.JacksonProvider;
 import org.jboss.pnc.spi.events.BuildSetStatusChangedEvent;
 import org.jboss.pnc.spi.events.BuildStatusChangedEvent;
 import org.jboss.pnc.spi.notifications.AttachedClient;
@@ -33,27 +36,45 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import java.lang.invoke.MethodHandles;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Notification mechanism for Web Sockets. All implementation details should be placed in AttachedClient.
+ *
+ * Messages are dispatched asynchronously in the order they were sent. Each message is serialized to JSON only once and
+ * the same payload is pushed to all attached clients.
  */
 @ApplicationScoped
 public class DefaultNotifier implements Notifier {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private static final int DISPATCH_QUEUE_SIZE = 10000;
+
     private Set<AttachedClient> attachedClients = new CopyOnWriteArraySet<>();
 
     private final ScheduledExecutorService scheduler = MDCExecutors.newScheduledThreadPool(1);
 
+    private final ExecutorService dispatcher = new MDCThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(DISPATCH_QUEUE_SIZE),
+            (r, executor) -> logger.error("Notification dispatch queue is full, dropping the notification."));
+
+    private final JacksonProvider mapperProvider = new JacksonProvider();
+
     private final MessageCallback messageCallback = new MessageCallback() {
 
         @Override
@@ -73,6 +94,12 @@ public class DefaultNotifier implements Notifier {
         scheduler.scheduleAtFixedRate(this::cleanUp, 1, 1, TimeUnit.HOURS);
     }
 
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
     @Override
     public void attachClient(AttachedClient attachedClient) {
         attachedClients.add(attachedClient);
@@ -95,10 +122,26 @@ public class DefaultNotifier implements Notifier {
 
     @Override
     public void sendMessage(Object message) {
+        dispatcher.execute(() -> dispatch(message));
+    }
+
+    private void dispatch(Object message) {
+        if (attachedClients.isEmpty()) {
+            return;
+        }
+
+        SerializedMessage payload;
+        try {
+            payload = new SerializedMessage(message, mapperProvider.getMapper().writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            logger.error("Could not convert notification to JSON, dropping it.", e);
+            return;
+        }
+
         for (AttachedClient client : attachedClients) {
             if (client.isEnabled()) {
                 try {
-                    client.sendMessage(message, messageCallback);
+                    client.sendMessage(payload, messageCallback);
                 } catch (Exception e) {
                     logger.error("Unable to send message, detaching client.", e);
                     detachClient(client);
@@ -24,8 +24,8 @@ import lombok.Builder;
 import lombok.Getter;
 
 /**
- * Message { message-type: 'process-updates', message: { action: 'subscribe|unsubscribe', topic: 'component-build', id:
- * 123 } }
+ * Message { message-type: 'process-updates', message: { action: 'subscribe|unsubscribe|reset', topic:
+ * 'component-build', id: 123 } }
  *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
@@ -0,0 +1,39 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Notification message together with its JSON representation, so that the message is serialized only once for all
+ * the attached clients.
+ */
+@AllArgsConstructor
+@Getter
+public class SerializedMessage {
+
+    private final Object message;
+
+    private final String json;
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
@@ -18,18 +18,44 @@
 package org.jboss.pnc.notification;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
 import org.jboss.pnc.rest.jackson.JacksonProvider;
 import org.jboss.pnc.spi.notifications.AttachedClient;
 import org.jboss.pnc.spi.notifications.MessageCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.websocket.Session;
+import java.lang.invoke.MethodHandles;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Messages are sent to the session one at a time. Messages sent while the previous one is still being transferred wait
+ * in a bounded outbound queue, where a newer status of a build (or group build) replaces the waiting older one, so that
+ * a slow client receives only the latest status of each build.
+ */
 public class SessionBasedAttachedClient implements AttachedClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    static final int MAX_QUEUE_SIZE = 1000;
+
     private final Session session;
 
     private final JacksonProvider mapperProvider = new JacksonProvider();
 
+    private final Subscriptions subscriptions = new Subscriptions();
+
+    /**
+     * Messages waiting to be sent keyed by coalescing key. Guarded by itself.
+     */
+    private final Map<Object, PendingMessage> outboundQueue = new LinkedHashMap<>();
+
+    private boolean sending = false;
+
     public SessionBasedAttachedClient(Session session) {
         this.session = session;
     }
@@ -44,22 +70,103 @@ public class SessionBasedAttachedClient implements AttachedClient {
         return session.getId();
     }
 
+    public Subscriptions getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Sends a message to the client. {@link SerializedMessage} is sent only if it matches the client subscriptions,
+     * String message body is considered to be already serialized JSON and is sent as it is, other objects are
+     * converted to JSON first.
+     */
     @Override
     public void sendMessage(Object messageBody, MessageCallback callback) {
 
+        Object coalescingKey = null;
         String message;
+        if (messageBody instanceof SerializedMessage) {
+            SerializedMessage serializedMessage = (SerializedMessage) messageBody;
+            if (!subscriptions.accepts(serializedMessage.getMessage())) {
+                return;
+            }
+            coalescingKey = coalescingKey(serializedMessage.getMessage());
+            message = serializedMessage.getJson();
+        } else if (messageBody instanceof String) {
+            message = (String) messageBody;
+        } else {
+            try {
+                message = mapperProvider.getMapper().writeValueAsString(messageBody);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Could not convert object to JSON", e);
+            }
+        }
+        enqueue(coalescingKey, new PendingMessage(message, callback));
+    }
+
+    private void enqueue(Object coalescingKey, PendingMessage pendingMessage) {
+        synchronized (outboundQueue) {
+            if (sending) {
+                if (coalescingKey != null && outboundQueue.containsKey(coalescingKey)) {
+                    outboundQueue.put(coalescingKey, pendingMessage);
+                } else if (outboundQueue.size() >= MAX_QUEUE_SIZE) {
+                    logger.warn("Outbound queue of client {} is full, dropping the message.", session.getId());
+                } else {
+                    outboundQueue.put(coalescingKey != null ? coalescingKey : new Object(), pendingMessage);
+                }
+                return;
+            }
+            sending = true;
+        }
+        send(pendingMessage);
+    }
+
+    private void send(PendingMessage pendingMessage) {
         try {
-            message = mapperProvider.getMapper().writeValueAsString(messageBody);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Could not convert object to JSON", e);
+            session.getAsyncRemote().sendText(pendingMessage.message, sendResult -> {
+                if (!sendResult.isOK()) {
+                    pendingMessage.callback.failed(SessionBasedAttachedClient.this, sendResult.getException());
+                } else {
+                    pendingMessage.callback.successful(SessionBasedAttachedClient.this);
+                }
+                sendNext();
+            });
+        } catch (RuntimeException e) {
+            synchronized (outboundQueue) {
+                outboundQueue.clear();
+                sending = false;
+            }
+            pendingMessage.callback.failed(this, e);
         }
-        session.getAsyncRemote().sendText(message, sendResult -> {
-            if (!sendResult.isOK()) {
-                callback.failed(SessionBasedAttachedClient.this, sendResult.getException());
-            } else {
-                callback.successful(SessionBasedAttachedClient.this);
+    }
+
+    private void sendNext() {
+        PendingMessage next;
+        synchronized (outboundQueue) {
+            Iterator<PendingMessage> it = outboundQueue.values().iterator();
+            if (!it.hasNext()) {
+                sending = false;
+                return;
             }
-        });
+            next = it.next();
+            it.remove();
+        }
+        send(next);
+    }
+
+    int getQueueSize() {
+        synchronized (outboundQueue) {
+            return outboundQueue.size();
+        }
+    }
+
+    private static Object coalescingKey(Object message) {
+        if (message instanceof BuildChangedNotification) {
+            return "build:" + ((BuildChangedNotification) message).getBuild().getId();
+        }
+        if (message instanceof GroupBuildChangedNotification) {
+            return "group-build:" + ((GroupBuildChangedNotification) message).getGroupBuild().getId();
+        }
+        return null;
     }
 
     @Override
@@ -82,4 +189,16 @@ public class SessionBasedAttachedClient implements AttachedClient {
         int result = session != null ? session.hashCode() : 0;
         return result;
     }
+
+    private static class PendingMessage {
+
+        private final String message;
+
+        private final MessageCallback callback;
+
+        private PendingMessage(String message, MessageCallback callback) {
+            this.message = message;
+            this.callback = callback;
+        }
+    }
 }
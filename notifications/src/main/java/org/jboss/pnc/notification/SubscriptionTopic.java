@@ -0,0 +1,103 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.notification;
+
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.BuildPushResultNotification;
+import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
+import org.jboss.pnc.dto.notification.Notification;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Topics the notification clients can subscribe to using {@link ProgressUpdatesRequest}. Each topic knows how to read
+ * the ids the notification is related to.
+ */
+public enum SubscriptionTopic {
+    BUILD(SubscriptionTopic::buildIds, "build", "component-build"),
+    BUILD_CONFIG(SubscriptionTopic::buildConfigIds, "build-config"),
+    GROUP_BUILD(SubscriptionTopic::groupBuildIds, "group-build"),
+    NOTIFICATION_TYPE(SubscriptionTopic::notificationTypes, "notification-type");
+
+    private final Function<Notification, Set<String>> idsReader;
+
+    private final Set<String> names;
+
+    SubscriptionTopic(Function<Notification, Set<String>> idsReader, String... names) {
+        this.idsReader = idsReader;
+        this.names = new HashSet<>(Arrays.asList(names));
+    }
+
+    /**
+     * @return ids of the entities the notification is related to in this topic
+     */
+    public Set<String> getIds(Notification notification) {
+        return idsReader.apply(notification);
+    }
+
+    public static Optional<SubscriptionTopic> fromName(String name) {
+        return Arrays.stream(values()).filter(topic -> topic.names.contains(name)).findAny();
+    }
+
+    private static Set<String> buildIds(Notification notification) {
+        if (notification instanceof BuildChangedNotification) {
+            return idOf(((BuildChangedNotification) notification).getBuild().getId());
+        }
+        if (notification instanceof BuildPushResultNotification) {
+            return idOf(((BuildPushResultNotification) notification).getBuildPushResult().getBuildId());
+        }
+        return Collections.emptySet();
+    }
+
+    private static Set<String> buildConfigIds(Notification notification) {
+        if (notification instanceof BuildChangedNotification) {
+            Build build = ((BuildChangedNotification) notification).getBuild();
+            if (build.getBuildConfigRevision() != null) {
+                return idOf(build.getBuildConfigRevision().getId());
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    private static Set<String> groupBuildIds(Notification notification) {
+        if (notification instanceof BuildChangedNotification) {
+            Build build = ((BuildChangedNotification) notification).getBuild();
+            if (build.getGroupBuild() != null) {
+                return idOf(build.getGroupBuild().getId());
+            }
+        }
+        if (notification instanceof GroupBuildChangedNotification) {
+            return idOf(((GroupBuildChangedNotification) notification).getGroupBuild().getId());
+        }
+        return Collections.emptySet();
+    }
+
+    private static Set<String> notificationTypes(Notification notification) {
+        return idOf(notification.getNotificationType());
+    }
+
+    private static Set<String> idOf(String id) {
+        return id == null ? Collections.emptySet() : Collections.singleton(id);
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.notification;
+
+import org.jboss.pnc.dto.notification.Notification;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side subscriptions of a single notification client. Client that has never subscribed receives all the
+ * notifications. Once it subscribes, it receives only the notifications matching at least one of its subscriptions,
+ * even after it unsubscribes from all of them. It receives all the notifications again only after a
+ * {@link Action#RESET}. Messages that are not a {@link Notification} are always delivered.
+ */
+public class Subscriptions {
+
+    private final Map<SubscriptionTopic, Set<String>> subscribedIds = new ConcurrentHashMap<>();
+
+    private volatile boolean subscribed;
+
+    /**
+     * @return false if the request is incomplete or its topic is unknown
+     */
+    public boolean update(ProgressUpdatesRequest request) {
+        if (request.getAction() == Action.RESET) {
+            reset();
+            return true;
+        }
+
+        Optional<SubscriptionTopic> topic = SubscriptionTopic.fromName(request.getTopic());
+        if (!topic.isPresent() || request.getAction() == null || request.getId() == null) {
+            return false;
+        }
+
+        switch (request.getAction()) {
+            case SUBSCRIBE:
+                subscribed = true;
+                subscribedIds.computeIfAbsent(topic.get(), t -> ConcurrentHashMap.newKeySet()).add(request.getId());
+                break;
+            case UNSUBSCRIBE:
+                subscribedIds.computeIfPresent(topic.get(), (t, ids) -> {
+                    ids.remove(request.getId());
+                    return ids.isEmpty() ? null : ids;
+                });
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the subscriptions, the client receives all the notifications again.
+     */
+    public void reset() {
+        subscribed = false;
+        subscribedIds.clear();
+    }
+
+    public boolean isEmpty() {
+        return subscribedIds.isEmpty();
+    }
+
+    public boolean accepts(Object message) {
+        if (!subscribed || !(message instanceof Notification)) {
+            return true;
+        }
+        Notification notification = (Notification) message;
+        for (Map.Entry<SubscriptionTopic, Set<String>> subscription : subscribedIds.entrySet()) {
+            for (String id : subscription.getKey().getIds(notification)) {
+                if (subscription.getValue().contains(id)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -20,10 +20,14 @@ package org.jboss.pnc.notification;
 import org.jboss.pnc.notification.DefaultNotifier;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
+import java.util.Collections;
+
 import org.jboss.pnc.spi.notifications.AttachedClient;
 import org.jboss.pnc.spi.notifications.MessageCallback;
 import org.jboss.pnc.spi.notifications.Notifier;
@@ -65,7 +69,7 @@ public class DefaultNotifierTest {
     @Test
     public void shouldSendAMessage() throws Exception {
         // given
-        Object messageBody = new Object();
+        Object messageBody = Collections.singletonMap("key", "value");
 
         Notifier notifier = new DefaultNotifier();
         AttachedClient attachedClient = mock(AttachedClient.class);
@@ -76,7 +80,10 @@ public class DefaultNotifierTest {
         notifier.sendMessage(messageBody);
 
         // then
-        verify(attachedClient).sendMessage(messageBody, notifier.getCallback());
+        ArgumentCaptor<SerializedMessage> payload = ArgumentCaptor.forClass(SerializedMessage.class);
+        verify(attachedClient, timeout(1000)).sendMessage(payload.capture(), eq(notifier.getCallback()));
+        assertThat(payload.getValue().getMessage()).isSameAs(messageBody);
+        assertThat(payload.getValue().getJson()).isEqualTo("{\"key\":\"value\"}");
         assertThat(notifier.getAttachedClientsCount()).isEqualTo(1);
     }
 
@@ -94,10 +101,10 @@ public class DefaultNotifierTest {
         notifier.attachClient(attachedClient);
 
         // when
-        notifier.sendMessage(new Object());
+        notifier.sendMessage(Collections.emptyMap());
 
         // then
-        verify(attachedClient).sendMessage(any(), messageCallback.capture());
+        verify(attachedClient, timeout(1000)).sendMessage(any(), messageCallback.capture());
 
         messageCallback.getValue().successful(attachedClient);
         assertThat(notifier.getAttachedClientsCount()).isEqualTo(1);
@@ -106,7 +113,7 @@ public class DefaultNotifierTest {
     @Test
     public void shouldNotSendAMessageToDisabledClient() throws Exception {
         // given
-        Object messageBody = new Object();
+        Object messageBody = Collections.emptyMap();
 
         Notifier notifier = new DefaultNotifier();
         AttachedClient attachedClient = mock(AttachedClient.class);
@@ -117,7 +124,8 @@ public class DefaultNotifierTest {
         notifier.sendMessage(messageBody);
 
         // then
-        verify(attachedClient, new Times(0)).sendMessage(messageBody, notifier.getCallback());
+        verify(attachedClient, timeout(1000)).isEnabled();
+        verify(attachedClient, new Times(0)).sendMessage(any(), any());
         assertThat(notifier.getAttachedClientsCount()).isEqualTo(1);
     }
 
@@ -135,13 +143,36 @@ public class DefaultNotifierTest {
         notifier.attachClient(attachedClient);
 
         // when
-        notifier.sendMessage(new Object());
+        notifier.sendMessage(Collections.emptyMap());
 
         // then
-        verify(attachedClient).sendMessage(any(), messageCallback.capture());
+        verify(attachedClient, timeout(1000)).sendMessage(any(), messageCallback.capture());
 
         messageCallback.getValue().failed(attachedClient, new Throwable());
         assertThat(notifier.getAttachedClientsCount()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldSerializeMessageOnceForAllClients() throws Exception {
+        // given
+        Notifier notifier = new DefaultNotifier();
+        AttachedClient attachedClient1 = mock(AttachedClient.class);
+        AttachedClient attachedClient2 = mock(AttachedClient.class);
+        doReturn(true).when(attachedClient1).isEnabled();
+        doReturn(true).when(attachedClient2).isEnabled();
+        notifier.attachClient(attachedClient1);
+        notifier.attachClient(attachedClient2);
+
+        ArgumentCaptor<Object> payload1 = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> payload2 = ArgumentCaptor.forClass(Object.class);
+
+        // when
+        notifier.sendMessage(Collections.singletonMap("key", "value"));
+
+        // then
+        verify(attachedClient1, timeout(1000)).sendMessage(payload1.capture(), any());
+        verify(attachedClient2, timeout(1000)).sendMessage(payload2.capture(), any());
+        assertThat(payload1.getValue()).isSameAs(payload2.getValue());
+    }
+
 }
\ No newline at end of file
@@ -17,12 +17,24 @@
  */
 package org.jboss.pnc.notification;
 
+import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.spi.notifications.MessageCallback;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 
+import static org.jboss.pnc.notification.SubscriptionsTest.buildChanged;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class SessionBasedAttachedClientTest {
 
@@ -38,4 +50,46 @@ public class SessionBasedAttachedClientTest {
         assertEquals(client1, client2);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSendOnlyLatestStatusOfBuildToSlowClient() throws Exception {
+        // given
+        Session session = mock(Session.class);
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        when(session.getAsyncRemote()).thenReturn(remote);
+        MessageCallback callback = mock(MessageCallback.class);
+        SessionBasedAttachedClient client = new SessionBasedAttachedClient(session);
+
+        // when
+        client.sendMessage(new SerializedMessage(buildChanged("1", "10"), "first"), callback);
+        client.sendMessage(new SerializedMessage(buildChanged("1", "10"), "second"), callback);
+        client.sendMessage(new SerializedMessage(buildChanged("2", "20"), "other"), callback);
+        client.sendMessage(new SerializedMessage(buildChanged("1", "10", BuildStatus.SUCCESS), "third"), callback);
+
+        // then
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), handler.capture());
+        assertEquals(2, client.getQueueSize());
+
+        handler.getValue().onResult(new SendResult());
+        verify(remote).sendText(eq("third"), any());
+        verify(remote, never()).sendText(eq("second"), any());
+        verify(callback).successful(client);
+    }
+
+    @Test
+    public void shouldNotSendUnsubscribedNotification() throws Exception {
+        // given
+        Session session = mock(Session.class);
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        when(session.getAsyncRemote()).thenReturn(remote);
+        SessionBasedAttachedClient client = new SessionBasedAttachedClient(session);
+        client.getSubscriptions().update(ProgressUpdatesRequest.subscribe("build", "2"));
+
+        // when
+        client.sendMessage(new SerializedMessage(buildChanged("1", "10"), "first"), mock(MessageCallback.class));
+
+        // then
+        verify(remote, never()).sendText(any(), any(SendHandler.class));
+    }
+
+}
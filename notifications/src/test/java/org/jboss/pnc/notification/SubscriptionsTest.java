@@ -0,0 +1,105 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.notification;
+
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.BuildConfigurationRevisionRef;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.enums.BuildStatus;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubscriptionsTest {
+
+    @Test
+    public void shouldAcceptAllMessagesWithoutSubscription() {
+        Subscriptions subscriptions = new Subscriptions();
+
+        assertThat(subscriptions.accepts(buildChanged("1", "10"))).isTrue();
+        assertThat(subscriptions.accepts("message")).isTrue();
+    }
+
+    @Test
+    public void shouldAcceptOnlySubscribedNotifications() {
+        // given
+        Subscriptions subscriptions = new Subscriptions();
+
+        // when
+        boolean updated = subscriptions.update(ProgressUpdatesRequest.subscribe("build-config", "10"));
+
+        // then
+        assertThat(updated).isTrue();
+        assertThat(subscriptions.accepts(buildChanged("1", "10"))).isTrue();
+        assertThat(subscriptions.accepts(buildChanged("2", "20"))).isFalse();
+        assertThat(subscriptions.accepts("message")).isTrue();
+    }
+
+    @Test
+    public void shouldAcceptOnlySubscribedNotificationsAfterUnsubscribeFromAll() {
+        // given
+        Subscriptions subscriptions = new Subscriptions();
+        subscriptions.update(ProgressUpdatesRequest.subscribe("component-build", "1"));
+
+        // when
+        subscriptions.update(new ProgressUpdatesRequest(Action.UNSUBSCRIBE, "component-build", "1"));
+
+        // then
+        assertThat(subscriptions.isEmpty()).isTrue();
+        assertThat(subscriptions.accepts(buildChanged("1", "10"))).isFalse();
+        assertThat(subscriptions.accepts(buildChanged("2", "20"))).isFalse();
+        assertThat(subscriptions.accepts("message")).isTrue();
+    }
+
+    @Test
+    public void shouldAcceptAllMessagesAfterReset() {
+        // given
+        Subscriptions subscriptions = new Subscriptions();
+        subscriptions.update(ProgressUpdatesRequest.subscribe("component-build", "1"));
+        assertThat(subscriptions.accepts(buildChanged("2", "20"))).isFalse();
+
+        // when
+        boolean updated = subscriptions.update(new ProgressUpdatesRequest(Action.RESET, null, null));
+
+        // then
+        assertThat(updated).isTrue();
+        assertThat(subscriptions.isEmpty()).isTrue();
+        assertThat(subscriptions.accepts(buildChanged("2", "20"))).isTrue();
+    }
+
+    @Test
+    public void shouldRejectUnknownTopic() {
+        Subscriptions subscriptions = new Subscriptions();
+
+        assertThat(subscriptions.update(ProgressUpdatesRequest.subscribe("unknown", "1"))).isFalse();
+        assertThat(subscriptions.isEmpty()).isTrue();
+    }
+
+    static BuildChangedNotification buildChanged(String buildId, String buildConfigId) {
+        return buildChanged(buildId, buildConfigId, BuildStatus.BUILDING);
+    }
+
+    static BuildChangedNotification buildChanged(String buildId, String buildConfigId, BuildStatus status) {
+        Build build = Build.builder()
+                .id(buildId)
+                .status(status)
+                .buildConfigRevision(BuildConfigurationRevisionRef.refBuilder().id(buildConfigId).build())
+                .build();
+        return new BuildChangedNotification(BuildStatus.ENQUEUED, build);
+    }
+}
@@ -18,6 +18,9 @@
 
 package org.jboss.pnc.environment.openshift;
 
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import org.jboss.pnc.common.Date.ExpiresDate;
 import org.jboss.pnc.common.concurrent.MDCExecutors;
 import org.jboss.pnc.common.concurrent.NamedThreadFactory;
@@ -41,6 +44,7 @@ import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -60,11 +64,20 @@ public class OpenshiftEnvironmentDriver implements EnvironmentDriver {
     private ExecutorService executor;
 
     private OpenshiftEnvironmentDriverModuleConfig openshiftEnvironmentDriverModuleConfig;
-    private OpenshiftBuildAgentConfig openshiftBuildAgentConfig;
+
+    /**
+     * Resource definitions compiled once at start-up, the configuration does not change at runtime.
+     */
+    private Map<Resource, ResourceTemplate> resourceTemplates;
     private SystemConfig systemConfig;
     private PollingMonitor pollingMonitor;
     private MetricsConfiguration metricsConfig;
 
+    /**
+     * Shared by all the started environments, created on the first environment start.
+     */
+    private OpenshiftResourceWatcher resourceWatcher;
+
     @Deprecated // CDI workaround
     public OpenshiftEnvironmentDriver() {
     }
@@ -82,7 +95,6 @@ public class OpenshiftEnvironmentDriver implements EnvironmentDriver {
         this.pollingMonitor = pollingMonitor;
 
         this.openshiftEnvironmentDriverModuleConfig = openshiftEnvironmentDriverModuleConfig;
-        this.openshiftBuildAgentConfig = openshiftBuildAgentConfig;
 
         String executorThreadPoolSizeStr = openshiftEnvironmentDriverModuleConfig.getExecutorThreadPoolSize();
 
@@ -93,6 +105,13 @@ public class OpenshiftEnvironmentDriver implements EnvironmentDriver {
                 .newFixedThreadPool(executorThreadPoolSize, new NamedThreadFactory("openshift-environment-driver"));
         this.metricsConfig = metricsConfig;
 
+        resourceTemplates = new EnumMap<>(Resource.class);
+        for (Resource resource : Resource.values()) {
+            resourceTemplates.put(
+                    resource,
+                    ResourceTemplate.compile(Configurations.getContentAsString(resource, openshiftBuildAgentConfig)));
+        }
+
         logger.info(
                 "Is OpenShift environment driver disabled: {}",
                 openshiftEnvironmentDriverModuleConfig.isDisabled());
@@ -117,9 +136,10 @@ public class OpenshiftEnvironmentDriver implements EnvironmentDriver {
                 + StringUtils.stripTrailingSlash(systemImageId);
         return new OpenshiftStartedEnvironment(
                 executor,
-                openshiftBuildAgentConfig,
+                resourceTemplates,
                 openshiftEnvironmentDriverModuleConfig,
                 pollingMonitor,
+                getResourceWatcher(),
                 repositorySession,
                 buildImageId,
                 debugData,
@@ -139,8 +159,22 @@ public class OpenshiftEnvironmentDriver implements EnvironmentDriver {
         return compatibleImageTypes.contains(systemImageType);
     }
 
+    private synchronized OpenshiftResourceWatcher getResourceWatcher() {
+        if (resourceWatcher == null) {
+            Config config = new ConfigBuilder().withNamespace(openshiftEnvironmentDriverModuleConfig.getPncNamespace())
+                    .withMasterUrl(openshiftEnvironmentDriverModuleConfig.getRestEndpointUrl())
+                    .withOauthToken(openshiftEnvironmentDriverModuleConfig.getRestAuthToken())
+                    .build();
+            resourceWatcher = new OpenshiftResourceWatcher(new DefaultOpenShiftClient(config));
+        }
+        return resourceWatcher;
+    }
+
     @PreDestroy
-    public void destroy() {
+    public synchronized void destroy() {
         executor.shutdownNow();
+        if (resourceWatcher != null) {
+            resourceWatcher.close();
+        }
     }
 }
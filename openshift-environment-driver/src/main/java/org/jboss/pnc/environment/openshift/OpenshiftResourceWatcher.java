@@ -0,0 +1,179 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.environment.openshift;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.openshift.client.OpenShiftClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the latest state of the builder pods and services of the namespace, received through a single watch per
+ * resource type. The started environments read their pods and services from here instead of each of them polling the
+ * OpenShift API.
+ *
+ * When a watch is lost the cached state is dropped, lookups return empty (the callers fall back to the REST call) and
+ * the watch is re-established on a later lookup.
+ */
+public class OpenshiftResourceWatcher implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenshiftResourceWatcher.class);
+
+    /**
+     * Labels set on the builder pods and services by the default resource definitions.
+     */
+    static final String POD_LABEL = "pnc-build-agent-pod";
+    static final String SERVICE_LABEL = "pnc-build-agent-service";
+
+    /**
+     * Minimal delay between the attempts to re-establish a lost watch.
+     */
+    static final long REWATCH_DELAY_MILLIS = 30_000;
+
+    private final OpenShiftClient client;
+
+    private final ResourceCache<Pod> pods;
+
+    private final ResourceCache<Service> services;
+
+    public OpenshiftResourceWatcher(OpenShiftClient client) {
+        this.client = client;
+        this.pods = new ResourceCache<>(
+                "pods",
+                watcher -> client.pods().withLabel(POD_LABEL).watch(watcher),
+                Clock.systemUTC());
+        this.services = new ResourceCache<>(
+                "services",
+                watcher -> client.services().withLabel(SERVICE_LABEL).watch(watcher),
+                Clock.systemUTC());
+        pods.watch();
+        services.watch();
+    }
+
+    /**
+     * @return the last known state of the pod, empty if the pod is not known or the watch is not active
+     */
+    public Optional<Pod> getPod(String name) {
+        return pods.get(name);
+    }
+
+    /**
+     * @return the last known state of the service, empty if the service is not known or the watch is not active
+     */
+    public Optional<Service> getService(String name) {
+        return services.get(name);
+    }
+
+    @Override
+    public void close() {
+        pods.close();
+        services.close();
+        client.close();
+    }
+
+    static class ResourceCache<T extends HasMetadata> implements Watcher<T> {
+
+        private final String resourceType;
+
+        private final Function<Watcher<T>, Watch> watchFactory;
+
+        private final Clock clock;
+
+        private final Map<String, T> resources = new ConcurrentHashMap<>();
+
+        private volatile Watch watch;
+
+        private volatile long lastWatchAttempt = 0;
+
+        private volatile boolean closed = false;
+
+        ResourceCache(String resourceType, Function<Watcher<T>, Watch> watchFactory, Clock clock) {
+            this.resourceType = resourceType;
+            this.watchFactory = watchFactory;
+            this.clock = clock;
+        }
+
+        synchronized void watch() {
+            if (watch != null || closed) {
+                return;
+            }
+            lastWatchAttempt = clock.millis();
+            try {
+                watch = watchFactory.apply(this);
+                logger.info("Watching OpenShift {}.", resourceType);
+            } catch (RuntimeException e) {
+                logger.warn("Cannot watch OpenShift {}, falling back to polling.", resourceType, e);
+            }
+        }
+
+        Optional<T> get(String name) {
+            if (watch == null) {
+                if (clock.millis() - lastWatchAttempt > REWATCH_DELAY_MILLIS) {
+                    watch();
+                }
+                return Optional.empty();
+            }
+            return Optional.ofNullable(resources.get(name));
+        }
+
+        @Override
+        public void eventReceived(Action action, T resource) {
+            String name = resource.getMetadata().getName();
+            logger.trace("Received {} event for {} {}.", action, resourceType, name);
+            switch (action) {
+                case ADDED:
+                case MODIFIED:
+                    resources.put(name, resource);
+                    break;
+                case DELETED:
+                    resources.remove(name);
+                    break;
+                default:
+                    logger.warn("Received {} event for {} {}.", action, resourceType, name);
+            }
+        }
+
+        @Override
+        public synchronized void onClose(WatcherException cause) {
+            logger.warn("Watch of OpenShift {} closed, falling back to polling.", resourceType, cause);
+            watch = null;
+            resources.clear();
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (watch != null) {
+                watch.close();
+                watch = null;
+            }
+            resources.clear();
+        }
+    }
+}
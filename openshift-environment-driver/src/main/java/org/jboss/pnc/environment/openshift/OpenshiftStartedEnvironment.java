@@ -33,9 +33,9 @@ import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
 import org.apache.commons.lang.RandomStringUtils;
 import org.jboss.pnc.api.constants.BuildConfigurationParameterKeys;
-import org.jboss.pnc.common.json.moduleconfig.OpenshiftBuildAgentConfig;
 import org.jboss.pnc.common.json.moduleconfig.OpenshiftEnvironmentDriverModuleConfig;
 import org.jboss.pnc.common.logging.MDCUtils;
+import org.jboss.pnc.common.monitor.Backoff;
 import org.jboss.pnc.common.monitor.CancellableCompletableFuture;
 import org.jboss.pnc.common.monitor.PollingMonitor;
 import org.jboss.pnc.common.util.CompletableFutureUtils;
@@ -48,7 +48,6 @@ import org.jboss.pnc.spi.builddriver.DebugData;
 import org.jboss.pnc.spi.environment.RunningEnvironment;
 import org.jboss.pnc.spi.environment.StartedEnvironment;
 import org.jboss.pnc.spi.repositorymanager.model.RepositorySession;
-import org.jboss.util.StringPropertyReplacer;
 import org.jboss.util.collection.ConcurrentSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,7 +61,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -113,12 +111,22 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
     private static final String[] POD_RETRYABLE_STATUSES = { "Failed", "Unknown", "CrashLoopBackOff", "ErrImagePull",
             "ImagePullBackOff", "Error", "ContainerCannotRun" };
 
+    /**
+     * The build agent ping goes over HTTP, spread the pings of the environments started at the same time and slow down
+     * the pinging of an agent that takes longer to start up.
+     */
+    private static final Backoff BUILD_AGENT_PING_BACKOFF = Backoff.exponential(1.5, 3, 0.2);
+
     private final OpenShiftClient client;
-    private final ObjectMapper mapper;
+    /**
+     * ObjectMapper is thread safe and expensive to create, shared by all the environments.
+     */
+    private static final ObjectMapper mapper = new ObjectMapper();
     private final RepositorySession repositorySession;
-    private final OpenshiftBuildAgentConfig openshiftBuildAgentConfig;
+    private final Map<Resource, ResourceTemplate> resourceTemplates;
     private final OpenshiftEnvironmentDriverModuleConfig environmentConfiguration;
     private final PollingMonitor pollingMonitor;
+    private final OpenshiftResourceWatcher resourceWatcher;
     private final String imageId;
     private final DebugData debugData;
     private final Map<String, String> environmentVariables;
@@ -149,9 +157,10 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
 
     public OpenshiftStartedEnvironment(
             ExecutorService executor,
-            OpenshiftBuildAgentConfig openshiftBuildAgentConfig,
+            Map<Resource, ResourceTemplate> resourceTemplates,
             OpenshiftEnvironmentDriverModuleConfig environmentConfiguration,
             PollingMonitor pollingMonitor,
+            OpenshiftResourceWatcher resourceWatcher,
             RepositorySession repositorySession,
             String systemImageId,
             DebugData debugData,
@@ -167,9 +176,10 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
         this.pollingMonitorTimeout = environmentConfiguration.getPollingMonitorTimeout();
         this.pollingMonitorCheckInterval = environmentConfiguration.getPollingMonitorCheckInterval();
         this.executor = executor;
-        this.openshiftBuildAgentConfig = openshiftBuildAgentConfig;
+        this.resourceTemplates = resourceTemplates;
         this.environmentConfiguration = environmentConfiguration;
         this.pollingMonitor = pollingMonitor;
+        this.resourceWatcher = resourceWatcher;
         this.repositorySession = repositorySession;
         this.imageId = systemImageId == null ? environmentConfiguration.getImageId() : systemImageId;
         this.debugData = debugData;
@@ -177,8 +187,6 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
             this.gaugeMetric = Optional.of(metricsConfiguration.getGaugeMetric());
         }
 
-        mapper = new ObjectMapper();
-
         createRoute = environmentConfiguration.getExposeBuildAgentOnPublicUrl();
 
         Config config = new ConfigBuilder().withNamespace(environmentConfiguration.getPncNamespace())
@@ -241,7 +249,7 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
         Runnable createPod = () -> {
             try {
                 Pod podCreationModel = createModelNode(
-                        Configurations.getContentAsString(Resource.PNC_BUILDER_POD, openshiftBuildAgentConfig),
+                        resourceTemplates.get(Resource.PNC_BUILDER_POD),
                         environmentVariables,
                         Pod.class);
                 pod = client.pods().create(podCreationModel);
@@ -255,7 +263,7 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
         Runnable createService = () -> {
             try {
                 Service serviceCreationModel = createModelNode(
-                        Configurations.getContentAsString(Resource.PNC_BUILDER_SERVICE, openshiftBuildAgentConfig),
+                        resourceTemplates.get(Resource.PNC_BUILDER_SERVICE),
                         environmentVariables,
                         Service.class);
                 service = client.services().create(serviceCreationModel);
@@ -270,7 +278,7 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
             Runnable createRoute = () -> {
                 try {
                     Route routeCreationModel = createModelNode(
-                            Configurations.getContentAsString(Resource.PNC_BUILDER_ROUTE, openshiftBuildAgentConfig),
+                            resourceTemplates.get(Resource.PNC_BUILDER_ROUTE),
                             environmentVariables,
                             Route.class);
                     route = client.routes().create(routeCreationModel);
@@ -326,10 +334,11 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
         }
     }
 
-    private <T> T createModelNode(String resourceDefinition, Map<String, String> runtimeProperties, Class<T> clazz) {
-        Properties properties = new Properties();
-        properties.putAll(runtimeProperties);
-        String definition = StringPropertyReplacer.replaceProperties(resourceDefinition, properties);
+    private <T> T createModelNode(
+            ResourceTemplate resourceTemplate,
+            Map<String, String> runtimeProperties,
+            Class<T> clazz) {
+        String definition = resourceTemplate.render(runtimeProperties);
         if (logger.isTraceEnabled()) {
             logger.trace("Node definition: {}", secureLog(definition));
         }
@@ -449,7 +458,8 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
                 this::isInternalServletAvailable,
                 pollingMonitorCheckInterval,
                 pollingMonitorTimeout,
-                TimeUnit.SECONDS);
+                TimeUnit.SECONDS,
+                BUILD_AGENT_PING_BACKOFF);
         addFuture(isBuildAgentUpFuture);
 
         CompletableFuture<RunningEnvironment> runningEnvironmentFuture = CompletableFutureUtils
@@ -610,7 +620,9 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
      * @return boolean: is pod running?
      */
     private boolean isPodRunning() {
-        pod = client.pods().withName(pod.getMetadata().getName()).get();
+        String podName = pod.getMetadata().getName();
+        // the watched state is used when available, polling the OpenShift API only as a fallback
+        pod = resourceWatcher.getPod(podName).orElseGet(() -> client.pods().withName(podName).get());
 
         String podStatus = pod.getStatus().getPhase();
         logger.debug("Pod {} status: {}", pod.getMetadata().getName(), podStatus);
@@ -629,7 +641,9 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
     }
 
     private boolean isServiceRunning() {
-        service = client.services().withName(service.getMetadata().getName()).get();
+        String serviceName = service.getMetadata().getName();
+        service = resourceWatcher.getService(serviceName)
+                .orElseGet(() -> client.services().withName(serviceName).get());
         return service.getSpec().getClusterIP() != null;
     }
 
@@ -720,7 +734,7 @@ public class OpenshiftStartedEnvironment implements StartedEnvironment {
      */
     private Integer startSshService() {
         Service sshServiceCreationModel = createModelNode(
-                Configurations.getContentAsString(Resource.PNC_BUILDER_SSH_SERVICE, openshiftBuildAgentConfig),
+                resourceTemplates.get(Resource.PNC_BUILDER_SSH_SERVICE),
                 environmentVariables,
                 Service.class);
         try {
@@ -0,0 +1,133 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.environment.openshift;
+
+import org.jboss.util.StringPropertyReplacer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * OpenShift resource definition with ${...} placeholders. The definition is split into literal parts and placeholders
+ * once, so that rendering it for a build is a single append pass without scanning the definition again.
+ *
+ * Only ${name} and ${name:default} placeholders are pre-compiled. Definitions using any other
+ * {@link StringPropertyReplacer} syntax are rendered by the {@link StringPropertyReplacer} itself.
+ */
+public class ResourceTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+
+    private final String definition;
+
+    /**
+     * Literal parts on even indexes, placeholders on odd indexes; null when the definition is not pre-compiled.
+     */
+    private final List<String> parts;
+
+    /**
+     * Default values of the placeholders, indexed the same as {@link #parts}.
+     */
+    private final List<String> defaults;
+
+    private final int literalLength;
+
+    private ResourceTemplate(String definition, List<String> parts, List<String> defaults, int literalLength) {
+        this.definition = definition;
+        this.parts = parts;
+        this.defaults = defaults;
+        this.literalLength = literalLength;
+    }
+
+    public static ResourceTemplate compile(String definition) {
+        List<String> parts = new ArrayList<>();
+        List<String> defaults = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (true) {
+            int start = definition.indexOf(PLACEHOLDER_START, position);
+            int end = start < 0 ? -1 : definition.indexOf(PLACEHOLDER_END, start);
+            if (end < 0) {
+                String literal = definition.substring(position);
+                parts.add(literal);
+                defaults.add(null);
+                literalLength += literal.length();
+                break;
+            }
+            String literal = definition.substring(position, start);
+            parts.add(literal);
+            defaults.add(null);
+            literalLength += literal.length();
+
+            String placeholder = definition.substring(start + PLACEHOLDER_START.length(), end);
+            if (placeholder.isEmpty() || placeholder.indexOf(',') >= 0 || placeholder.indexOf('/') >= 0
+                    || placeholder.startsWith(":") || placeholder.contains(PLACEHOLDER_START)) {
+                // composite keys, path separators or nested placeholders are left to the StringPropertyReplacer
+                return new ResourceTemplate(definition, null, null, definition.length());
+            }
+            int colon = placeholder.indexOf(':');
+            if (colon < 0) {
+                parts.add(placeholder);
+                defaults.add(null);
+            } else {
+                parts.add(placeholder.substring(0, colon));
+                defaults.add(placeholder.substring(colon + 1));
+            }
+            position = end + 1;
+        }
+        return new ResourceTemplate(
+                definition,
+                Collections.unmodifiableList(parts),
+                Collections.unmodifiableList(defaults),
+                literalLength);
+    }
+
+    /**
+     * Replaces the placeholders by the properties. Placeholders with no property and no default value are kept as
+     * they are.
+     */
+    public String render(Map<String, String> properties) {
+        if (parts == null) {
+            Properties replacements = new Properties();
+            replacements.putAll(properties);
+            return StringPropertyReplacer.replaceProperties(definition, replacements);
+        }
+        StringBuilder rendered = new StringBuilder(literalLength + 64 * (parts.size() / 2));
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            if (i % 2 == 0) {
+                rendered.append(part);
+                continue;
+            }
+            String value = properties.get(part);
+            if (value == null) {
+                value = defaults.get(i);
+            }
+            if (value == null) {
+                rendered.append(PLACEHOLDER_START).append(part).append(PLACEHOLDER_END);
+            } else {
+                rendered.append(value);
+            }
+        }
+        return rendered.toString();
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.environment.openshift;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import org.jboss.pnc.environment.openshift.OpenshiftResourceWatcher.ResourceCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenshiftResourceWatcherTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final List<StubWatch> watches = new ArrayList<>();
+
+    private boolean failWatch = false;
+
+    private ResourceCache<Pod> cache;
+
+    @Before
+    public void setUp() {
+        cache = new ResourceCache<>("pods", watcher -> {
+            if (failWatch) {
+                throw new IllegalStateException("Cannot watch");
+            }
+            StubWatch watch = new StubWatch();
+            watches.add(watch);
+            return watch;
+        }, clock);
+    }
+
+    @Test
+    public void shouldKeepLatestStateOfWatchedResources() {
+        // given
+        cache.watch();
+
+        // when
+        cache.eventReceived(Watcher.Action.ADDED, pod("a", "Pending"));
+        cache.eventReceived(Watcher.Action.ADDED, pod("b", "Pending"));
+        cache.eventReceived(Watcher.Action.MODIFIED, pod("a", "Running"));
+        cache.eventReceived(Watcher.Action.DELETED, pod("b", "Running"));
+
+        // then
+        assertThat(cache.get("a")).hasValueSatisfying(p -> assertThat(p.getStatus().getPhase()).isEqualTo("Running"));
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(watches).hasSize(1);
+    }
+
+    @Test
+    public void shouldFallBackToPollingWhenWatchIsClosed() {
+        // given
+        cache.watch();
+        cache.eventReceived(Watcher.Action.ADDED, pod("a", "Running"));
+
+        // when
+        cache.onClose(new WatcherException("Watch closed"));
+
+        // then
+        assertThat(cache.get("a")).isEmpty();
+
+        // when the watch is re-established, the cache is filled by the new watch
+        clock.advance(OpenshiftResourceWatcher.REWATCH_DELAY_MILLIS + 1);
+        assertThat(cache.get("a")).isEmpty();
+        cache.eventReceived(Watcher.Action.ADDED, pod("a", "Running"));
+
+        // then
+        assertThat(watches).hasSize(2);
+        assertThat(cache.get("a")).isPresent();
+    }
+
+    @Test
+    public void shouldThrottleAttemptsToWatchAgain() {
+        // given
+        failWatch = true;
+        cache.watch();
+        failWatch = false;
+
+        // when
+        clock.advance(OpenshiftResourceWatcher.REWATCH_DELAY_MILLIS);
+        cache.get("a");
+
+        // then
+        assertThat(watches).isEmpty();
+
+        // when
+        clock.advance(1);
+        cache.get("a");
+        cache.get("a");
+
+        // then
+        assertThat(watches).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotWatchAfterClose() {
+        // given
+        cache.watch();
+        cache.eventReceived(Watcher.Action.ADDED, pod("a", "Running"));
+
+        // when
+        cache.close();
+        clock.advance(OpenshiftResourceWatcher.REWATCH_DELAY_MILLIS + 1);
+
+        // then
+        assertThat(watches.get(0).closed).isTrue();
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(watches).hasSize(1);
+    }
+
+    private static Pod pod(String name, String phase) {
+        return new PodBuilder().withNewMetadata()
+                .withName(name)
+                .endMetadata()
+                .withNewStatus()
+                .withPhase(phase)
+                .endStatus()
+                .build();
+    }
+
+    private static class StubWatch implements Watch {
+
+        private boolean closed = false;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        private void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
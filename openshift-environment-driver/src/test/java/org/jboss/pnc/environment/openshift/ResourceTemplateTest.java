@@ -0,0 +1,69 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.environment.openshift;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ResourceTemplateTest {
+
+    @Test
+    public void shouldReplacePlaceholders() {
+        ResourceTemplate template = ResourceTemplate
+                .compile("{\"name\": \"${pod-name}\", \"port\": ${containerPort}, \"host\": \"${host:localhost}\"}");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("pod-name", "pnc-ba-pod-abc");
+        properties.put("containerPort", "8080");
+
+        String rendered = template.render(properties);
+
+        assertEquals("{\"name\": \"pnc-ba-pod-abc\", \"port\": 8080, \"host\": \"localhost\"}", rendered);
+    }
+
+    @Test
+    public void shouldKeepUnknownPlaceholders() {
+        ResourceTemplate template = ResourceTemplate.compile("a ${unknown} b ${known} c ${unterminated");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("known", "value");
+
+        String rendered = template.render(properties);
+
+        assertEquals("a ${unknown} b value c ${unterminated", rendered);
+    }
+
+    @Test
+    public void shouldRenderTheDefaultDefinitions() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("service-name", "pnc-ba-service-abc");
+        properties.put("pod-name", "pnc-ba-pod-abc");
+        properties.put("containerPort", "8080");
+
+        String rendered = ResourceTemplate.compile(Resource.PNC_BUILDER_SERVICE.getDefaultConfiguration())
+                .render(properties);
+
+        String expected = Resource.PNC_BUILDER_SERVICE.getDefaultConfiguration()
+                .replace("${service-name}", "pnc-ba-service-abc")
+                .replace("${pod-name}", "pnc-ba-pod-abc")
+                .replace("${containerPort}", "8080");
+        assertEquals(expected, rendered);
+    }
+}
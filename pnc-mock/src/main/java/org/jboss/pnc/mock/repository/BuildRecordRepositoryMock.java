@@ -27,6 +27,8 @@ import org.jboss.pnc.spi.datastore.repositories.api.PageInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -155,9 +157,34 @@ public class BuildRecordRepositoryMock extends Base32LongIdRepositoryMock<BuildR
         return null;
     }
 
+    @Override
+    public List<Object[]> getAllBuildRecordInsightsNewerThanTimestampAfter(
+            Date lastupdatetime,
+            Date afterLastupdatetime,
+            long afterBuildRecordId,
+            int pageSize) {
+        return null;
+    }
+
     @Override
     public int countAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime) {
         return 0;
     }
 
+    @Override
+    public void writeBuildLog(Base32LongID id, Writer writer) throws IOException {
+        BuildRecord buildRecord = queryById(id);
+        if (buildRecord != null && buildRecord.getBuildLog() != null) {
+            writer.write(buildRecord.getBuildLog());
+        }
+    }
+
+    @Override
+    public void writeRepourLog(Base32LongID id, Writer writer) throws IOException {
+        BuildRecord buildRecord = queryById(id);
+        if (buildRecord != null && buildRecord.getRepourLog() != null) {
+            writer.write(buildRecord.getRepourLog());
+        }
+    }
+
 }
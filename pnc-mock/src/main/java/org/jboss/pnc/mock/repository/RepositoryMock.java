@@ -72,6 +72,14 @@ public abstract class RepositoryMock<ID extends Serializable, EntityType extends
         return Collections.emptyList();
     }
 
+    @Override
+    public List<EntityType> queryWithPredicatesUsingCursor(
+            PageInfo pageInfo,
+            SortInfo sortInfo,
+            Predicate<EntityType>... predicates) {
+        return Collections.emptyList();
+    }
+
     @Override
     public List<EntityType> queryWithPredicates(Predicate<EntityType>... predicates) {
         return Collections.emptyList();
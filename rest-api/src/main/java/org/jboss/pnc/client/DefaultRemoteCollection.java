@@ -84,6 +84,7 @@ public class DefaultRemoteCollection<T> implements RemoteCollection<T> {
         PageParameters pageParametersNext = new PageParameters();
         pageParametersNext.setPageSize(currentPage.getPageSize());
         pageParametersNext.setPageIndex(newPageIndex);
+        pageParametersNext.setPageToken(currentPage.getNextPageToken());
         return endpoint.apply(pageParametersNext);
     }
 
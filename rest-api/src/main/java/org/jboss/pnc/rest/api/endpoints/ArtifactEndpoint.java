@@ -34,6 +34,7 @@ import org.jboss.pnc.enums.ArtifactQuality;
 import org.jboss.pnc.enums.BuildCategory;
 import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.processor.annotation.Client;
+import org.jboss.pnc.rest.annotation.PageTokenSupported;
 import org.jboss.pnc.rest.annotation.RespondWithStatus;
 import org.jboss.pnc.rest.api.parameters.PageParameters;
 import org.jboss.pnc.rest.api.parameters.PaginationParameters;
@@ -150,6 +151,7 @@ public interface ArtifactEndpoint {
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))) })
     @GET
     @Path("/filter")
+    @PageTokenSupported
     Page<ArtifactInfo> getAllFiltered(
             @Valid @BeanParam PaginationParameters paginationParameters,
             @Parameter(description = FILTER_IDENTIFIER_DESC) @QueryParam("identifier") String identifier,
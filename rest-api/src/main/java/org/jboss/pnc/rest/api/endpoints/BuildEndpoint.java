@@ -37,6 +37,7 @@ import org.jboss.pnc.dto.response.SSHCredentials;
 import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.pncmetrics.rest.TimedMetric;
 import org.jboss.pnc.processor.annotation.Client;
+import org.jboss.pnc.rest.annotation.PageTokenSupported;
 import org.jboss.pnc.rest.annotation.RespondWithStatus;
 import org.jboss.pnc.rest.api.parameters.BuildsFilterParameters;
 import org.jboss.pnc.rest.api.parameters.PageParameters;
@@ -819,6 +820,7 @@ public interface BuildEndpoint {
      *
      * @param pageSize {@value SwaggerConstants#PAGE_SIZE_DESCRIPTION}
      * @param pageIndex {@value SwaggerConstants#PAGE_INDEX_DESCRIPTION}
+     * @param pageToken {@value SwaggerConstants#PAGE_TOKEN_DESCRIPTION}
      * @param timestamp {@value TIMESTAMP_PARAM}
      * @return
      */
@@ -841,9 +843,11 @@ public interface BuildEndpoint {
     @GET
     @Path("/build-insights-newer-than-timestamp")
     @TimedMetric
+    @PageTokenSupported
     Page<BuildRecordInsights> getAllBuildRecordInsightsNewerThanTimestamp(
             @Parameter(description = SwaggerConstants.PAGE_SIZE_DESCRIPTION) @QueryParam("pageSize") int pageSize,
             @Parameter(description = SwaggerConstants.PAGE_INDEX_DESCRIPTION) @QueryParam("pageIndex") int pageIndex,
+            @Parameter(description = SwaggerConstants.PAGE_TOKEN_DESCRIPTION) @QueryParam("pageToken") String pageToken,
             @Parameter(description = TIMESTAMP_PARAM) @QueryParam("timestamp") long timestamp);
 
 }
@@ -17,11 +17,13 @@
  */
 package org.jboss.pnc.rest.api.parameters;
 
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.QueryParam;
 
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.jboss.pnc.enums.PageCountMode;
 import org.jboss.pnc.rest.configuration.SwaggerConstants;
 
 /**
@@ -47,4 +49,12 @@ public class PageParameters extends PaginationParameters {
     @QueryParam(SwaggerConstants.QUERY_QUERY_PARAM)
     private String q;
 
+    /**
+     * {@value SwaggerConstants#COUNT_DESCRIPTION}
+     */
+    @Parameter(description = SwaggerConstants.COUNT_DESCRIPTION)
+    @QueryParam(SwaggerConstants.COUNT_QUERY_PARAM)
+    @DefaultValue(SwaggerConstants.COUNT_DEFAULT_VALUE)
+    private PageCountMode count = PageCountMode.EXACT;
+
 }
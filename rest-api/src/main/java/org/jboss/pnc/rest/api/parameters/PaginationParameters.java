@@ -54,4 +54,11 @@ public class PaginationParameters {
     @Max(value = Constants.MAX_PAGE_SIZE)
     protected int pageSize;
 
+    /**
+     * {@value SwaggerConstants#PAGE_TOKEN_DESCRIPTION}
+     */
+    @Parameter(description = SwaggerConstants.PAGE_TOKEN_DESCRIPTION)
+    @QueryParam(value = SwaggerConstants.PAGE_TOKEN_QUERY_PARAM)
+    protected String pageToken;
+
 }
@@ -58,10 +58,15 @@ public interface SwaggerConstants {
             + MAX_PAGE_SIZE + ".";
     public static final String PAGE_SIZE_QUERY_PARAM = "pageSize";
     public static final String PAGE_SIZE_DEFAULT_VALUE = "50";
+    public static final String PAGE_TOKEN_DESCRIPTION = "Token of the page to return, as returned in nextPageToken of the previous page. Takes precedence over the page index. Supported only by the listings returning nextPageToken, other listings reject it.";
+    public static final String PAGE_TOKEN_QUERY_PARAM = "pageToken";
     public static final String SORTING_DESCRIPTION = "Sorting RSQL. Format: sort=asc=path.to.field (or =desc=).";
     public static final String SORTING_QUERY_PARAM = "sort";
     public static final String QUERY_DESCRIPTION = "RSQL Query.";
     public static final String QUERY_QUERY_PARAM = "q";
+    public static final String COUNT_DESCRIPTION = "How to count the total hits. EXACT counts them with every page, CACHED reuses the exact count for a short time, ESTIMATED uses the database statistics for unfiltered collections and HAS_MORE doesn't count them and only tells if there are more pages.";
+    public static final String COUNT_QUERY_PARAM = "count";
+    public static final String COUNT_DEFAULT_VALUE = "EXACT";
     public static final String SEARCH_QUERY_PARAM = "search-url";
     public static final String MATCH_QUERY_PARAM = "url";
     public static final String SEARCH_DEFAULT_VALUE = "";
@@ -17,12 +17,14 @@
  */
 package org.jboss.pnc.restclient.websocket;
 
+import org.jboss.pnc.dto.notification.Notification;
+
 import java.util.function.Consumer;
 
 /**
- * Dispatchers are labeled Consumers of generic String WebSocket messages.
+ * Dispatchers are labeled Consumers of WebSocket messages already parsed to a particular notification class.
  *
  * @author <a href="mailto:jmichalo@redhat.com">Jan Michalov</a>
  */
-public interface Dispatcher extends Consumer<String> {
+public interface Dispatcher<T extends Notification> extends Consumer<T> {
 }
@@ -52,6 +52,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.vertx.core.Vertx;
@@ -117,9 +118,10 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
     private AtomicLong pingPongDifference = new AtomicLong(0);
 
     /**
-     * use concurrent version since we may modify that list concurrently
+     * dispatchers indexed by the notification class they listen to, use concurrent version since we may modify them
+     * concurrently
      */
-    private Set<Dispatcher> dispatchers = ConcurrentHashMap.newKeySet();
+    private Map<Class<? extends Notification>, Set<Dispatcher<?>>> dispatchers = new ConcurrentHashMap<>();
 
     private Map<CompletableFuture<Notification>, Supplier<Notification>> singleNotificationFutures = new ConcurrentHashMap<>();
 
@@ -217,8 +219,50 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         return future;
     }
 
+    /**
+     * Parses the message only once and converts it to each notification class that has a listener registered.
+     */
     private void dispatch(String message) {
-        dispatchers.forEach((dispatcher) -> dispatcher.accept(message));
+        if (dispatchers.isEmpty()) {
+            return;
+        }
+        JsonNode messageTree;
+        try {
+            messageTree = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Received a message that is not a valid JSON, ignoring it.", e);
+            return;
+        }
+        dispatchers.forEach(
+                (notificationClass, classDispatchers) -> dispatch(messageTree, notificationClass, classDispatchers));
+    }
+
+    private <T extends Notification> void dispatch(
+            JsonNode messageTree,
+            Class<T> notificationClass,
+            Set<Dispatcher<?>> classDispatchers) {
+        if (classDispatchers.isEmpty()) {
+            return;
+        }
+        T notification;
+        try {
+            notification = objectMapper.treeToValue(messageTree, notificationClass);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // could not parse to particular class of notification, unknown or different type of notification
+            // ignoring the message
+            return;
+        }
+        for (Dispatcher<?> dispatcher : classDispatchers) {
+            accept(dispatcher, notification);
+        }
+    }
+
+    /**
+     * Dispatchers are indexed by the class of notification they accept, so the cast is safe.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Notification> void accept(Dispatcher<?> dispatcher, T notification) {
+        ((Dispatcher<T>) dispatcher).accept(notification);
     }
 
     private void connectionClosed(String webSocketServerUrl) {
@@ -344,26 +388,26 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         if (webSocketConnection == null || webSocketConnection.isClosed()) {
             throw new ConnectionClosedException("Connection to WebSocket is closed.");
         }
-        // add JSON message mapping before executing the listener
-        Dispatcher dispatcher = (stringMessage) -> {
-            T notification;
-            try {
-                notification = objectMapper.readValue(stringMessage, notificationClass);
-                for (Predicate<T> filter : filters) {
-                    if (filter != null && !filter.test(notification)) {
-                        // does not satisfy a predicate
-                        return;
-                    }
+        // the message is already parsed, just evaluate the filters before executing the listener
+        Dispatcher<T> dispatcher = (notification) -> {
+            for (Predicate<T> filter : filters) {
+                if (filter != null && !filter.test(notification)) {
+                    // does not satisfy a predicate
+                    return;
                 }
-            } catch (JsonProcessingException e) {
-                // could not parse to particular class of notification, unknown or different type of notification
-                // ignoring the message
-                return;
             }
             listener.accept(notification);
         };
-        dispatchers.add(dispatcher);
-        return () -> dispatchers.remove(dispatcher);
+        // add and remove in compute methods, so that an empty set is never removed while a dispatcher is being added
+        dispatchers.compute(notificationClass, (c, classDispatchers) -> {
+            Set<Dispatcher<?>> updated = classDispatchers == null ? ConcurrentHashMap.newKeySet() : classDispatchers;
+            updated.add(dispatcher);
+            return updated;
+        });
+        return () -> dispatchers.computeIfPresent(notificationClass, (c, classDispatchers) -> {
+            classDispatchers.remove(dispatcher);
+            return classDispatchers.isEmpty() ? null : classDispatchers;
+        });
     }
 
     @Override
@@ -124,6 +124,8 @@ public class JaxRsActivatorNew extends Application {
         addMetricsResources(resources);
         addRespondWithStatusFilter(resources);
         addProviders(resources);
+        resources.add(PageCountFilter.class);
+        resources.add(PageTokenFilter.class);
         resources.add(RequestLoggingFilter.class);
         return resources;
     }
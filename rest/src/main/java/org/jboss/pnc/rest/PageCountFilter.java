@@ -0,0 +1,79 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.rest;
+
+import org.jboss.pnc.enums.PageCountMode;
+import org.jboss.pnc.facade.util.PageCountContext;
+import org.jboss.pnc.rest.configuration.SwaggerConstants;
+
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Provider;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Passes the {@value SwaggerConstants#COUNT_QUERY_PARAM} page parameter to the providers, together with the key of the
+ * requested collection. The key is made of the request path and the filtering query parameters, so that the counts of
+ * the same collection can be reused across the requests for its different pages.
+ */
+@Provider
+public class PageCountFilter implements ContainerRequestFilter {
+
+    private static final Set<String> PAGING_PARAMETERS = new HashSet<>(
+            Arrays.asList(
+                    SwaggerConstants.PAGE_INDEX_QUERY_PARAM,
+                    SwaggerConstants.PAGE_SIZE_QUERY_PARAM,
+                    SwaggerConstants.PAGE_TOKEN_QUERY_PARAM,
+                    SwaggerConstants.SORTING_QUERY_PARAM,
+                    SwaggerConstants.COUNT_QUERY_PARAM));
+
+    @Inject
+    PageCountContext pageCountContext;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        UriInfo uriInfo = requestContext.getUriInfo();
+        MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+        String count = queryParameters.getFirst(SwaggerConstants.COUNT_QUERY_PARAM);
+        if (count == null) {
+            return;
+        }
+        try {
+            pageCountContext.setMode(PageCountMode.valueOf(count));
+        } catch (IllegalArgumentException e) {
+            // invalid values are rejected by the parameter conversion of the endpoint
+            return;
+        }
+
+        Map<String, Object> filters = new TreeMap<>();
+        for (Map.Entry<String, List<String>> parameter : queryParameters.entrySet()) {
+            if (!PAGING_PARAMETERS.contains(parameter.getKey())) {
+                filters.put(parameter.getKey(), parameter.getValue());
+            }
+        }
+        pageCountContext.setCollectionKey(uriInfo.getPath() + filters);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.rest;
+
+import org.jboss.pnc.dto.response.ErrorResponse;
+import org.jboss.pnc.rest.annotation.PageTokenSupported;
+import org.jboss.pnc.rest.configuration.SwaggerConstants;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+
+/**
+ * Rejects the {@value SwaggerConstants#PAGE_TOKEN_QUERY_PARAM} page parameter on the endpoints that are not annotated
+ * with {@link PageTokenSupported}. The parameter is declared on all the paged endpoints, but only some of them can
+ * seek to the page by the token.
+ */
+@Provider
+public class PageTokenFilter implements ContainerRequestFilter {
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!requestContext.getUriInfo().getQueryParameters().containsKey(SwaggerConstants.PAGE_TOKEN_QUERY_PARAM)) {
+            return;
+        }
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null || isPageTokenSupported(resourceInfo.getResourceClass(), method)) {
+            return;
+        }
+        requestContext.abortWith(
+                Response.status(Response.Status.BAD_REQUEST)
+                        .entity(
+                                new ErrorResponse(
+                                        "BadRequestException",
+                                        "The " + SwaggerConstants.PAGE_TOKEN_QUERY_PARAM
+                                                + " parameter is not supported by this endpoint."))
+                        .type(MediaType.APPLICATION_JSON)
+                        .build());
+    }
+
+    /**
+     * The endpoint annotations are declared on the endpoint interfaces, not on their implementations.
+     */
+    static boolean isPageTokenSupported(Class<?> resourceClass, Method method) {
+        if (method.isAnnotationPresent(PageTokenSupported.class)) {
+            return true;
+        }
+        for (Class<?> endpoint : resourceClass.getInterfaces()) {
+            try {
+                if (endpoint.getMethod(method.getName(), method.getParameterTypes())
+                        .isAnnotationPresent(PageTokenSupported.class)) {
+                    return true;
+                }
+            } catch (NoSuchMethodException e) {
+                // not declared by this interface
+            }
+        }
+        return false;
+    }
+}
@@ -91,6 +91,7 @@ public class ArtifactEndpointImpl implements ArtifactEndpoint {
         return artifactProvider.getAllFiltered(
                 paginationParameters.getPageIndex(),
                 paginationParameters.getPageSize(),
+                Optional.ofNullable(paginationParameters.getPageToken()),
                 Optional.ofNullable(identifier),
                 qualities,
                 Optional.ofNullable(repoType),
@@ -292,28 +292,28 @@ public class BuildEndpointImpl implements BuildEndpoint {
 
     @Override
     public StreamingOutput getAlignLogs(String id) {
-        String repourLog = provider.getRepourLog(id);
-        if (repourLog == null || repourLog.isEmpty()) {
+        Integer repourLogLength = provider.getRepourLogLength(id);
+        if (repourLogLength == null || repourLogLength == 0) {
             return null;
         }
 
         return outputStream -> {
             Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream));
-            writer.write(repourLog);
+            provider.writeRepourLog(id, writer);
             writer.flush();
         };
     }
 
     @Override
     public StreamingOutput getBuildLogs(String id) {
-        String buildLog = provider.getBuildLog(id);
-        if (buildLog == null || buildLog.isEmpty()) {
+        Integer buildLogLength = provider.getBuildLogLength(id);
+        if (buildLogLength == null || buildLogLength == 0) {
             return null;
         }
 
         return outputStream -> {
             Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream));
-            writer.write(buildLog);
+            provider.writeBuildLog(id, writer);
             writer.flush();
         };
     }
@@ -342,9 +342,14 @@ public class BuildEndpointImpl implements BuildEndpoint {
     public Page<BuildRecordInsights> getAllBuildRecordInsightsNewerThanTimestamp(
             int pageSize,
             int pageIndex,
+            String pageToken,
             long timestamp) {
 
-        return provider.getAllBuildRecordInsightsNewerThanTimestamp(pageIndex, pageSize, new Date(timestamp));
+        return provider.getAllBuildRecordInsightsNewerThanTimestamp(
+                pageIndex,
+                pageSize,
+                Optional.ofNullable(pageToken),
+                new Date(timestamp));
     }
 
 }
@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.rest.endpoints.internal;
 
+import org.jboss.pnc.common.monitor.PollingMonitor;
 import org.jboss.pnc.coordinator.builder.BuildQueue;
 import org.jboss.pnc.coordinator.notifications.buildTask.MessageSenderProvider;
 import org.jboss.pnc.dto.Build;
@@ -33,6 +34,7 @@ import javax.ws.rs.ServiceUnavailableException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -47,6 +49,9 @@ public class DebugEndpointImpl implements DebugEndpoint {
     @Inject
     private MessageSenderProvider messageSenderProvider;
 
+    @Inject
+    private PollingMonitor pollingMonitor;
+
     @Inject
     private Event<BuildStatusChangedEvent> buildStatusChangedEventNotifier;
 
@@ -70,6 +75,18 @@ public class DebugEndpointImpl implements DebugEndpoint {
         }
     }
 
+    @Override
+    public Map<String, Number> getMessageSenderMetrics() {
+        return messageSenderProvider.getMessageSender()
+                .map(MessageSender::getMetrics)
+                .orElseThrow(ServiceUnavailableException::new);
+    }
+
+    @Override
+    public Map<String, Number> getPollingMonitorMetrics() {
+        return pollingMonitor.getMetrics();
+    }
+
     public static Build newBuild() {
         return Build.builder()
                 .id("1")
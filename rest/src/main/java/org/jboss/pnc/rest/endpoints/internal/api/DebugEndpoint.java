@@ -26,6 +26,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import java.util.Map;
+
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -51,6 +53,20 @@ public interface DebugEndpoint {
     @Path("/mq-send-dummy-message")
     void sendDummyMessageToQueue(@QueryParam("type") String type);
 
+    /**
+     * curl -v http://localhost:8080/pnc-rest/v2/debug/mq-sender-metrics
+     */
+    @GET
+    @Path("/mq-sender-metrics")
+    Map<String, Number> getMessageSenderMetrics();
+
+    /**
+     * curl -v http://localhost:8080/pnc-rest/v2/debug/polling-monitor-metrics
+     */
+    @GET
+    @Path("/polling-monitor-metrics")
+    Map<String, Number> getPollingMonitorMetrics();
+
     @GET
     @Path("/throw")
     public void throwEx() throws Exception;
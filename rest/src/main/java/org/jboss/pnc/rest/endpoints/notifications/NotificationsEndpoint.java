@@ -17,6 +17,10 @@
  */
 package org.jboss.pnc.rest.endpoints.notifications;
 
+import org.jboss.pnc.notification.Action;
+import org.jboss.pnc.notification.MessageType;
+import org.jboss.pnc.notification.ProgressUpdatesRequest;
+import org.jboss.pnc.notification.RequestParser;
 import org.jboss.pnc.notification.SessionBasedAttachedClient;
 import org.jboss.pnc.spi.notifications.Notifier;
 import org.slf4j.Logger;
@@ -25,13 +29,19 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
+import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 
 /**
  * Web Sockets notification implementation.
+ *
+ * Clients receive all notifications until they subscribe to some topic by sending a {@link MessageType#PROCESS_UPDATES}
+ * message, from then on they receive only notifications matching their subscriptions. Client that sends a
+ * {@link Action#RESET} request receives all notifications again.
  */
 @ServerEndpoint(NotificationsEndpoint.ENDPOINT_PATH)
 public class NotificationsEndpoint {
@@ -41,13 +51,51 @@ public class NotificationsEndpoint {
     /** broadcasting endpoint, all events are sent to all subscribed users */
     public static final String ENDPOINT_PATH = "/notifications";
 
+    private static final String ATTACHED_CLIENT = "attachedClient";
+
     @Inject
     Notifier notifier;
 
     @OnOpen
     public void attach(Session attachedSession) {
         logger.debug("Opened new session id: {}, uri: {}.", attachedSession.getId(), attachedSession.getRequestURI());
-        notifier.attachClient(new SessionBasedAttachedClient(attachedSession));
+        SessionBasedAttachedClient client = new SessionBasedAttachedClient(attachedSession);
+        attachedSession.getUserProperties().put(ATTACHED_CLIENT, client);
+        notifier.attachClient(client);
+    }
+
+    @OnMessage
+    public void onMessage(String message, Session session) {
+        RequestParser parser = new RequestParser();
+        try {
+            if (!parser.parseRequest(message)) {
+                logger.warn("Invalid request from client {}: {}", session.getId(), parser.getErrorMessage());
+                return;
+            }
+        } catch (IOException e) {
+            logger.warn("Invalid request from client {}: {}", session.getId(), parser.getErrorMessage(), e);
+            return;
+        }
+
+        if (MessageType.PROCESS_UPDATES.equals(parser.getMessageType())) {
+            ProgressUpdatesRequest request = parser.getData();
+            SessionBasedAttachedClient client = (SessionBasedAttachedClient) session.getUserProperties()
+                    .get(ATTACHED_CLIENT);
+            if (client == null || !client.getSubscriptions().update(request)) {
+                logger.warn(
+                        "Unable to {} client {} to topic {}.",
+                        request.getAction(),
+                        session.getId(),
+                        request.getTopic());
+            } else {
+                logger.debug(
+                        "Client {} {} topic {} id {}.",
+                        session.getId(),
+                        request.getAction(),
+                        request.getTopic(),
+                        request.getId());
+            }
+        }
     }
 
     @OnClose
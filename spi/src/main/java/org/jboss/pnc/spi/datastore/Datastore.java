@@ -27,10 +27,12 @@ import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.coordinator.BuildTask;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Topmost datastore interface.
@@ -146,5 +148,29 @@ public interface Datastore {
     @Deprecated
     boolean requiresRebuild(BuildTask task, Set<Integer> processedDependenciesCache);
 
+    /**
+     * Bulk variant of {@link #requiresRebuild(BuildConfigurationAudited, boolean, boolean, Set)}, evaluating a whole
+     * set of build configurations at once.
+     *
+     * @param buildConfigurationAuditeds revisions of the build configurations to check
+     * @param checkImplicitDependencies when true check also automatically captured dependencies.
+     * @param temporaryBuild true if requested build is going to be temporary
+     * @return the subset of buildConfigurationAuditeds which should be rebuilt
+     */
+    default Set<BuildConfigurationAudited> requiresRebuild(
+            Set<BuildConfigurationAudited> buildConfigurationAuditeds,
+            boolean checkImplicitDependencies,
+            boolean temporaryBuild) {
+        Set<Integer> processedDependenciesCache = new HashSet<>();
+        return buildConfigurationAuditeds.stream()
+                .filter(
+                        bca -> requiresRebuild(
+                                bca,
+                                checkImplicitDependencies,
+                                temporaryBuild,
+                                processedDependenciesCache))
+                .collect(Collectors.toSet());
+    }
+
     Set<BuildConfiguration> getBuildConfigurations(BuildConfigurationSet buildConfigurationSet);
 }
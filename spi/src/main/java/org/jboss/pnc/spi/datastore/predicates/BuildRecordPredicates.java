@@ -21,6 +21,7 @@ import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.Artifact_;
 import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.Base32LongID_;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildConfigSetRecord_;
 import org.jboss.pnc.model.BuildConfigurationSet;
@@ -34,12 +35,14 @@ import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.model.ProductMilestone_;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
+import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.SetJoin;
 import javax.persistence.criteria.Subquery;
@@ -71,6 +74,10 @@ public class BuildRecordPredicates {
         return (root, query, cb) -> (cb.equal(root.get(BuildRecord_.status), status));
     }
 
+    /**
+     * On PostgreSQL the search is backed by the idx_buildrecord_buildlog_trgm trigram index, which is used for search
+     * strings of at least 3 characters.
+     */
     public static Predicate<BuildRecord> withBuildLogContains(String search) {
         return (root, query, cb) -> (cb.like(root.get(BuildRecord_.buildLog), "%" + search + "%"));
     }
@@ -285,4 +292,17 @@ public class BuildRecordPredicates {
             return cb.equal(newNRRRecordCount, 0);
         };
     }
+
+    /**
+     * Keyset pagination predicate, matches the build records following the given one in the order by id.
+     */
+    public static Predicate<BuildRecord> withIdAfter(Base32LongID buildRecordId, SortInfo.SortingDirection direction) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(BuildRecord_.id).get(Base32LongID_.id);
+            if (direction == SortInfo.SortingDirection.DESC) {
+                return cb.lessThan(id, buildRecordId.getLongId());
+            }
+            return cb.greaterThan(id, buildRecordId.getLongId());
+        };
+    }
 }
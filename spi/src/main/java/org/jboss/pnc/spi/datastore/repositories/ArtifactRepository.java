@@ -18,9 +18,13 @@
 package org.jboss.pnc.spi.datastore.repositories;
 
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Interface for manipulating {@link org.jboss.pnc.model.Artifact} entity.
@@ -28,4 +32,24 @@ import java.util.Set;
 public interface ArtifactRepository extends Repository<Artifact, Integer> {
 
     Set<Artifact> withIdentifierAndSha256s(Set<Artifact.IdentifierSha256> identifierSha256s);
+
+    /**
+     * Looks up all the artifacts with given ids at once.
+     *
+     * @param ids ids of the artifacts
+     * @return found artifacts, the artifacts that don't exist are missing
+     */
+    default List<Artifact> queryByIds(Set<Integer> ids) {
+        return queryWithPredicates(ArtifactPredicates.withIds(ids));
+    }
+
+    /**
+     * Saves all the artifacts in one go, so that the implementation can send the inserts in JDBC batches.
+     *
+     * @param artifacts artifacts to save
+     * @return saved artifacts in the same order
+     */
+    default List<Artifact> saveAll(Collection<Artifact> artifacts) {
+        return artifacts.stream().map(this::save).collect(Collectors.toList());
+    }
 }
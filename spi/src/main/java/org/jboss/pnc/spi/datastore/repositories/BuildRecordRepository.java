@@ -19,6 +19,7 @@ package org.jboss.pnc.spi.datastore.repositories;
 
 import org.jboss.pnc.dto.insights.BuildRecordInsights;
 import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.model.IdRev;
@@ -27,10 +28,15 @@ import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Interface for manipulating {@link org.jboss.pnc.model.BuildRecord} entity.
@@ -44,11 +50,6 @@ public interface BuildRecordRepository extends Repository<BuildRecord, Base32Lon
      */
     BuildRecord findByIdFetchProperties(Base32LongID id);
 
-    List<BuildRecord> queryWithPredicatesUsingCursor(
-            PageInfo pageInfo,
-            SortInfo sortInfo,
-            Predicate<BuildRecord>... predicates);
-
     List<BuildRecord> queryWithPredicatesUsingCursor(
             PageInfo pageInfo,
             SortInfo sortInfo,
@@ -87,9 +88,109 @@ public interface BuildRecordRepository extends Repository<BuildRecord, Base32Lon
 
     Set<BuildRecord> findByBuiltArtifacts(Set<Integer> artifactsId);
 
+    /**
+     * Bulk variant of {@link #getLatestSuccessfulBuildRecord(IdRev, boolean)}.
+     *
+     * @return the latest successful BuildRecord per IdRev; IdRevs without a successful BuildRecord are not present in
+     *         the map
+     */
+    default Map<IdRev, BuildRecord> getLatestSuccessfulBuildRecords(Set<IdRev> idRevs, boolean temporaryBuild) {
+        Map<IdRev, BuildRecord> result = new HashMap<>();
+        for (IdRev idRev : idRevs) {
+            BuildRecord buildRecord = getLatestSuccessfulBuildRecord(idRev, temporaryBuild);
+            if (buildRecord != null) {
+                result.put(idRev, buildRecord);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bulk variant of {@link #getLatestSuccessfulBuildRecord(Integer, boolean)}.
+     *
+     * @return the latest successful BuildRecord per BuildConfiguration id; configurations without a successful
+     *         BuildRecord are not present in the map
+     */
+    default Map<Integer, BuildRecord> getLatestSuccessfulBuildRecordsByConfigurationIds(
+            Set<Integer> configurationIds,
+            boolean temporaryBuild) {
+        Map<Integer, BuildRecord> result = new HashMap<>();
+        for (Integer configurationId : configurationIds) {
+            BuildRecord buildRecord = getLatestSuccessfulBuildRecord(configurationId, temporaryBuild);
+            if (buildRecord != null) {
+                result.put(configurationId, buildRecord);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the BuildRecords which produced the captured dependencies of the given BuildRecords.
+     *
+     * @return BuildRecords producing the dependencies per id of the dependant BuildRecord
+     */
+    default Map<Base32LongID, Set<BuildRecord>> findDependencyBuildRecords(Set<Base32LongID> buildRecordIds) {
+        Map<Base32LongID, Set<BuildRecord>> result = new HashMap<>();
+        for (Base32LongID buildRecordId : buildRecordIds) {
+            BuildRecord buildRecord = queryById(buildRecordId);
+            if (buildRecord == null || buildRecord.getDependencies() == null) {
+                continue;
+            }
+            Set<Integer> dependencyIds = buildRecord.getDependencies()
+                    .stream()
+                    .map(Artifact::getId)
+                    .collect(Collectors.toSet());
+            result.put(buildRecordId, findByBuiltArtifacts(dependencyIds));
+        }
+        return result;
+    }
+
     List<BuildRecord> getBuildByCausingRecord(Base32LongID causingRecordId);
 
+    /**
+     * @return length of the build log in characters; null if the record or its build log does not exist
+     */
+    default Integer getBuildLogLength(Base32LongID id) {
+        BuildRecord buildRecord = queryById(id);
+        if (buildRecord == null || buildRecord.getBuildLog() == null) {
+            return null;
+        }
+        return buildRecord.getBuildLog().length();
+    }
+
+    /**
+     * Writes the build log to the writer as it is read from the database, without loading the whole log. Nothing is
+     * written if the record or its build log does not exist.
+     */
+    void writeBuildLog(Base32LongID id, Writer writer) throws IOException;
+
+    /**
+     * @return length of the repour log in characters; null if the record or its repour log does not exist
+     */
+    default Integer getRepourLogLength(Base32LongID id) {
+        BuildRecord buildRecord = queryById(id);
+        if (buildRecord == null || buildRecord.getRepourLog() == null) {
+            return null;
+        }
+        return buildRecord.getRepourLog().length();
+    }
+
+    /**
+     * Repour log variant of {@link #writeBuildLog(Base32LongID, Writer)}.
+     */
+    void writeRepourLog(Base32LongID id, Writer writer) throws IOException;
+
     List<Object[]> getAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime, int pageSize, int offset);
 
+    /**
+     * Keyset pagination variant of {@link #getAllBuildRecordInsightsNewerThanTimestamp(Date, int, int)}, returns the
+     * page of insights following the one with given last update time and build record id.
+     */
+    List<Object[]> getAllBuildRecordInsightsNewerThanTimestampAfter(
+            Date lastupdatetime,
+            Date afterLastupdatetime,
+            long afterBuildRecordId,
+            int pageSize);
+
     int countAllBuildRecordInsightsNewerThanTimestamp(Date lastupdatetime);
 }
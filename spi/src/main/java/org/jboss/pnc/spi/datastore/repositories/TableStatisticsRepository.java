@@ -0,0 +1,34 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.spi.datastore.repositories;
+
+import org.jboss.pnc.model.GenericEntity;
+
+import java.util.OptionalLong;
+
+public interface TableStatisticsRepository {
+
+    /**
+     * Returns the number of rows of the entity table as estimated by the database planner statistics. The estimate is
+     * read from the statistics without scanning the table, but it may be off by the rows changed since the table was
+     * last analyzed.
+     *
+     * @return the estimate or empty if the database doesn't provide it or the table was never analyzed
+     */
+    OptionalLong estimateRowCount(Class<? extends GenericEntity<?>> entityType);
+}
@@ -0,0 +1,142 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.spi.datastore.repositories.api;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque continuation token of keyset (seek) pagination. It holds the sort key values of the last entry of a page, the
+ * next page is then queried with a "greater than the token" predicate instead of an offset, so that the database can
+ * seek to it using an index.
+ *
+ * Timestamps are kept with microsecond precision, which is the precision of the database timestamps.
+ */
+public final class PageToken {
+
+    private static final String SEPARATOR = ":";
+
+    private final long[] keys;
+
+    private PageToken(long[] keys) {
+        this.keys = keys;
+    }
+
+    public static PageToken of(long... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("Page token must have at least one key");
+        }
+        return new PageToken(keys.clone());
+    }
+
+    /**
+     * Parses the token created by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException when the token is malformed
+     */
+    public static PageToken decode(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token: " + token, e);
+        }
+        String[] parts = decoded.split(SEPARATOR, -1);
+        long[] keys = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page token: " + token, e);
+        }
+        return new PageToken(keys);
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (long key : keys) {
+            if (sb.length() > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(key);
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token doesn't have the expected number of keys
+     */
+    public PageToken requireKeys(int count) {
+        if (keys.length != count) {
+            throw new IllegalArgumentException("Page token must have " + count + " keys, but has " + keys.length);
+        }
+        return this;
+    }
+
+    public long getKey(int index) {
+        return keys[index];
+    }
+
+    public Timestamp getTimestampKey(int index) {
+        long micros = keys[index];
+        Timestamp timestamp = new Timestamp(Math.floorDiv(micros, 1_000_000L) * 1000L);
+        timestamp.setNanos((int) Math.floorMod(micros, 1_000_000L) * 1000);
+        return timestamp;
+    }
+
+    /**
+     * Converts the timestamp to a token key, keeping the microseconds of {@link Timestamp}.
+     */
+    public static long toKey(Date date) {
+        long seconds = Math.floorDiv(date.getTime(), 1000L);
+        long micros;
+        if (date instanceof Timestamp) {
+            micros = ((Timestamp) date).getNanos() / 1000;
+        } else {
+            micros = Math.floorMod(date.getTime(), 1000L) * 1000L;
+        }
+        return seconds * 1_000_000L + micros;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageToken)) {
+            return false;
+        }
+        return Arrays.equals(keys, ((PageToken) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keys);
+    }
+
+    @Override
+    public String toString() {
+        return "PageToken" + Arrays.toString(keys);
+    }
+}
@@ -39,4 +39,10 @@ public interface ReadOnlyRepository<T extends GenericEntity<ID>, ID extends Seri
     List<T> queryWithPredicates(Predicate<T>... predicates);
 
     List<T> queryWithPredicates(PageInfo pageInfo, SortInfo sortInfo, Predicate<T>... predicates);
+
+    /**
+     * Same as {@link #queryWithPredicates(PageInfo, SortInfo, Predicate[])}, but the page offset is the index of the
+     * first returned entity instead of the index of the page.
+     */
+    List<T> queryWithPredicatesUsingCursor(PageInfo pageInfo, SortInfo sortInfo, Predicate<T>... predicates);
 }
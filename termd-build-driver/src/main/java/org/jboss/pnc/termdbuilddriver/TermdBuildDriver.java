@@ -305,11 +305,12 @@ public class TermdBuildDriver implements BuildDriver { // TODO rename class
                 }
             }
 
+            stringBuffer.insert(0, prependMessage);
             return new DefaultCompletedBuild(
                     runningEnvironment,
                     buildStatus,
                     remoteInvocationCompletion.getOutputChecksum(),
-                    prependMessage + stringBuffer.toString());
+                    stringBuffer.toString());
         } catch (Throwable e) {
             throw new RuntimeException("Cannot collect results.", e);
         }
@@ -93,7 +93,7 @@ public class DefaultFileTransfer implements FileTransfer {
                 if (line == null) {
                     break;
                 }
-                logsAggregate.append(line + "\n");
+                logsAggregate.append(line).append('\n');
             }
             if (logLines.size() > 0) {
                 logger.warn("Log buffer was not fully drained for URI: {}", uri);